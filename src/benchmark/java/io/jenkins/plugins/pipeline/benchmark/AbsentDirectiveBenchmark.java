@@ -0,0 +1,89 @@
+package io.jenkins.plugins.pipeline.benchmark;
+
+import io.jenkins.plugins.pipeline.PipelineYamlGenerator;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlNodeNotFoundException;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.AbstractParser;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Benchmarks for stages which define only a few of the optional directives.
+ * Compares resolving absent directives by exception, as the parsers did before, with resolving them by {@link Optional}.
+ */
+@JmhBenchmark
+public class AbsentDirectiveBenchmark {
+
+    private static final String[] stageDirectives = {"steps", "agent", "post", "tools", "stages", "environment",
+            "parallel", "input", "when", "options", "failFast", "beforeAgent"};
+
+    @State(Scope.Benchmark)
+    public static class SparseState {
+
+        @Param({"100", "1000", "10000"})
+        public int stages;
+
+        String jenkinsFileContent;
+        LinkedHashMap stageNode;
+        DirectiveLookup[] directiveLookups;
+
+        @Setup
+        public void setup() {
+            this.jenkinsFileContent = new PipelineYamlGenerator(1).stageCount(this.stages).maxDepth(1).sparse(true).generate();
+            this.stageNode = new LinkedHashMap();
+            this.stageNode.put("stage", "Stage");
+            this.stageNode.put("steps", "echo \"1\"");
+            this.directiveLookups = new DirectiveLookup[stageDirectives.length];
+            for (int i = 0; i < stageDirectives.length; i++)
+                this.directiveLookups[i] = new DirectiveLookup(stageDirectives[i]);
+        }
+    }
+
+    /**
+     * Exposes child node lookups of {@link AbstractParser}
+     */
+    public static class DirectiveLookup extends AbstractParser {
+
+        DirectiveLookup(String directive) {
+            super(directive);
+        }
+
+        Object getWithException(LinkedHashMap parentNode) {
+            try {
+                return this.getChildNodeAsObject(parentNode);
+            } catch (PipelineAsYamlNodeNotFoundException e) {
+                return null;
+            }
+        }
+
+        Object getWithOptional(LinkedHashMap parentNode) {
+            return this.findChildNodeAsObject(parentNode).orElse(null);
+        }
+    }
+
+    @Benchmark
+    public Optional<PipelineModel> parseSparseStages(SparseState state) {
+        return new PipelineParser(state.jenkinsFileContent).parse();
+    }
+
+    @Benchmark
+    public void lookupWithException(SparseState state, Blackhole blackhole) {
+        for (DirectiveLookup directiveLookup : state.directiveLookups)
+            blackhole.consume(directiveLookup.getWithException(state.stageNode));
+    }
+
+    @Benchmark
+    public void lookupWithOptional(SparseState state, Blackhole blackhole) {
+        for (DirectiveLookup directiveLookup : state.directiveLookups)
+            blackhole.consume(directiveLookup.getWithOptional(state.stageNode));
+    }
+}
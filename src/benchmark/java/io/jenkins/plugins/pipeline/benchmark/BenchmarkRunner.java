@@ -0,0 +1,46 @@
+package io.jenkins.plugins.pipeline.benchmark;
+
+import jenkins.benchmark.jmh.BenchmarkFinder;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs all {@link jenkins.benchmark.jmh.JmhBenchmark} classes of this package.
+ * Executed by the benchmark profile: mvn test -P benchmark
+ * <ul>
+ *     <li>benchmark.include: Regular expression for selecting benchmarks instead of running all</li>
+ *     <li>benchmark.stages: Comma separated stage counts overriding the stages parameter</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+    @Test
+    public void runJmhBenchmarks() throws Exception {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupIterations(Integer.getInteger("benchmark.warmupIterations", 2))
+                .measurementIterations(Integer.getInteger("benchmark.measurementIterations", 3))
+                .forks(1)
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-report.json");
+        String include = System.getProperty("benchmark.include");
+        if (include != null)
+            options.include(include);
+        else
+            new BenchmarkFinder(this.getClass()).findBenchmarks(options);
+        String stages = System.getProperty("benchmark.stages");
+        if (stages != null)
+            options.param("stages", stages.split(","));
+        new Runner(options.build()).run();
+    }
+}
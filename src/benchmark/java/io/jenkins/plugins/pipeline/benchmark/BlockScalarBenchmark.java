@@ -0,0 +1,81 @@
+package io.jenkins.plugins.pipeline.benchmark;
+
+import io.jenkins.plugins.pipeline.models.GroovyEmitter;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.models.ScriptModel;
+import io.jenkins.plugins.pipeline.models.StepsModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks for pipelines with large multi line step and script blocks.
+ * Compares writing the blocks as they are with splitting them into lines, as the models did before.
+ * Run with the gc profiler to compare allocations.
+ */
+@JmhBenchmark
+public class BlockScalarBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class BlockState {
+
+        @Param({"100", "1000", "10000"})
+        public int lines;
+
+        String jenkinsFileContent;
+        String block;
+        PipelineModel pipelineModel;
+
+        @Setup
+        public void setup() {
+            StringBuilder block = new StringBuilder();
+            for (int i = 0; i < this.lines; i++)
+                block.append("sh \"echo ").append(i).append("\"\n");
+            this.block = block.toString();
+            StringBuilder jenkinsFileContent = new StringBuilder("pipeline:\n  agent:\n    any:\n  stages:\n");
+            jenkinsFileContent.append("    - stage: \"Steps\"\n      steps: |\n");
+            appendIndented(jenkinsFileContent, this.block);
+            jenkinsFileContent.append("    - stage: \"Script\"\n      steps:\n        script: |\n");
+            appendIndented(jenkinsFileContent, this.block);
+            this.jenkinsFileContent = jenkinsFileContent.toString();
+            this.pipelineModel = new PipelineParser(this.jenkinsFileContent).parse().get();
+        }
+
+        private static void appendIndented(StringBuilder stringBuilder, String block) {
+            for (String line : block.split("\n"))
+                stringBuilder.append("          ").append(line).append("\n");
+        }
+    }
+
+    @Benchmark
+    public String parseAndConvert(BlockState state) {
+        return new PipelineParser(state.jenkinsFileContent).parse().get().toPrettyGroovy();
+    }
+
+    @Benchmark
+    public String toPrettyGroovy(BlockState state) {
+        return state.pipelineModel.toPrettyGroovy();
+    }
+
+    @Benchmark
+    public String writeBlock(BlockState state) {
+        GroovyEmitter groovyEmitter = GroovyEmitter.pretty();
+        new StepsModel(state.block).emit(groovyEmitter);
+        new ScriptModel(state.block).emit(groovyEmitter);
+        return groovyEmitter.toString();
+    }
+
+    @Benchmark
+    public String writeSplitLines(BlockState state) {
+        GroovyEmitter groovyEmitter = GroovyEmitter.pretty();
+        new StepsModel(Arrays.asList(state.block.split("\n"))).emit(groovyEmitter);
+        new ScriptModel(Arrays.asList(state.block.split("\n"))).emit(groovyEmitter);
+        return groovyEmitter.toString();
+    }
+}
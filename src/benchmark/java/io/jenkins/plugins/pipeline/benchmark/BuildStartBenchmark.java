@@ -0,0 +1,132 @@
+package io.jenkins.plugins.pipeline.benchmark;
+
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.TaskListener;
+import hudson.plugins.git.GitSCM;
+import hudson.scm.SCM;
+import io.jenkins.plugins.pipeline.PipelineAsYamlScmFlowDefinition;
+import io.jenkins.plugins.pipeline.PipelineAsYamlScriptFlowDefinition;
+import io.jenkins.plugins.pipeline.PipelineYamlGenerator;
+import io.jenkins.plugins.pipeline.cps.PipelineCpsFlowDefinition;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import org.apache.commons.io.FileUtils;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
+import org.jenkinsci.plugins.workflow.cps.CpsScmFlowDefinition;
+import org.jenkinsci.plugins.workflow.flow.FlowDefinition;
+import org.jenkinsci.plugins.workflow.flow.FlowDefinitionDescriptor;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.flow.FlowExecutionOwner;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Benchmark for the latency between scheduling a build of a Pipeline As YAML job and the start of its execution.
+ * Jobs reading the yaml file with a full checkout are compared against the baseline which creates a throwaway
+ * execution with {@link CpsScmFlowDefinition} to obtain the file, and a second one from the converted script.
+ */
+@JmhBenchmark
+public class BuildStartBenchmark {
+
+    private static final String yamlJenkinsFileName = "Jenkinsfile.yaml";
+
+    public static class JenkinsState extends JmhBenchmarkState {
+
+        @Param({"10", "100"})
+        public int stages;
+
+        WorkflowJob workflowJob;
+
+        @Override
+        public void setup() throws Exception {
+            String yamlJenkinsFileContent = new PipelineYamlGenerator(1).stageCount(this.stages).maxDepth(1).sparse(true).library(false).generate();
+            this.workflowJob = getJenkins().createProject(WorkflowJob.class, "buildStart");
+            this.workflowJob.setDefinition(new PipelineAsYamlScriptFlowDefinition(yamlJenkinsFileContent, true));
+        }
+    }
+
+    public static class ScmState extends JmhBenchmarkState {
+
+        @Param({"false", "true"})
+        public boolean doubleCreate;
+
+        File repository;
+        WorkflowJob workflowJob;
+
+        @Override
+        public void setup() throws Exception {
+            this.repository = Files.createTempDirectory("pipeline-as-yaml-fixture").toFile();
+            this.git("init");
+            this.git("symbolic-ref", "HEAD", "refs/heads/master");
+            String yamlJenkinsFileContent = new PipelineYamlGenerator(1).stageCount(10).maxDepth(1).sparse(true).library(false).generate();
+            FileUtils.writeStringToFile(new File(this.repository, yamlJenkinsFileName), yamlJenkinsFileContent, StandardCharsets.UTF_8);
+            this.git("add", "--all");
+            this.git("-c", "user.name=benchmark", "-c", "user.email=benchmark@example.com", "commit", "--message=Fixture");
+            GitSCM scm = new GitSCM(this.repository.getAbsolutePath());
+            this.workflowJob = getJenkins().createProject(WorkflowJob.class, "scmBuildStart");
+            this.workflowJob.setDefinition(this.doubleCreate ? new DoubleCreateFlowDefinition(scm, yamlJenkinsFileName) :
+                    new PipelineAsYamlScmFlowDefinition(yamlJenkinsFileName, scm, false));
+        }
+
+        @Override
+        public void tearDown() {
+            FileUtils.deleteQuietly(this.repository);
+        }
+
+        private void git(String... args) throws IOException, InterruptedException {
+            String[] command = new String[args.length + 1];
+            command[0] = "git";
+            System.arraycopy(args, 0, command, 1, args.length);
+            Process process = new ProcessBuilder(command).directory(this.repository).inheritIO().start();
+            if (process.waitFor() != 0)
+                throw new IOException("git " + String.join(" ", args) + " failed");
+        }
+    }
+
+    /**
+     * Baseline of the full checkout: the execution of {@link CpsScmFlowDefinition} is only used to obtain the yaml file
+     */
+    public static class DoubleCreateFlowDefinition extends FlowDefinition {
+
+        private final SCM scm;
+        private final String scriptPath;
+
+        DoubleCreateFlowDefinition(SCM scm, String scriptPath) {
+            this.scm = scm;
+            this.scriptPath = scriptPath;
+        }
+
+        @Override
+        public FlowExecution create(FlowExecutionOwner owner, TaskListener listener, List<? extends Action> actions) throws Exception {
+            CpsFlowExecution cpsFlowExecution = new CpsScmFlowDefinition(this.scm, this.scriptPath).create(owner, listener, actions);
+            return PipelineCpsFlowDefinition.createExecution(cpsFlowExecution.getScript(), cpsFlowExecution.isSandbox(), owner, listener, actions);
+        }
+
+        @Extension
+        public static class DescriptorImpl extends FlowDefinitionDescriptor {
+        }
+    }
+
+    @Benchmark
+    public WorkflowRun buildStart(JenkinsState state) throws Exception {
+        WorkflowRun workflowRun = state.workflowJob.scheduleBuild2(0).waitForStart();
+        workflowRun.getExecutionPromise().get();
+        return workflowRun;
+    }
+
+    @Benchmark
+    public WorkflowRun scmBuildStart(ScmState state) throws Exception {
+        WorkflowRun workflowRun = state.workflowJob.scheduleBuild2(0).waitForStart();
+        workflowRun.getExecutionPromise().get();
+        return workflowRun;
+    }
+}
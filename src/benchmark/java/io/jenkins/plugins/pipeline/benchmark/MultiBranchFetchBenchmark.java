@@ -0,0 +1,85 @@
+package io.jenkins.plugins.pipeline.benchmark;
+
+import io.jenkins.plugins.pipeline.PipelineAsYamlWorkflowBranchProjectFactory;
+import io.jenkins.plugins.pipeline.PipelineYamlGenerator;
+import io.jenkins.plugins.pipeline.scm.YamlFileCache;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import jenkins.branch.BranchSource;
+import jenkins.plugins.git.GitSCMSource;
+import org.apache.commons.io.FileUtils;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Benchmark for builds of a multibranch project reading the yaml file from a local git repository,
+ * with lightweight and full checkout
+ */
+@JmhBenchmark
+public class MultiBranchFetchBenchmark {
+
+    private static final String yamlJenkinsFileName = "Jenkinsfile.yaml";
+
+    public static class JenkinsState extends JmhBenchmarkState {
+
+        @Param({"true", "false"})
+        public boolean lightweight;
+
+        @Param({"0", "1000"})
+        public int repositoryFiles;
+
+        File repository;
+        WorkflowJob branchJob;
+
+        @Override
+        public void setup() throws Exception {
+            this.repository = Files.createTempDirectory("pipeline-as-yaml-fixture").toFile();
+            this.git("init");
+            this.git("symbolic-ref", "HEAD", "refs/heads/master");
+            String yamlJenkinsFileContent = new PipelineYamlGenerator(1).stageCount(1).maxDepth(1).sparse(true).library(false).generate();
+            FileUtils.writeStringToFile(new File(this.repository, yamlJenkinsFileName), yamlJenkinsFileContent, StandardCharsets.UTF_8);
+            for (int i = 0; i < this.repositoryFiles; i++)
+                FileUtils.writeStringToFile(new File(this.repository, "src/file" + i + ".txt"), "content " + i, StandardCharsets.UTF_8);
+            this.git("add", "--all");
+            this.git("-c", "user.name=benchmark", "-c", "user.email=benchmark@example.com", "commit", "--message=Fixture");
+
+            WorkflowMultiBranchProject workflowMultiBranchProject = getJenkins().createProject(WorkflowMultiBranchProject.class, "fetch");
+            workflowMultiBranchProject.getSourcesList().add(new BranchSource(new GitSCMSource(null, this.repository.getAbsolutePath(), "", "*", "", false)));
+            PipelineAsYamlWorkflowBranchProjectFactory projectFactory = new PipelineAsYamlWorkflowBranchProjectFactory(yamlJenkinsFileName);
+            projectFactory.setLightweight(this.lightweight);
+            workflowMultiBranchProject.setProjectFactory(projectFactory);
+            workflowMultiBranchProject.scheduleBuild2(0).getFuture().get();
+            this.branchJob = workflowMultiBranchProject.getItem("master");
+            while (this.branchJob.isInQueue() || this.branchJob.isBuilding())
+                Thread.sleep(100);
+        }
+
+        @Override
+        public void tearDown() {
+            FileUtils.deleteQuietly(this.repository);
+        }
+
+        private void git(String... args) throws IOException, InterruptedException {
+            String[] command = new String[args.length + 1];
+            command[0] = "git";
+            System.arraycopy(args, 0, command, 1, args.length);
+            Process process = new ProcessBuilder(command).directory(this.repository).inheritIO().start();
+            if (process.waitFor() != 0)
+                throw new IOException("git " + String.join(" ", args) + " failed");
+        }
+    }
+
+    @Benchmark
+    public WorkflowRun fetchAndBuild(JenkinsState state) throws Exception {
+        YamlFileCache.getFileCache().clear();
+        return state.branchJob.scheduleBuild2(0).get();
+    }
+}
@@ -0,0 +1,56 @@
+package io.jenkins.plugins.pipeline.benchmark;
+
+import io.jenkins.plugins.pipeline.PipelineYamlGenerator;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks for pipelines with deeply nested stages, when conditions and script blocks.
+ * Nesting is parsed and written with explicit stacks, so the cost per nesting level should stay constant with the depth.
+ * Output is written without indentation, since the indentation of the pretty output itself grows with the depth.
+ */
+@JmhBenchmark
+public class NestingDepthBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class NestedState {
+
+        @Param({"8", "32", "128"})
+        public int depth;
+
+        String jenkinsFileContent;
+        PipelineModel pipelineModel;
+        YamlLimits defaultLimits;
+
+        @Setup
+        public void setup() {
+            this.defaultLimits = YamlLimits.get();
+            YamlLimits.set(new YamlLimits(50, 10 * this.depth, 0, true, this.depth, this.depth));
+            this.jenkinsFileContent = new PipelineYamlGenerator(1).generateNested(this.depth);
+            this.pipelineModel = new PipelineParser(this.jenkinsFileContent).parse().get();
+        }
+
+        @TearDown
+        public void tearDown() {
+            YamlLimits.set(this.defaultLimits);
+        }
+    }
+
+    @Benchmark
+    public PipelineModel parse(NestedState state) {
+        return new PipelineParser(state.jenkinsFileContent).parse().get();
+    }
+
+    @Benchmark
+    public String toGroovy(NestedState state) {
+        return state.pipelineModel.toGroovy();
+    }
+}
@@ -0,0 +1,76 @@
+package io.jenkins.plugins.pipeline.benchmark;
+
+import io.jenkins.plugins.pipeline.LegacyPrettyGroovy;
+import io.jenkins.plugins.pipeline.PipelineYamlGenerator;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StreamingPipelineParser;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+
+/**
+ * Benchmarks for parsing Pipeline As YAML scripts and emitting Jenkins Declarative Pipeline scripts
+ */
+@JmhBenchmark
+public class PipelineConversionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PipelineState {
+
+        @Param({"10", "100", "1000", "10000"})
+        public int stages;
+
+        @Param({"1", "3"})
+        public int depth;
+
+        @Param({"1", "20"})
+        public int scriptLines;
+
+        @Param({"1"})
+        public long seed;
+
+        String jenkinsFileContent;
+        PipelineModel pipelineModel;
+
+        @Setup
+        public void setup() {
+            this.jenkinsFileContent = new PipelineYamlGenerator(this.seed).stageCount(this.stages).maxDepth(this.depth).scriptLines(this.scriptLines).generate();
+            this.pipelineModel = new PipelineParser(this.jenkinsFileContent).parse().get();
+        }
+    }
+
+    @Benchmark
+    public Optional<PipelineModel> parse(PipelineState state) {
+        return new PipelineParser(state.jenkinsFileContent).parse();
+    }
+
+    @Benchmark
+    public Optional<PipelineModel> streamingParse(PipelineState state) {
+        return new StreamingPipelineParser(state.jenkinsFileContent).parse();
+    }
+
+    @Benchmark
+    public String toGroovy(PipelineState state) {
+        return state.pipelineModel.toGroovy();
+    }
+
+    @Benchmark
+    public String toPrettyGroovy(PipelineState state) {
+        return state.pipelineModel.toPrettyGroovy();
+    }
+
+    /**
+     * Legacy pretty Groovy pass, as the baseline of {@link #toPrettyGroovy(PipelineState)}.
+     * Allocations of both are compared with the normalized allocation rate of the GC profiler
+     */
+    @Benchmark
+    public String legacyToPrettyGroovy(PipelineState state) {
+        return LegacyPrettyGroovy.toPrettyGroovy(state.pipelineModel);
+    }
+}
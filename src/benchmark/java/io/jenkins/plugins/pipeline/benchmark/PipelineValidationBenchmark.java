@@ -0,0 +1,67 @@
+package io.jenkins.plugins.pipeline.benchmark;
+
+import io.jenkins.plugins.pipeline.PipelineYamlGenerator;
+import io.jenkins.plugins.pipeline.conversion.PipelineValidator;
+import io.jenkins.plugins.pipeline.conversion.ValidationResult;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
+import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.Optional;
+
+/**
+ * Benchmark for parsing and validating Pipeline As YAML scripts.
+ * Validation looks up extensions, so it runs against a Jenkins instance.
+ */
+@JmhBenchmark
+public class PipelineValidationBenchmark {
+
+    public static class JenkinsState extends JmhBenchmarkState {
+
+        @Param({"10", "100", "1000", "10000"})
+        public int stages;
+
+        @Param({"1", "3"})
+        public int depth;
+
+        @Param({"1", "20"})
+        public int scriptLines;
+
+        @Param({"1"})
+        public long seed;
+
+        String jenkinsFileContent;
+        PipelineModel pipelineModel;
+
+        @Override
+        public void setup() throws Exception {
+            this.jenkinsFileContent = new PipelineYamlGenerator(this.seed).stageCount(this.stages).maxDepth(this.depth).scriptLines(this.scriptLines).library(false).generate();
+            this.pipelineModel = new PipelineParser(this.jenkinsFileContent).parse().get();
+        }
+    }
+
+    @Benchmark
+    public Optional<PipelineModel> parseAndValidate(JenkinsState state) {
+        return new PipelineParser(state.jenkinsFileContent).parseAndValidate();
+    }
+
+    @Benchmark
+    public ValidationResult validateCached(JenkinsState state) {
+        return PipelineValidator.validate(state.jenkinsFileContent);
+    }
+
+    @Benchmark
+    public ModelASTPipelineDef toPipelineDef(JenkinsState state) {
+        return state.pipelineModel.toPipelineDef();
+    }
+
+    @Benchmark
+    public ModelASTPipelineDef prettyGroovyToPipelineDef(JenkinsState state) {
+        return Converter.scriptToPipelineDef(state.pipelineModel.toPrettyGroovy());
+    }
+}
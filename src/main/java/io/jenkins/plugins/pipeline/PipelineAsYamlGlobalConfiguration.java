@@ -0,0 +1,121 @@
+package io.jenkins.plugins.pipeline;
+
+import hudson.Extension;
+import hudson.util.FormValidation;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import jenkins.model.GlobalConfiguration;
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Global configuration of Pipeline As YAML. Holds the {@link YamlLimits} applied to every loaded YAML document
+ */
+@Extension
+public class PipelineAsYamlGlobalConfiguration extends GlobalConfiguration {
+
+    private int maxAliases = YamlLimits.defaultMaxAliases;
+    private int maxNestingDepth = YamlLimits.defaultMaxNestingDepth;
+    private int maxCodePoints = YamlLimits.defaultMaxCodePoints;
+    private boolean allowDuplicateKeys = YamlLimits.defaultAllowDuplicateKeys;
+
+    public PipelineAsYamlGlobalConfiguration() {
+        this.load();
+        this.apply();
+    }
+
+    /**
+     * @return Global configuration of Pipeline As YAML
+     */
+    public static PipelineAsYamlGlobalConfiguration get() {
+        return GlobalConfiguration.all().get(PipelineAsYamlGlobalConfiguration.class);
+    }
+
+    @Nonnull
+    @Override
+    public String getDisplayName() {
+        return Messages.Project_GlobalConfigurationDisplayName();
+    }
+
+    @Override
+    public boolean configure(StaplerRequest req, JSONObject json) throws FormException {
+        for (String field : new String[]{"maxAliases", "maxNestingDepth", "maxCodePoints"}) {
+            if (json.has(field) && json.optInt(field, 0) < 1)
+                throw new FormException(Messages.Project_LimitBelowOne(), field);
+        }
+        super.configure(req, json);
+        this.apply();
+        this.save();
+        return true;
+    }
+
+    /**
+     * Apply the limits to documents loaded from now on
+     */
+    private void apply() {
+        YamlLimits.set(new YamlLimits(this.maxAliases, this.maxNestingDepth, this.maxCodePoints, this.allowDuplicateKeys));
+    }
+
+    public int getMaxAliases() {
+        return maxAliases;
+    }
+
+    @DataBoundSetter
+    public void setMaxAliases(int maxAliases) {
+        this.maxAliases = checkLimit(maxAliases);
+    }
+
+    public FormValidation doCheckMaxAliases(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public int getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+    @DataBoundSetter
+    public void setMaxNestingDepth(int maxNestingDepth) {
+        this.maxNestingDepth = checkLimit(maxNestingDepth);
+    }
+
+    public FormValidation doCheckMaxNestingDepth(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public int getMaxCodePoints() {
+        return maxCodePoints;
+    }
+
+    @DataBoundSetter
+    public void setMaxCodePoints(int maxCodePoints) {
+        this.maxCodePoints = checkLimit(maxCodePoints);
+    }
+
+    public FormValidation doCheckMaxCodePoints(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public boolean isAllowDuplicateKeys() {
+        return allowDuplicateKeys;
+    }
+
+    @DataBoundSetter
+    public void setAllowDuplicateKeys(boolean allowDuplicateKeys) {
+        this.allowDuplicateKeys = allowDuplicateKeys;
+    }
+
+    /**
+     * Reject limits lower than 1, so a limit can not be disabled from the configuration
+     * @param limit Limit
+     * @return Limit
+     * @throws IllegalArgumentException if the limit is lower than 1
+     */
+    private static int checkLimit(int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException(Messages.Project_LimitBelowOne());
+        return limit;
+    }
+}
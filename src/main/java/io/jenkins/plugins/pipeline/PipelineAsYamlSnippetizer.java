@@ -3,11 +3,15 @@ package io.jenkins.plugins.pipeline;
 import hudson.Extension;
 import hudson.model.AbstractItem;
 import hudson.model.Action;
+import io.jenkins.plugins.pipeline.conversion.ConversionService;
+import io.jenkins.plugins.pipeline.conversion.PipelineConverter;
+import io.jenkins.plugins.pipeline.conversion.PipelineValidator;
+import io.jenkins.plugins.pipeline.conversion.ValidationResult;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlBudgetException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlEmptyInputException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRejectedException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
-import io.jenkins.plugins.pipeline.models.PipelineModel;
-import io.jenkins.plugins.pipeline.parsers.PipelineParser;
 import jenkins.model.TransientActionFactory;
 import jenkins.security.stapler.StaplerAccessibleType;
 import org.jenkinsci.plugins.workflow.cps.Snippetizer;
@@ -20,7 +24,6 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Optional;
 
 /**
  * Pipeline As YAML Snippetizer
@@ -37,46 +40,39 @@ public class PipelineAsYamlSnippetizer extends Snippetizer {
     }
 
     /**
-     * JavaScriptMethod implementation converting Pipeline As YAML to Pipeline Declarative Script
+     * JavaScriptMethod implementation converting Pipeline As YAML to Pipeline Declarative Script.
+     * Conversion runs on the interactive lane of the {@link ConversionService}, so it is not queued behind builds
      *
      * @param pipelinePay Pipeline As YAML Script
      * @return Pipeline Declarative Script
      */
     @JavaScriptMethod
     public String convertToDec(String pipelinePay) {
-        PipelineParser pipelineParser = new PipelineParser(pipelinePay);
         try {
             this.checkConverterInput(pipelinePay);
-            Optional<PipelineModel> pipelineModel = pipelineParser.parse();
-            if (pipelineModel.isPresent()) {
-                return pipelineModel.get().toPrettyGroovy();
-            } else {
-                throw new PipelineAsYamlRuntimeException("Exception happened while converting. Please check the logs");
-            }
+            return PipelineConverter.convert(pipelinePay, ConversionService.Lane.INTERACTIVE);
         } catch (PipelineAsYamlEmptyInputException p) {
             return "";
+        } catch (PipelineAsYamlRejectedException | PipelineAsYamlBudgetException r) {
+            return r.getLocalizedMessage();
         } catch (PipelineAsYamlRuntimeException p) {
             return "Exception happened while converting. Please check the logs";
         }
     }
 
     /**
-     * JavaScriptMethod implementation for Parse and Validate Pipeline As YAML
+     * JavaScriptMethod implementation for Parse and Validate Pipeline As YAML.
+     * Outcome is cached by content hash, so submitting the same script again does not validate it again
      *
      * @param pipelinePay Pipeline As YAML Script
      * @return Validation Output
      */
     @JavaScriptMethod
     public String parseAndValidatePay(String pipelinePay) {
-        PipelineParser pipelineParser = new PipelineParser(pipelinePay);
         try {
             this.checkConverterInput(pipelinePay);
-            Optional<PipelineModel> pipelineModel = pipelineParser.parseAndValidate();
-            if (pipelineModel.isPresent()) {
-                return "Valid";
-            } else {
-                throw new PipelineAsYamlException("Pipeline validation failed. Please check the logs");
-            }
+            ValidationResult validationResult = PipelineValidator.validate(pipelinePay);
+            return validationResult.getMessage();
         } catch (RuntimeException r) {
             return r.getLocalizedMessage();
         } catch (PipelineAsYamlException p) {
@@ -5,6 +5,7 @@ import hudson.model.Run;
 import hudson.model.listeners.RunListener;
 import io.jenkins.plugins.pipeline.scm.ExtendedSCMBinder;
 import io.jenkins.plugins.pipeline.scm.SCMSourceCriteriaForYamlFile;
+import io.jenkins.plugins.pipeline.scm.YamlFileCriteria;
 import jenkins.scm.api.SCMSource;
 import jenkins.scm.api.SCMSourceCriteria;
 import org.jenkinsci.plugins.workflow.flow.FlowDefinition;
@@ -20,10 +21,12 @@ import javax.annotation.Nonnull;
 public class PipelineAsYamlWorkflowBranchProjectFactory extends WorkflowBranchProjectFactory {
 
     private String yamlJenkinsFile = "Jenkinsfile.yaml";
+    private boolean lightweight = true;
 
     /**
      * Constructor
-     * @param yamlJenkinsFile Path of the Pipeline As Yaml script file in SCM
+     * @param yamlJenkinsFile Path of the Pipeline As Yaml script file in SCM.
+     *                        Several candidate paths can be given separated with commas, the first existing one is used
      */
     @DataBoundConstructor
     public PipelineAsYamlWorkflowBranchProjectFactory(String yamlJenkinsFile) {
@@ -39,14 +42,23 @@ public class PipelineAsYamlWorkflowBranchProjectFactory extends WorkflowBranchPr
         this.yamlJenkinsFile = yamlJenkinsFile;
     }
 
+    public boolean isLightweight() {
+        return lightweight;
+    }
+
+    @DataBoundSetter
+    public void setLightweight(boolean lightweight) {
+        this.lightweight = lightweight;
+    }
+
     @Override
     protected FlowDefinition createDefinition() {
-        return new ExtendedSCMBinder(this.getYamlJenkinsFile());
+        return new ExtendedSCMBinder(this.getYamlJenkinsFile(), this.isLightweight());
     }
 
     @Override
     protected SCMSourceCriteria getSCMSourceCriteria(SCMSource source) {
-        return ((probe, taskListener) -> SCMSourceCriteriaForYamlFile.matches(this.getYamlJenkinsFile(),probe,taskListener));
+        return new YamlFileCriteria(SCMSourceCriteriaForYamlFile.candidates(this.getYamlJenkinsFile()), source);
     }
 
     /**
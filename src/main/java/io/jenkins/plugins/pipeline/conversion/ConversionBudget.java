@@ -0,0 +1,74 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlBudgetException;
+import jenkins.util.SystemProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Time budget of a single conversion. The budget is enforced cooperatively:
+ * parser and emitter loops call {@link #check()}, which fails the conversion once its deadline is passed
+ * or its thread is interrupted. Size of the script is limited by {@link io.jenkins.plugins.pipeline.parsers.YamlLimits}.
+ */
+public class ConversionBudget {
+
+    public static final int timeout = SystemProperties.getInteger(ConversionBudget.class.getName() + ".timeout", 30000);
+    private static final ThreadLocal<Deadline> threadDeadline = new ThreadLocal<>();
+
+    private ConversionBudget() {
+    }
+
+    /**
+     * Run conversion within the time budget
+     * @param task Conversion
+     * @param <T> Type of the result
+     * @return Conversion result
+     */
+    public static <T> T run(Supplier<T> task) {
+        return run(timeout, task);
+    }
+
+    /**
+     * Run conversion within the given time budget. Nested conversions share the deadline of the outermost one
+     * @param timeoutMillis Time budget in milliseconds. Values lower than 1 disable the time budget
+     * @param task Conversion
+     * @param <T> Type of the result
+     * @return Conversion result
+     */
+    public static <T> T run(long timeoutMillis, Supplier<T> task) {
+        if (timeoutMillis < 1 || threadDeadline.get() != null)
+            return task.get();
+        threadDeadline.set(new Deadline(timeoutMillis));
+        try {
+            return task.get();
+        } finally {
+            threadDeadline.remove();
+        }
+    }
+
+    /**
+     * Check the running conversion of the current thread. Does nothing outside of {@link #run(Supplier)}
+     * @throws PipelineAsYamlBudgetException if the deadline is passed or the thread is interrupted
+     */
+    public static void check() {
+        Deadline deadline = threadDeadline.get();
+        if (deadline == null)
+            return;
+        if (Thread.currentThread().isInterrupted())
+            throw new PipelineAsYamlBudgetException("Conversion is cancelled");
+        if (System.nanoTime() - deadline.deadlineNanos > 0)
+            throw new PipelineAsYamlBudgetException(String.format("Conversion exceeds the time limit of %d ms", deadline.timeoutMillis));
+    }
+
+    private static class Deadline {
+
+        private final long timeoutMillis;
+        private final long deadlineNanos;
+
+        Deadline(long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        }
+    }
+}
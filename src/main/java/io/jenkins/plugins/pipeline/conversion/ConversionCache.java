@@ -0,0 +1,113 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded and thread-safe LRU cache for conversion results, keyed by content hash
+ *
+ * @param <V> Type of the cached value
+ */
+public class ConversionCache<V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, V> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxSize Maximum number of entries kept in the cache. Values lower than 1 disable caching
+     */
+    public ConversionCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                if (this.size() > ConversionCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get cached value for given key
+     * @param key Content hash
+     * @return Cached value or null if key is not cached
+     */
+    public V get(String key) {
+        V value;
+        synchronized (this.entries) {
+            value = this.entries.get(key);
+        }
+        if (value == null)
+            this.misses.incrementAndGet();
+        else
+            this.hits.incrementAndGet();
+        return value;
+    }
+
+    /**
+     * Get cached value for given key without updating the hit and miss counters
+     * @param key Content hash
+     * @return Cached value or null if key is not cached
+     */
+    public V peek(String key) {
+        synchronized (this.entries) {
+            return this.entries.get(key);
+        }
+    }
+
+    /**
+     * Put value to the cache. Least recently used entry is evicted if cache is full
+     * @param key Content hash
+     * @param value Value to be cached
+     */
+    public void put(String key, V value) {
+        if (this.maxSize < 1 || value == null)
+            return;
+        synchronized (this.entries) {
+            this.entries.put(key, value);
+        }
+    }
+
+    /**
+     * Remove all entries from the cache. Counters are not reset
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d/%d, hits=%d, misses=%d, evictions=%d", this.size(), this.maxSize, this.getHits(), this.getMisses(), this.getEvictions());
+    }
+}
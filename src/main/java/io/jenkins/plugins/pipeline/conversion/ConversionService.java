@@ -0,0 +1,318 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRejectedException;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs conversions and validations on bounded thread pools instead of the calling threads.
+ * Each {@link Lane} is an independent pool with its own queue. Lanes have no priority over each other,
+ * they only keep interactive requests from being queued behind build storms.
+ * Queues are bounded: builds wait for a free slot up to the {@link ConversionBudget} timeout,
+ * and interactive requests are rejected at once when their lane is full.
+ * Worker threads use the class loader of all plugins as their context class loader, like the request threads they serve.
+ */
+public class ConversionService {
+
+    private static final Logger LOGGER = Logger.getLogger(ConversionService.class.getName());
+
+    public static final boolean virtualThreads = SystemProperties.getBoolean(ConversionService.class.getName() + ".virtualThreads");
+    private static volatile ConversionService instance;
+
+    private final Map<Lane, LaneExecutor> executors = new EnumMap<>(Lane.class);
+    private final ThreadLocal<Lane> workerLane = new ThreadLocal<>();
+
+    /**
+     * Lanes of conversions. Each lane is a separate pool, there is no priority between them
+     */
+    public enum Lane {
+        /**
+         * Requests of users waiting for the response, e.g. Snippetizer conversions. Rejected when the lane is full
+         */
+        INTERACTIVE(1, 16, false),
+        /**
+         * Conversions of builds. Callers wait for a free slot when the lane is full, up to the conversion time budget
+         */
+        BUILD(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 256, true);
+
+        private final int poolSize;
+        private final int queueSize;
+        private final boolean blocking;
+
+        Lane(int poolSize, int queueSize, boolean blocking) {
+            this.poolSize = SystemProperties.getInteger(ConversionService.class.getName() + "." + this.name().toLowerCase() + "PoolSize", poolSize);
+            this.queueSize = SystemProperties.getInteger(ConversionService.class.getName() + "." + this.name().toLowerCase() + "QueueSize", queueSize);
+            this.blocking = blocking;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+    }
+
+    /**
+     * Create service with the pool and queue sizes of the lanes
+     */
+    public ConversionService() {
+        for (Lane lane : Lane.values())
+            this.executors.put(lane, new LaneExecutor(lane, lane.poolSize, lane.queueSize, lane.blocking, ConversionBudget.timeout));
+    }
+
+    /**
+     * Create service with the given pool and queue sizes for all lanes
+     * @param poolSize Number of threads of each lane
+     * @param queueSize Number of conversions waiting in each lane
+     */
+    public ConversionService(int poolSize, int queueSize) {
+        this(poolSize, queueSize, ConversionBudget.timeout);
+    }
+
+    /**
+     * Create service with the given pool and queue sizes for all lanes
+     * @param poolSize Number of threads of each lane
+     * @param queueSize Number of conversions waiting in each lane
+     * @param waitMillis Time to wait for a free slot of a full waiting lane. Values lower than 1 wait without a limit
+     */
+    public ConversionService(int poolSize, int queueSize, long waitMillis) {
+        for (Lane lane : Lane.values())
+            this.executors.put(lane, new LaneExecutor(lane, poolSize, queueSize, lane.blocking, waitMillis));
+    }
+
+    /**
+     * Get the shared service
+     * @return Conversion Service
+     */
+    public static ConversionService get() {
+        ConversionService conversionService = instance;
+        if (conversionService == null) {
+            synchronized (ConversionService.class) {
+                if (instance == null)
+                    instance = new ConversionService();
+                conversionService = instance;
+            }
+        }
+        return conversionService;
+    }
+
+    /**
+     * Submit task to the lane. Task is run in the calling thread if it is already a conversion thread
+     * @param lane Lane of the task
+     * @param task Conversion or validation task
+     * @param <T> Type of the result
+     * @return Future of the task result
+     * @throws PipelineAsYamlRejectedException if the lane is full and does not wait for a free slot, or no slot is freed in time
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> task) {
+        if (this.workerLane.get() != null) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            return future;
+        }
+        return this.executors.get(lane).submit(task);
+    }
+
+    /**
+     * Run task on the lane and wait for its result
+     * @param lane Lane of the task
+     * @param task Conversion or validation task
+     * @param <T> Type of the result
+     * @return Task result
+     */
+    public <T> T call(Lane lane, Supplier<T> task) {
+        return await(this.submit(lane, task));
+    }
+
+    /**
+     * Wait for the result of a submitted task. Failures of the task are thrown as they are
+     * @param future Future of the task
+     * @param <T> Type of the result
+     * @return Task result
+     * @throws PipelineAsYamlRuntimeException if the waiting thread is interrupted
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null)
+                cause = cause.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new PipelineAsYamlRuntimeException(e.getLocalizedMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PipelineAsYamlRuntimeException("Interrupted while waiting for conversion", e);
+        }
+    }
+
+    /**
+     * Get number of conversions running or waiting in the lane
+     * @param lane Lane
+     * @return Number of conversions
+     */
+    public int getPending(Lane lane) {
+        return this.executors.get(lane).getPending();
+    }
+
+    /**
+     * Get number of conversions rejected by the lane since startup
+     * @param lane Lane
+     * @return Number of rejections
+     */
+    public long getRejections(Lane lane) {
+        return this.executors.get(lane).rejections.get();
+    }
+
+    /**
+     * Stop the threads of all lanes. Running conversions are completed
+     */
+    public void shutdown() {
+        for (LaneExecutor laneExecutor : this.executors.values())
+            laneExecutor.executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (Map.Entry<Lane, LaneExecutor> entry : this.executors.entrySet())
+            stringBuilder.append(String.format("%s: pending=%d, rejections=%d; ", entry.getKey(), entry.getValue().getPending(), entry.getValue().rejections.get()));
+        return stringBuilder.toString().trim();
+    }
+
+    /**
+     * Bounded pool of a lane. Slots of running and waiting conversions are counted with a semaphore,
+     * so the queue of the pool never overflows.
+     */
+    private class LaneExecutor {
+
+        private final Lane lane;
+        private final int slots;
+        private final boolean blocking;
+        private final long waitMillis;
+        private final Semaphore permits;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong rejections = new AtomicLong();
+
+        LaneExecutor(Lane lane, int poolSize, int queueSize, boolean blocking, long waitMillis) {
+            this.lane = lane;
+            this.slots = Math.max(1, poolSize) + Math.max(0, queueSize);
+            this.blocking = blocking;
+            this.waitMillis = waitMillis;
+            this.permits = new Semaphore(this.slots);
+            this.executor = new ThreadPoolExecutor(Math.max(1, poolSize), Math.max(1, poolSize), 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(this.slots), threadFactory(lane));
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<T> task) {
+            this.acquire();
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    ConversionService.this.workerLane.set(this.lane);
+                    try {
+                        return task.get();
+                    } finally {
+                        ConversionService.this.workerLane.remove();
+                        this.permits.release();
+                    }
+                }, this.executor);
+            } catch (RejectedExecutionException e) {
+                this.permits.release();
+                this.rejections.incrementAndGet();
+                throw new PipelineAsYamlRejectedException(String.format("Conversion service is shut down, %s conversion rejected", this.lane));
+            }
+        }
+
+        private void acquire() {
+            if (this.permits.tryAcquire())
+                return;
+            if (!this.blocking) {
+                this.rejections.incrementAndGet();
+                throw new PipelineAsYamlRejectedException(String.format("Conversion service is busy with %d %s conversions, please try again later", this.slots, this.lane));
+            }
+            LOGGER.log(Level.FINE, "{0} lane is full, waiting for a free slot", this.lane);
+            try {
+                if (this.waitMillis < 1) {
+                    this.permits.acquire();
+                } else if (!this.permits.tryAcquire(this.waitMillis, TimeUnit.MILLISECONDS)) {
+                    this.rejections.incrementAndGet();
+                    throw new PipelineAsYamlRejectedException(String.format("Conversion service is busy with %d %s conversions, no slot is freed in %d ms", this.slots, this.lane, this.waitMillis));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PipelineAsYamlRuntimeException("Interrupted while waiting for conversion slot", e);
+            }
+        }
+
+        int getPending() {
+            return this.slots - this.permits.availablePermits();
+        }
+    }
+
+    /**
+     * Create thread factory of a lane. Threads get the class loader of all plugins as context class loader,
+     * so conversions can resolve classes of other plugins
+     * @param lane Lane
+     * @return Thread Factory
+     */
+    private static ThreadFactory threadFactory(Lane lane) {
+        ThreadFactory threadFactory = platformOrVirtualThreadFactory(lane);
+        return runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            Jenkins jenkins = Jenkins.getInstanceOrNull();
+            if (jenkins != null)
+                thread.setContextClassLoader(jenkins.getPluginManager().uberClassLoader);
+            return thread;
+        };
+    }
+
+    /**
+     * Create thread factory of a lane. Virtual threads are used if they are enabled with the system property
+     * and supported by the JVM
+     * @param lane Lane
+     * @return Thread Factory
+     */
+    private static ThreadFactory platformOrVirtualThreadFactory(Lane lane) {
+        String threadName = "Pipeline As YAML " + lane.name().toLowerCase() + " conversion";
+        if (virtualThreads) {
+            try {
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadName + " ", 0L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.log(Level.FINE, "Virtual threads are not supported by the JVM, platform threads are used", e);
+            }
+        }
+        return new NamingThreadFactory(new DaemonThreadFactory(), threadName);
+    }
+}
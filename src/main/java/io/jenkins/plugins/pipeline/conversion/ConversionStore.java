@@ -0,0 +1,292 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import org.apache.commons.io.FileUtils;
+
+import javax.annotation.CheckForNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent store of converted scripts and validation outcomes under JENKINS_HOME, keyed by content hash.
+ * Entries survive controller restarts, so the first builds after a restart are not converted again.
+ * Each plugin version has its own directory and directories of other versions are removed.
+ * Entries are written to a temporary file and moved in place, so concurrent writers never expose partial entries.
+ * Total size is bounded and least recently used entries are evicted first.
+ * Size accounting and eviction are guarded by the monitor of the store, so concurrent writers do not lose updates.
+ */
+public class ConversionStore {
+
+    private static final Logger LOGGER = Logger.getLogger(ConversionStore.class.getName());
+
+    public static final int maxSize = SystemProperties.getInteger(ConversionStore.class.getName() + ".maxSize", 64 * 1024 * 1024);
+    public static final String directoryName = "pipeline-as-yaml";
+    private static final String scriptSuffix = ".groovy";
+    private static final String validationSuffix = ".validation";
+    private static final String temporarySuffix = ".tmp";
+    private static volatile ConversionStore instance;
+
+    private final File baseDirectory;
+    private final File directory;
+    private final long maxBytes;
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param baseDirectory Directory holding the stores of all plugin versions
+     * @param version Plugin version. Stores of other versions are removed
+     * @param maxBytes Maximum total size of the entries in bytes
+     */
+    public ConversionStore(File baseDirectory, String version, long maxBytes) {
+        this.baseDirectory = baseDirectory;
+        this.directory = new File(baseDirectory, version.replaceAll("[^A-Za-z0-9._-]", "_"));
+        this.maxBytes = maxBytes;
+        this.removeOtherVersions();
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(temporarySuffix))
+                    FileUtils.deleteQuietly(file);
+                else
+                    this.bytes.addAndGet(file.length());
+            }
+        }
+    }
+
+    /**
+     * Get the store of the running Jenkins instance
+     * @return Conversion Store, null if Jenkins is not running or the store is disabled with the system property
+     */
+    @CheckForNull
+    public static ConversionStore get() {
+        if (maxSize < 1)
+            return null;
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins == null)
+            return null;
+        File baseDirectory = new File(jenkins.getRootDir(), directoryName);
+        ConversionStore conversionStore = instance;
+        if (conversionStore == null || !conversionStore.baseDirectory.equals(baseDirectory)) {
+            synchronized (ConversionStore.class) {
+                conversionStore = instance;
+                if (conversionStore == null || !conversionStore.baseDirectory.equals(baseDirectory)) {
+                    conversionStore = new ConversionStore(baseDirectory, PipelineConverter.getPluginVersion(), maxSize);
+                    instance = conversionStore;
+                }
+            }
+        }
+        return conversionStore;
+    }
+
+    /**
+     * Get stored converted script
+     * @param contentHash Content hash of the Pipeline As YAML script
+     * @return Jenkins Declarative Pipeline script, null if it is not stored
+     */
+    @CheckForNull
+    public String getScript(String contentHash) {
+        byte[] content = this.read(contentHash + scriptSuffix);
+        return content != null ? new String(content, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Store converted script
+     * @param contentHash Content hash of the Pipeline As YAML script
+     * @param script Jenkins Declarative Pipeline script
+     */
+    public void putScript(String contentHash, String script) {
+        this.write(contentHash + scriptSuffix, script.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get stored validation outcome. Outcomes depend on the installed plugins, so an outcome stored
+     * with other plugins is not returned
+     * @param contentHash Content hash of the Pipeline As YAML script
+     * @param pluginsFingerprint Fingerprint of the installed plugins
+     * @return Validation Result, null if it is not stored for the installed plugins
+     */
+    @CheckForNull
+    public ValidationResult getValidationResult(String contentHash, String pluginsFingerprint) {
+        byte[] content = this.read(contentHash + validationSuffix);
+        if (content == null)
+            return null;
+        Properties properties = new Properties();
+        try {
+            properties.load(new ByteArrayInputStream(content));
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.FINE, "Stored validation outcome of " + contentHash + " can not be read", e);
+            return null;
+        }
+        if (!pluginsFingerprint.equals(properties.getProperty("plugins")))
+            return null;
+        if (Boolean.parseBoolean(properties.getProperty("valid")))
+            return ValidationResult.valid();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; properties.containsKey("error." + i); i++)
+            errors.add(properties.getProperty("error." + i));
+        return ValidationResult.invalid(properties.getProperty("message"), errors);
+    }
+
+    /**
+     * Store validation outcome
+     * @param contentHash Content hash of the Pipeline As YAML script
+     * @param pluginsFingerprint Fingerprint of the installed plugins
+     * @param validationResult Validation Result
+     */
+    public void putValidationResult(String contentHash, String pluginsFingerprint, ValidationResult validationResult) {
+        Properties properties = new Properties();
+        properties.setProperty("plugins", pluginsFingerprint);
+        properties.setProperty("valid", Boolean.toString(validationResult.isValid()));
+        if (validationResult.getMessage() != null)
+            properties.setProperty("message", validationResult.getMessage());
+        List<String> errors = validationResult.getErrors();
+        for (int i = 0; i < errors.size(); i++)
+            properties.setProperty("error." + i, errors.get(i));
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try {
+            properties.store(content, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.write(contentHash + validationSuffix, content.toByteArray());
+    }
+
+    /**
+     * Remove all entries of the store. Counters are not reset
+     */
+    public synchronized void clear() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files)
+                FileUtils.deleteQuietly(file);
+        }
+        this.bytes.set(0);
+    }
+
+    private byte[] read(String fileName) {
+        File file = new File(this.directory, fileName);
+        try {
+            byte[] content = Files.readAllBytes(file.toPath());
+            // Last modification time orders the entries for eviction
+            file.setLastModified(System.currentTimeMillis());
+            this.hits.incrementAndGet();
+            return content;
+        } catch (NoSuchFileException e) {
+            this.misses.incrementAndGet();
+            return null;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Conversion store entry " + file + " can not be read", e);
+            this.misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    private void write(String fileName, byte[] content) {
+        if (content.length > this.maxBytes)
+            return;
+        File file = new File(this.directory, fileName);
+        try {
+            Files.createDirectories(this.directory.toPath());
+            Path temporary = Files.createTempFile(this.directory.toPath(), fileName, temporarySuffix);
+            try {
+                Files.write(temporary, content);
+                synchronized (this) {
+                    long previousLength = file.length();
+                    Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    this.bytes.addAndGet(file.length() - previousLength);
+                    if (this.bytes.get() > this.maxBytes)
+                        this.evict();
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Conversion store entry " + file + " can not be written", e);
+        }
+    }
+
+    /**
+     * Remove least recently used entries until three quarters of the maximum size is used.
+     * Called with the monitor of the store held
+     */
+    private void evict() {
+        File[] files = this.directory.listFiles((dir, name) -> !name.endsWith(temporarySuffix));
+        if (files == null)
+            return;
+        long[] lastModified = new long[files.length];
+        long total = 0;
+        Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; i++) {
+            lastModified[i] = files[i].lastModified();
+            total += files[i].length();
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> lastModified[i]));
+        long target = this.maxBytes / 4 * 3;
+        for (int i : order) {
+            if (total <= target)
+                break;
+            long length = files[i].length();
+            if (files[i].delete()) {
+                total -= length;
+                this.evictions.incrementAndGet();
+            }
+        }
+        this.bytes.set(total);
+    }
+
+    private void removeOtherVersions() {
+        File[] versions = this.baseDirectory.listFiles(File::isDirectory);
+        if (versions == null)
+            return;
+        for (File version : versions) {
+            if (!version.equals(this.directory)) {
+                LOGGER.log(Level.FINE, "Removing conversion store of other plugin version {0}", version);
+                FileUtils.deleteQuietly(version);
+            }
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("bytes=%d/%d, hits=%d, misses=%d, evictions=%d", this.getBytes(), this.maxBytes, this.getHits(), this.getMisses(), this.getEvictions());
+    }
+}
@@ -0,0 +1,221 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Per-phase timings of the conversion of a build, with the size of the script and the source of the converted script.
+ * Timings are attached to the build thread while the script is converted, and to the {@link ConversionService}
+ * thread converting on its behalf, so the converter and parsers record phases without passing the timings around.
+ * Nothing is recorded for threads without attached timings, e.g. Snippetizer conversions.
+ */
+public class ConversionTimings {
+
+    private static final ThreadLocal<ConversionTimings> current = new ThreadLocal<>();
+
+    /**
+     * Phases of a build from reading the script to running it
+     */
+    public enum Phase {
+        /**
+         * Reading the yaml file from SCM, or checking out the branch
+         */
+        FETCH("SCM fetch"),
+        /**
+         * Loading the YAML document. Included in {@link #MODEL} by the streaming parser
+         */
+        LOAD("YAML load"),
+        /**
+         * Building the model from the YAML document
+         */
+        MODEL("model"),
+        /**
+         * Writing the Jenkins Declarative Pipeline script
+         */
+        EMIT("Groovy emit"),
+        /**
+         * Compiling the Jenkins Declarative Pipeline script when the execution is started
+         */
+        COMPILE("CPS compile");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Sources of the converted script
+     */
+    public enum Source {
+        CACHE("cache hit"),
+        POOL("intern pool hit"),
+        STORE("store hit"),
+        CONVERSION("cache miss"),
+        COALESCED("coalesced");
+
+        private final String displayName;
+
+        Source(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final long[] nanos = new long[Phase.values().length];
+    private final int yamlSize;
+    private int stageCount = -1;
+    private Source source;
+
+    /**
+     * @param yamlSize Number of characters of the Pipeline As YAML script
+     */
+    public ConversionTimings(int yamlSize) {
+        this.yamlSize = yamlSize;
+    }
+
+    /**
+     * Get timings attached to the current thread
+     * @return Conversion Timings, null if the thread has no timings
+     */
+    public static ConversionTimings current() {
+        return current.get();
+    }
+
+    /**
+     * Attach timings to the current thread
+     * @param timings Conversion Timings, null to detach
+     * @return Timings attached before, to be restored by the caller
+     */
+    public static ConversionTimings attach(ConversionTimings timings) {
+        ConversionTimings previous = current.get();
+        if (timings != null)
+            current.set(timings);
+        else
+            current.remove();
+        return previous;
+    }
+
+    /**
+     * Run task with the timings attached to the current thread
+     * @param timings Conversion Timings, may be null
+     * @param task Task
+     * @param <T> Type of the result
+     * @return Task result
+     */
+    public static <T> T call(ConversionTimings timings, Supplier<T> task) {
+        ConversionTimings previous = attach(timings);
+        try {
+            return task.get();
+        } finally {
+            attach(previous);
+        }
+    }
+
+    /**
+     * Add duration of a phase to the timings of the current thread
+     * @param phase Phase
+     * @param nanos Duration in nanoseconds
+     */
+    public static void record(Phase phase, long nanos) {
+        ConversionTimings timings = current.get();
+        if (timings != null)
+            timings.add(phase, nanos);
+    }
+
+    /**
+     * Record source of the converted script in the timings of the current thread
+     * @param source Source of the converted script
+     */
+    public static void record(Source source) {
+        ConversionTimings timings = current.get();
+        if (timings != null)
+            timings.setSource(source);
+    }
+
+    /**
+     * Add duration of a phase
+     * @param phase Phase
+     * @param nanos Duration in nanoseconds
+     */
+    public synchronized void add(Phase phase, long nanos) {
+        this.nanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * @param phase Phase
+     * @return Duration of the phase in nanoseconds
+     */
+    public synchronized long getNanos(Phase phase) {
+        return this.nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return Sum of the durations of all phases in nanoseconds
+     */
+    public synchronized long getTotalNanos() {
+        long total = 0;
+        for (long phaseNanos : this.nanos)
+            total += phaseNanos;
+        return total;
+    }
+
+    public int getYamlSize() {
+        return yamlSize;
+    }
+
+    /**
+     * @return Number of top level stages, -1 if the script is not parsed by the build, e.g. on cache hits
+     */
+    public synchronized int getStageCount() {
+        return stageCount;
+    }
+
+    public synchronized void setStageCount(int stageCount) {
+        this.stageCount = stageCount;
+    }
+
+    /**
+     * @return Source of the converted script, null if the conversion failed
+     */
+    public synchronized Source getSource() {
+        return source;
+    }
+
+    public synchronized void setSource(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Create the one line summary for the build log
+     * @return Summary
+     */
+    public synchronized String toSummary() {
+        StringBuilder stringBuilder = new StringBuilder("Pipeline As YAML timings: ")
+                .append(this.yamlSize).append(" chars");
+        if (this.stageCount >= 0)
+            stringBuilder.append(", ").append(this.stageCount).append(" stages");
+        if (this.source != null)
+            stringBuilder.append(", ").append(this.source.getDisplayName());
+        for (Phase phase : Phase.values())
+            stringBuilder.append("; ").append(phase.getDisplayName()).append(' ').append(millis(this.nanos[phase.ordinal()]));
+        return stringBuilder.append("; total ").append(millis(this.getTotalNanos())).toString();
+    }
+
+    @Override
+    public String toString() {
+        return this.toSummary();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1e6);
+    }
+}
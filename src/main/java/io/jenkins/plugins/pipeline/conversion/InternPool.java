@@ -0,0 +1,106 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe pool of weakly referenced conversion results, keyed by content hash.
+ * Results are kept only as long as something else references them, e.g. executions of running builds,
+ * so every holder of the same content shares a single instance instead of its own copy.
+ *
+ * @param <V> Type of the pooled value
+ */
+public class InternPool<V> {
+
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Get pooled value for given key
+     * @param key Content hash
+     * @return Pooled value or null if the key is not pooled or its value is collected
+     */
+    public V get(String key) {
+        this.expunge();
+        Entry<V> entry = this.entries.get(key);
+        V value = entry != null ? entry.get() : null;
+        if (value == null)
+            this.misses.incrementAndGet();
+        else
+            this.hits.incrementAndGet();
+        return value;
+    }
+
+    /**
+     * Get the pooled instance of a value. The value is pooled if there is no pooled instance of its key
+     * @param key Content hash
+     * @param value Value
+     * @return Pooled instance, which is the given value if it is pooled by this call
+     */
+    public V intern(String key, V value) {
+        this.expunge();
+        Entry<V> newEntry = new Entry<>(key, value, this.collected);
+        while (true) {
+            Entry<V> entry = this.entries.putIfAbsent(key, newEntry);
+            if (entry == null)
+                return value;
+            V pooled = entry.get();
+            if (pooled != null)
+                return pooled;
+            if (this.entries.replace(key, entry, newEntry))
+                return value;
+        }
+    }
+
+    /**
+     * Remove all values
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * @return Number of pooled values, including values collected since the last access
+     */
+    public int size() {
+        this.expunge();
+        return this.entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d, hits=%d, misses=%d", this.size(), this.hits.get(), this.misses.get());
+    }
+
+    /**
+     * Remove entries of collected values
+     */
+    @SuppressWarnings("unchecked")
+    private void expunge() {
+        Entry<V> entry;
+        while ((entry = (Entry<V>) this.collected.poll()) != null)
+            this.entries.remove(entry.key, entry);
+    }
+
+    private static class Entry<V> extends WeakReference<V> {
+
+        private final String key;
+
+        Entry(String key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
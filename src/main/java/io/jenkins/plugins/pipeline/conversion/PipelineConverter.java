@@ -0,0 +1,326 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import hudson.PluginWrapper;
+import hudson.Util;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
+import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StreamingPipelineParser;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import org.apache.commons.lang.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Converts Pipeline As YAML scripts to Jenkins Declarative Pipeline scripts for the build entry points.
+ * Conversion results are cached by content hash, so identical scripts are converted only once.
+ * Cache misses consult the {@link ConversionStore}, so conversions survive controller restarts.
+ * Concurrent conversions of the same script on the same lane are coalesced, callers wait for the single in-flight conversion.
+ * Callers retry if the caller of the in-flight conversion fails to submit it, e.g. when it is interrupted or rejected.
+ * Interactive conversions read the caches of builds but never write them, so they are kept in a small cache of their own.
+ * Converted scripts are interned in an {@link InternPool}, so builds of the same script share a single copy.
+ * Conversions run on the bounded pools of the {@link ConversionService}.
+ * Phases and the source of the converted script are recorded in the {@link ConversionTimings} of the calling thread.
+ */
+public class PipelineConverter {
+
+    private static final Logger LOGGER = Logger.getLogger(PipelineConverter.class.getName());
+
+    public static final int cacheSize = SystemProperties.getInteger(PipelineConverter.class.getName() + ".cacheSize", 512);
+    public static final boolean streamingParser = SystemProperties.getBoolean(PipelineConverter.class.getName() + ".streamingParser");
+    public static final int interactiveCacheSize = SystemProperties.getInteger(PipelineConverter.class.getName() + ".interactiveCacheSize", 16);
+    private static final ConversionCache<String> conversionCache = new ConversionCache<>(cacheSize);
+    private static final ConversionCache<String> interactiveCache = new ConversionCache<>(interactiveCacheSize);
+    private static final InternPool<String> scriptPool = new InternPool<>();
+    private static final ConcurrentHashMap<String, CompletableFuture<String>> inFlightConversions = new ConcurrentHashMap<>();
+    private static final AtomicLong conversions = new AtomicLong();
+    private static final AtomicLong coalescedConversions = new AtomicLong();
+    private static volatile String pluginVersion;
+
+    private PipelineConverter() {
+    }
+
+    /**
+     * Convert Pipeline As YAML script to pretty Jenkins Declarative Pipeline script on the build lane
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @return Jenkins Declarative Pipeline script
+     */
+    public static String convert(String yamlJenkinsFileContent) {
+        return convert(yamlJenkinsFileContent, ConversionService.Lane.BUILD);
+    }
+
+    /**
+     * Convert Pipeline As YAML script to pretty Jenkins Declarative Pipeline script.
+     * Cache misses are converted on the given lane of the {@link ConversionService}
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @param lane Lane of the conversion
+     * @return Jenkins Declarative Pipeline script
+     */
+    public static String convert(String yamlJenkinsFileContent, ConversionService.Lane lane) {
+        if (StringUtils.isBlank(yamlJenkinsFileContent)) {
+            throw new PipelineAsYamlRuntimeException("Jenkinsfile YAML cannot be blank");
+        }
+        // Oversized scripts are rejected before they are hashed or wait for the conversion service
+        YamlLimits.get().checkCodePoints(yamlJenkinsFileContent);
+        String contentHash = contentHash(yamlJenkinsFileContent);
+        // Conversions are coalesced within their lane, so builds and interactive requests never wait for each other
+        String conversionKey = lane.name() + "/" + contentHash;
+        boolean interactive = lane == ConversionService.Lane.INTERACTIVE;
+        while (true) {
+            String jenkinsFileContent = interactive ? getInteractiveCached(contentHash) : conversionCache.get(contentHash);
+            if (jenkinsFileContent != null) {
+                LOGGER.log(Level.FINE, "Conversion cache hit for {0} ({1})", new Object[]{conversionKey, conversionCache});
+                ConversionTimings.record(ConversionTimings.Source.CACHE);
+                return jenkinsFileContent;
+            }
+            CompletableFuture<String> conversion = new CompletableFuture<>();
+            CompletableFuture<String> inFlightConversion = inFlightConversions.putIfAbsent(conversionKey, conversion);
+            if (inFlightConversion != null) {
+                LOGGER.log(Level.FINE, "Waiting for in-flight conversion of {0}", conversionKey);
+                try {
+                    jenkinsFileContent = ConversionService.await(inFlightConversion);
+                } catch (SubmissionFailedException e) {
+                    LOGGER.log(Level.FINE, "In-flight conversion of {0} was not submitted, retrying", conversionKey);
+                    continue;
+                }
+                coalescedConversions.incrementAndGet();
+                ConversionTimings.record(ConversionTimings.Source.COALESCED);
+                return jenkinsFileContent;
+            }
+            ConversionTimings timings = ConversionTimings.current();
+            try {
+                // Conversion is completed by the conversion thread, so waiting callers are not failed if this caller is interrupted
+                ConversionService.get().submit(lane, () -> ConversionTimings.call(timings, () -> interactive ?
+                        convertInteractive(yamlJenkinsFileContent, contentHash) : convertOnce(yamlJenkinsFileContent, contentHash))).whenComplete((result, failure) -> {
+                    inFlightConversions.remove(conversionKey, conversion);
+                    if (failure != null)
+                        conversion.completeExceptionally(failure);
+                    else
+                        conversion.complete(result);
+                });
+            } catch (Throwable t) {
+                // Submission failures belong to this caller, e.g. interrupted while waiting for a slot, so waiting callers retry
+                inFlightConversions.remove(conversionKey, conversion);
+                conversion.completeExceptionally(new SubmissionFailedException(t));
+                throw t;
+            }
+            return ConversionService.await(conversion);
+        }
+    }
+
+    /**
+     * Convert Pipeline As YAML script as the single in-flight conversion of its content hash.
+     * The cache is checked again, since a previous conversion may be completed after the cache miss of the caller.
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @param contentHash Content hash of the script
+     * @return Jenkins Declarative Pipeline script
+     */
+    private static String convertOnce(String yamlJenkinsFileContent, String contentHash) {
+        String jenkinsFileContent = conversionCache.peek(contentHash);
+        if (jenkinsFileContent != null) {
+            ConversionTimings.record(ConversionTimings.Source.CACHE);
+            return jenkinsFileContent;
+        }
+        jenkinsFileContent = scriptPool.get(contentHash);
+        if (jenkinsFileContent != null) {
+            LOGGER.log(Level.FINE, "Intern pool hit for {0} ({1})", new Object[]{contentHash, scriptPool});
+            conversionCache.put(contentHash, jenkinsFileContent);
+            ConversionTimings.record(ConversionTimings.Source.POOL);
+            return jenkinsFileContent;
+        }
+        ConversionStore conversionStore = ConversionStore.get();
+        if (conversionStore != null) {
+            jenkinsFileContent = conversionStore.getScript(contentHash);
+            if (jenkinsFileContent != null) {
+                LOGGER.log(Level.FINE, "Conversion store hit for {0} ({1})", new Object[]{contentHash, conversionStore});
+                jenkinsFileContent = scriptPool.intern(contentHash, jenkinsFileContent);
+                conversionCache.put(contentHash, jenkinsFileContent);
+                ConversionTimings.record(ConversionTimings.Source.STORE);
+                return jenkinsFileContent;
+            }
+        }
+        jenkinsFileContent = scriptPool.intern(contentHash, convertWithoutCache(yamlJenkinsFileContent));
+        conversionCache.put(contentHash, jenkinsFileContent);
+        if (conversionStore != null)
+            conversionStore.putScript(contentHash, jenkinsFileContent);
+        ConversionTimings.record(ConversionTimings.Source.CONVERSION);
+        return jenkinsFileContent;
+    }
+
+    /**
+     * Convert Pipeline As YAML script of an interactive request. Converted scripts of builds are reused,
+     * but only the cache of interactive conversions is written, so interactive requests can not evict
+     * conversions of builds or fill the {@link ConversionStore}.
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @param contentHash Content hash of the script
+     * @return Jenkins Declarative Pipeline script
+     */
+    private static String convertInteractive(String yamlJenkinsFileContent, String contentHash) {
+        String jenkinsFileContent = getInteractiveCached(contentHash);
+        if (jenkinsFileContent != null)
+            return jenkinsFileContent;
+        jenkinsFileContent = scriptPool.get(contentHash);
+        if (jenkinsFileContent == null) {
+            ConversionStore conversionStore = ConversionStore.get();
+            if (conversionStore != null)
+                jenkinsFileContent = conversionStore.getScript(contentHash);
+        }
+        if (jenkinsFileContent == null)
+            jenkinsFileContent = convertWithoutCache(yamlJenkinsFileContent);
+        interactiveCache.put(contentHash, jenkinsFileContent);
+        return jenkinsFileContent;
+    }
+
+    /**
+     * Get converted script for an interactive request from the cache of builds or the cache of interactive requests.
+     * Hit counters of the cache of builds are not updated
+     * @param contentHash Content hash of the script
+     * @return Jenkins Declarative Pipeline script, null if it is not cached
+     */
+    private static String getInteractiveCached(String contentHash) {
+        String jenkinsFileContent = conversionCache.peek(contentHash);
+        return jenkinsFileContent != null ? jenkinsFileContent : interactiveCache.get(contentHash);
+    }
+
+    /**
+     * Convert Pipeline As YAML script within the {@link ConversionBudget} without consulting the cache
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @return Jenkins Declarative Pipeline script
+     */
+    static String convertWithoutCache(String yamlJenkinsFileContent) {
+        return ConversionBudget.run(() -> convertWithoutBudget(yamlJenkinsFileContent));
+    }
+
+    /**
+     * Parse and write the script. Loading of the document is recorded by the parser,
+     * the rest of the parsing is recorded as model building.
+     */
+    private static String convertWithoutBudget(String yamlJenkinsFileContent) {
+        conversions.incrementAndGet();
+        ConversionTimings timings = ConversionTimings.current();
+        long loadNanos = timings != null ? timings.getNanos(ConversionTimings.Phase.LOAD) : 0;
+        long start = System.nanoTime();
+        Optional<PipelineModel> pipelineModel = createParser(yamlJenkinsFileContent).parse();
+        if (!pipelineModel.isPresent()) {
+            throw new PipelineAsYamlRuntimeException("PipelineModel is not present");
+        }
+        long parsed = System.nanoTime();
+        String jenkinsFileContent = pipelineModel.get().toPrettyGroovy();
+        if (timings != null) {
+            timings.add(ConversionTimings.Phase.MODEL, parsed - start - (timings.getNanos(ConversionTimings.Phase.LOAD) - loadNanos));
+            timings.add(ConversionTimings.Phase.EMIT, System.nanoTime() - parsed);
+            timings.setStageCount(pipelineModel.get().getStages().map(stagesModel -> stagesModel.getStageModelList().size()).orElse(0));
+        }
+        return jenkinsFileContent;
+    }
+
+    /**
+     * Create parser for the given script. {@link StreamingPipelineParser} is used if it is enabled
+     * with the system property, {@link PipelineParser} otherwise.
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @return Parser
+     */
+    static ParserInterface<PipelineModel> createParser(String yamlJenkinsFileContent) {
+        if (streamingParser)
+            return new StreamingPipelineParser(yamlJenkinsFileContent);
+        return new PipelineParser(yamlJenkinsFileContent);
+    }
+
+    /**
+     * Calculate cache key of the given script. Plugin version and {@link YamlLimits} are part of the key,
+     * so cached conversions are not reused after a converter change, or once the limits reject the script.
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @return SHA-256 hash as hex string
+     */
+    public static String contentHash(String yamlJenkinsFileContent) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(getPluginVersion().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(YamlLimits.get().getFingerprint().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(yamlJenkinsFileContent.getBytes(StandardCharsets.UTF_8));
+            return Util.toHexString(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new PipelineAsYamlRuntimeException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Get version of the plugin
+     * @return Plugin version
+     */
+    public static String getPluginVersion() {
+        if (pluginVersion != null)
+            return pluginVersion;
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins != null) {
+            PluginWrapper pluginWrapper = jenkins.getPluginManager().whichPlugin(PipelineConverter.class);
+            if (pluginWrapper != null) {
+                pluginVersion = pluginWrapper.getVersion();
+                return pluginVersion;
+            }
+        }
+        String implementationVersion = PipelineConverter.class.getPackage().getImplementationVersion();
+        return implementationVersion != null ? implementationVersion : "development";
+    }
+
+    /**
+     * @return Number of scripts parsed and converted since startup
+     */
+    public static long getConversions() {
+        return conversions.get();
+    }
+
+    /**
+     * @return Number of callers which waited for an in-flight conversion instead of converting
+     */
+    public static long getCoalescedConversions() {
+        return coalescedConversions.get();
+    }
+
+    /**
+     * Thrown to callers waiting for an in-flight conversion which could not be submitted by its caller
+     */
+    private static class SubmissionFailedException extends PipelineAsYamlRuntimeException {
+
+        SubmissionFailedException(Throwable cause) {
+            super(cause.getLocalizedMessage(), cause);
+        }
+    }
+
+    /**
+     * Get cache of converted scripts
+     * @return Conversion Cache
+     */
+    public static ConversionCache<String> getConversionCache() {
+        return conversionCache;
+    }
+
+    /**
+     * Get cache of scripts converted for interactive requests
+     * @return Conversion Cache
+     */
+    public static ConversionCache<String> getInteractiveCache() {
+        return interactiveCache;
+    }
+
+    /**
+     * Get pool of converted scripts referenced by builds
+     * @return Intern Pool
+     */
+    public static InternPool<String> getScriptPool() {
+        return scriptPool;
+    }
+}
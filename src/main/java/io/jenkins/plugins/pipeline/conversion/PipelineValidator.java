@@ -0,0 +1,270 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import hudson.ExtensionList;
+import hudson.ExtensionListListener;
+import hudson.PluginWrapper;
+import hudson.Util;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Descriptor;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlBudgetException;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTElement;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
+import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ErrorCollector;
+import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
+import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidatorImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Validates Pipeline As YAML scripts against the Declarative Pipeline model.
+ * {@link ModelValidatorImpl} is not thread safe, so each thread keeps its own validator, and validation outcomes
+ * are cached by content hash. Both are dropped when the installed descriptors change, e.g. when a plugin providing
+ * steps is loaded, by moving to a new generation of validators.
+ * Outcomes are also kept in the {@link ConversionStore} together with a fingerprint of the installed plugins.
+ */
+public class PipelineValidator {
+
+    private static final Logger LOGGER = Logger.getLogger(PipelineValidator.class.getName());
+
+    public static final int cacheSize = SystemProperties.getInteger(PipelineValidator.class.getName() + ".cacheSize", 256);
+    private static final ConversionCache<ValidationResult> validationCache = new ConversionCache<>(cacheSize);
+    private static final ValidationErrorCollector errorCollector = new ValidationErrorCollector();
+    private static final AtomicLong generation = new AtomicLong();
+    private static final ThreadLocal<ThreadValidator> validators = new ThreadLocal<>();
+    private static volatile String pluginsFingerprint;
+
+    private PipelineValidator() {
+    }
+
+    /**
+     * Validate Pipeline As YAML script on the interactive lane of the {@link ConversionService}.
+     * Outcome is cached, so repeated validations of the same script are not converted again
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @return Validation Result
+     */
+    public static ValidationResult validate(String yamlJenkinsFileContent) {
+        if (StringUtils.isBlank(yamlJenkinsFileContent)) {
+            return ValidationResult.invalid("Jenkinsfile YAML cannot be blank", Collections.emptyList());
+        }
+        // Oversized scripts are rejected before they are hashed or wait for the conversion service
+        YamlLimits.get().checkCodePoints(yamlJenkinsFileContent);
+        String contentHash = PipelineConverter.contentHash(yamlJenkinsFileContent);
+        ValidationResult validationResult = validationCache.get(contentHash);
+        if (validationResult != null) {
+            LOGGER.log(Level.FINE, "Validation cache hit for {0} ({1})", new Object[]{contentHash, validationCache});
+            return validationResult;
+        }
+        ConversionStore conversionStore = ConversionStore.get();
+        if (conversionStore != null) {
+            validationResult = conversionStore.getValidationResult(contentHash, getPluginsFingerprint());
+            if (validationResult != null) {
+                LOGGER.log(Level.FINE, "Conversion store hit for validation of {0} ({1})", new Object[]{contentHash, conversionStore});
+                validationCache.put(contentHash, validationResult);
+                return validationResult;
+            }
+        }
+        validationResult = ConversionService.get().call(ConversionService.Lane.INTERACTIVE, () -> ConversionBudget.run(() -> parseAndValidate(yamlJenkinsFileContent)));
+        validationCache.put(contentHash, validationResult);
+        if (conversionStore != null)
+            conversionStore.putValidationResult(contentHash, getPluginsFingerprint(), validationResult);
+        return validationResult;
+    }
+
+    /**
+     * Parse and validate Pipeline As YAML script without consulting the caches.
+     * Exceeded budgets are thrown, so they are not cached as outcomes of the script
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @return Validation Result
+     */
+    private static ValidationResult parseAndValidate(String yamlJenkinsFileContent) {
+        try {
+            new PipelineParser(yamlJenkinsFileContent).parseAndValidate();
+            return ValidationResult.valid();
+        } catch (ValidationException v) {
+            return ValidationResult.invalid(v.getLocalizedMessage(), v.errors);
+        } catch (PipelineAsYamlBudgetException b) {
+            throw b;
+        } catch (RuntimeException r) {
+            String message = r.getLocalizedMessage();
+            return ValidationResult.invalid(message != null ? message : r.getClass().getName(), Collections.emptyList());
+        }
+    }
+
+    /**
+     * Get fingerprint of the installed plugins. Stored validation outcomes are reused only with the same plugins
+     * @return Digest of the names and versions of the installed plugins
+     */
+    static String getPluginsFingerprint() {
+        String fingerprint = pluginsFingerprint;
+        if (fingerprint == null) {
+            List<String> plugins = new ArrayList<>();
+            Jenkins jenkins = Jenkins.getInstanceOrNull();
+            if (jenkins != null) {
+                for (PluginWrapper pluginWrapper : jenkins.getPluginManager().getPlugins()) {
+                    if (pluginWrapper.isActive())
+                        plugins.add(pluginWrapper.getShortName() + ":" + pluginWrapper.getVersion());
+                }
+            }
+            Collections.sort(plugins);
+            fingerprint = Util.getDigestOf(String.join(",", plugins));
+            pluginsFingerprint = fingerprint;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Validate Pipeline Model with the validator of the current thread
+     * @param pipelineModel Pipeline Model
+     * @return Validated {@link ModelASTPipelineDef}
+     * @throws PipelineAsYamlRuntimeException if the model is not valid
+     */
+    public static ModelASTPipelineDef validate(PipelineModel pipelineModel) {
+        ModelASTPipelineDef modelASTPipelineDef = pipelineModel.toPipelineDef();
+        List<String> errors = errorCollector.start();
+        try {
+            modelASTPipelineDef.validate(getValidator());
+        } finally {
+            errorCollector.finish();
+        }
+        if (!errors.isEmpty())
+            throw new ValidationException(errors);
+        return modelASTPipelineDef;
+    }
+
+    /**
+     * Get the validator of the current thread. It is created on first use in each generation
+     * @return Validator
+     */
+    static ModelValidator getValidator() {
+        long currentGeneration = generation.get();
+        ThreadValidator threadValidator = validators.get();
+        if (threadValidator == null || threadValidator.generation != currentGeneration) {
+            threadValidator = new ThreadValidator(new ModelValidatorImpl(errorCollector), currentGeneration);
+            validators.set(threadValidator);
+        }
+        return threadValidator.validator;
+    }
+
+    /**
+     * Drop the validators of all threads and the cached validation outcomes
+     */
+    public static void invalidate() {
+        generation.incrementAndGet();
+        pluginsFingerprint = null;
+        validationCache.clear();
+        LOGGER.log(Level.FINE, "Validator invalidated");
+    }
+
+    /**
+     * Get cache of validation outcomes
+     * @return Validation Cache
+     */
+    public static ConversionCache<ValidationResult> getValidationCache() {
+        return validationCache;
+    }
+
+    /**
+     * Invalidate the validator whenever the installed descriptors change
+     */
+    @Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+    public static void listenDescriptorChanges() {
+        ExtensionList.lookup(Descriptor.class).addListener(new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                invalidate();
+            }
+        });
+    }
+
+    /**
+     * Validator of a thread and the generation it is created in
+     */
+    private static class ThreadValidator {
+
+        private final ModelValidator validator;
+        private final long generation;
+
+        ThreadValidator(ModelValidator validator, long generation) {
+            this.validator = validator;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Thrown when validation of a model reports errors
+     */
+    static class ValidationException extends PipelineAsYamlRuntimeException {
+
+        private final List<String> errors;
+
+        ValidationException(List<String> errors) {
+            super(String.format("Pipeline validation failed: %s", String.join(", ", errors)));
+            this.errors = errors;
+        }
+    }
+
+    /**
+     * Error collector shared by the validators of all threads. Errors are collected into the list of the validating thread,
+     * so concurrent validations do not see each other's errors.
+     */
+    private static class ValidationErrorCollector extends ErrorCollector {
+
+        private final ThreadLocal<List<String>> errors = new ThreadLocal<>();
+
+        List<String> start() {
+            List<String> threadErrors = new ArrayList<>();
+            this.errors.set(threadErrors);
+            return threadErrors;
+        }
+
+        void finish() {
+            this.errors.remove();
+        }
+
+        private List<String> threadErrors() {
+            List<String> threadErrors = this.errors.get();
+            return threadErrors != null ? threadErrors : new ArrayList<>();
+        }
+
+        @Override
+        public void error(ModelASTElement src, String message) {
+            this.threadErrors().add(message);
+        }
+
+        @Override
+        public int getErrorCount() {
+            return this.threadErrors().size();
+        }
+
+        @Override
+        public List<String> errorsAsStrings() {
+            return new ArrayList<>(this.threadErrors());
+        }
+
+        @Override
+        public JSONArray asJson() {
+            JSONArray jsonArray = new JSONArray();
+            for (String error : this.threadErrors()) {
+                JSONObject jsonObject = new JSONObject();
+                jsonObject.accumulate("error", error);
+                jsonArray.add(jsonObject);
+            }
+            return jsonArray;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.jenkins.plugins.pipeline.conversion;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of validating a Pipeline As YAML script
+ */
+public class ValidationResult {
+
+    private static final ValidationResult valid = new ValidationResult(true, "Valid", Collections.emptyList());
+
+    private final boolean isValid;
+    private final String message;
+    private final List<String> errors;
+
+    private ValidationResult(boolean isValid, String message, List<String> errors) {
+        this.isValid = isValid;
+        this.message = message;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return Result of a valid script
+     */
+    public static ValidationResult valid() {
+        return valid;
+    }
+
+    /**
+     * @param message Message of the validation failure
+     * @param errors Validation errors reported for the script
+     * @return Result of an invalid script
+     */
+    public static ValidationResult invalid(String message, List<String> errors) {
+        return new ValidationResult(false, message, errors);
+    }
+
+    public boolean isValid() {
+        return isValid;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return this.isValid ? this.message : String.format("%s %s", this.message, this.errors);
+    }
+}
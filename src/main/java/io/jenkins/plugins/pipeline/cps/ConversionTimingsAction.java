@@ -0,0 +1,124 @@
+package io.jenkins.plugins.pipeline.cps;
+
+import hudson.Extension;
+import hudson.model.InvisibleAction;
+import hudson.model.Queue;
+import hudson.model.Run;
+import io.jenkins.plugins.pipeline.conversion.ConversionTimings;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.flow.FlowExecutionListener;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Build action with the {@link ConversionTimings} of the build. Action is saved with the build
+ * and exported to the remote API, so slow conversions can be found across jobs, e.g. with
+ * {@code api/json?tree=actions[yamlSize,stageCount,source,totalNanos]}.
+ * Compilation is timed from the creation of the execution until it is running, since the script is compiled when
+ * the execution is started.
+ */
+@ExportedBean
+public class ConversionTimingsAction extends InvisibleAction {
+
+    private static final Logger LOGGER = Logger.getLogger(ConversionTimingsAction.class.getName());
+
+    private final ConversionTimings timings;
+    private transient long compileStart;
+
+    /**
+     * @param timings Timings of the conversion, compilation is timed from now on
+     */
+    public ConversionTimingsAction(ConversionTimings timings) {
+        this.timings = timings;
+        this.compileStart = System.nanoTime();
+    }
+
+    /**
+     * Record the end of the compilation
+     * @return True if the compilation is recorded, false if it is already recorded or the build is resumed
+     */
+    synchronized boolean compiled() {
+        if (this.compileStart == 0)
+            return false;
+        this.timings.add(ConversionTimings.Phase.COMPILE, System.nanoTime() - this.compileStart);
+        this.compileStart = 0;
+        return true;
+    }
+
+    public ConversionTimings getTimings() {
+        return timings;
+    }
+
+    @Exported
+    public int getYamlSize() {
+        return this.timings.getYamlSize();
+    }
+
+    @Exported
+    public int getStageCount() {
+        return this.timings.getStageCount();
+    }
+
+    @Exported
+    public String getSource() {
+        ConversionTimings.Source source = this.timings.getSource();
+        return source != null ? source.name() : null;
+    }
+
+    @Exported
+    public long getFetchNanos() {
+        return this.timings.getNanos(ConversionTimings.Phase.FETCH);
+    }
+
+    @Exported
+    public long getLoadNanos() {
+        return this.timings.getNanos(ConversionTimings.Phase.LOAD);
+    }
+
+    @Exported
+    public long getModelNanos() {
+        return this.timings.getNanos(ConversionTimings.Phase.MODEL);
+    }
+
+    @Exported
+    public long getEmitNanos() {
+        return this.timings.getNanos(ConversionTimings.Phase.EMIT);
+    }
+
+    @Exported
+    public long getCompileNanos() {
+        return this.timings.getNanos(ConversionTimings.Phase.COMPILE);
+    }
+
+    @Exported
+    public long getTotalNanos() {
+        return this.timings.getTotalNanos();
+    }
+
+    /**
+     * Records compilation of the converted script and writes the summary of the timings to the build log
+     */
+    @Extension
+    public static class CompilationListener extends FlowExecutionListener {
+
+        @Override
+        public void onRunning(@Nonnull FlowExecution execution) {
+            try {
+                Queue.Executable executable = execution.getOwner().getExecutable();
+                if (!(executable instanceof Run))
+                    return;
+                ConversionTimingsAction conversionTimingsAction = ((Run<?, ?>) executable).getAction(ConversionTimingsAction.class);
+                if (conversionTimingsAction == null || !conversionTimingsAction.compiled())
+                    return;
+                execution.getOwner().getListener().getLogger().println(conversionTimingsAction.getTimings().toSummary());
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Conversion timings can not be written to the build log", e);
+            }
+        }
+    }
+}
@@ -1,18 +1,22 @@
 package io.jenkins.plugins.pipeline.cps;
 
+import hudson.AbortException;
 import hudson.model.Action;
+import hudson.model.Queue;
+import hudson.model.Run;
 import hudson.model.TaskListener;
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
-import io.jenkins.plugins.pipeline.models.PipelineModel;
-import io.jenkins.plugins.pipeline.parsers.PipelineParser;
-import org.apache.commons.lang.StringUtils;
+import io.jenkins.plugins.pipeline.conversion.ConversionTimings;
+import io.jenkins.plugins.pipeline.conversion.PipelineConverter;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlBudgetException;
+import io.jenkins.plugins.pipeline.scm.YamlFileCache;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowFactoryAction2;
 import org.jenkinsci.plugins.workflow.flow.FlowExecutionOwner;
 
+import javax.annotation.CheckForNull;
 import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Extended CpsFlowDefinition for Pipeline As Yaml from Script Editor
@@ -30,17 +34,102 @@ public class PipelineCpsFlowDefinition extends CpsFlowDefinition {
 
     @Override
     public CpsFlowExecution create(FlowExecutionOwner owner, TaskListener listener, List<? extends Action> actions) throws IOException {
-        CpsFlowExecution cpsFlowExecution =  super.create(owner, listener, actions);
-        String yamlJenkinsFileContent = cpsFlowExecution.getScript();
-        if( StringUtils.isBlank(yamlJenkinsFileContent) ) {
-            throw new PipelineAsYamlRuntimeException("Jenkinsfile YAML cannot be blank");
+        if (isReplay(actions))
+            return super.create(owner, listener, actions);
+        return createExecution(this.getScript(), this.isSandbox(), owner, listener, actions);
+    }
+
+    /**
+     * Convert Pipeline As YAML script and create the single execution of the build from the converted script
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @param sandbox Sandbox flag
+     * @param owner Owner of the execution
+     * @param listener Listener of the build
+     * @param actions Actions of the build
+     * @return Execution running Jenkins Declarative Pipeline script
+     * @throws IOException if execution can not be created
+     */
+    public static CpsFlowExecution createExecution(String yamlJenkinsFileContent, boolean sandbox, FlowExecutionOwner owner, TaskListener listener, List<? extends Action> actions) throws IOException {
+        return createExecution(yamlJenkinsFileContent, sandbox, owner, listener, actions, 0);
+    }
+
+    /**
+     * Convert Pipeline As YAML script and create the single execution of the build from the converted script.
+     * Timings of the conversion are attached to the build with {@link ConversionTimingsAction}
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @param sandbox Sandbox flag
+     * @param owner Owner of the execution
+     * @param listener Listener of the build
+     * @param actions Actions of the build
+     * @param fetchNanos Duration of reading the script from SCM in nanoseconds
+     * @return Execution running Jenkins Declarative Pipeline script
+     * @throws IOException if execution can not be created
+     */
+    public static CpsFlowExecution createExecution(String yamlJenkinsFileContent, boolean sandbox, FlowExecutionOwner owner, TaskListener listener, List<? extends Action> actions, long fetchNanos) throws IOException {
+        return createExecution(yamlJenkinsFileContent, null, sandbox, owner, listener, actions, fetchNanos);
+    }
+
+    /**
+     * Convert Pipeline As YAML script read from SCM and create the single execution of the build from the converted script.
+     * Converted script is served from the {@link YamlFileCache} if the file is already converted at its revision.
+     * Timings of the conversion are attached to the build with {@link ConversionTimingsAction}
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @param cacheKey Key of the file in {@link YamlFileCache}, null if the file is not cached
+     * @param sandbox Sandbox flag
+     * @param owner Owner of the execution
+     * @param listener Listener of the build
+     * @param actions Actions of the build
+     * @param fetchNanos Duration of reading the script from SCM in nanoseconds
+     * @return Execution running Jenkins Declarative Pipeline script
+     * @throws IOException if execution can not be created
+     */
+    public static CpsFlowExecution createExecution(String yamlJenkinsFileContent, @CheckForNull String cacheKey, boolean sandbox, FlowExecutionOwner owner, TaskListener listener, List<? extends Action> actions, long fetchNanos) throws IOException {
+        ConversionTimings timings = new ConversionTimings(yamlJenkinsFileContent.length());
+        timings.add(ConversionTimings.Phase.FETCH, fetchNanos);
+        String jenkinsFileContent = YamlFileCache.getScript(cacheKey);
+        if (jenkinsFileContent != null) {
+            timings.setSource(ConversionTimings.Source.CACHE);
+        } else {
+            ConversionTimings previous = ConversionTimings.attach(timings);
+            try {
+                jenkinsFileContent = convert(yamlJenkinsFileContent);
+            } finally {
+                ConversionTimings.attach(previous);
+            }
+            YamlFileCache.putScript(cacheKey, jenkinsFileContent);
+        }
+        CpsFlowExecution cpsFlowExecution = new CpsFlowDefinition(jenkinsFileContent, sandbox).create(owner, listener, actions);
+        Queue.Executable executable = owner.getExecutable();
+        if (executable instanceof Run)
+            ((Run<?, ?>) executable).addOrReplaceAction(new ConversionTimingsAction(timings));
+        return cpsFlowExecution;
+    }
+
+    /**
+     * Convert Pipeline As YAML script of a build. Exceeded conversion budgets abort the build with their message
+     * @param yamlJenkinsFileContent Pipeline As YAML script
+     * @return Jenkins Declarative Pipeline script
+     * @throws AbortException if the script exceeds the conversion budget
+     */
+    public static String convert(String yamlJenkinsFileContent) throws AbortException {
+        try {
+            return PipelineConverter.convert(yamlJenkinsFileContent);
+        } catch (PipelineAsYamlBudgetException e) {
+            throw new AbortException(e.getLocalizedMessage());
         }
-        PipelineParser pipelineParser = new PipelineParser(yamlJenkinsFileContent);
-        Optional<PipelineModel> pipelineModel = pipelineParser.parse();
-        if(!pipelineModel.isPresent()) {
-            throw new PipelineAsYamlRuntimeException("PipelineModel is not present");
+    }
+
+    /**
+     * Check whether the build is a replay. Replayed scripts are already Jenkins Declarative Pipeline scripts,
+     * so they are executed without conversion.
+     * @param actions Actions of the build
+     * @return True if build is a replay
+     */
+    public static boolean isReplay(List<? extends Action> actions) {
+        for (Action action : actions) {
+            if (action instanceof CpsFlowFactoryAction2)
+                return true;
         }
-        String jenkinsFileContent = pipelineModel.get().toPrettyGroovy();
-        return new CpsFlowDefinition(jenkinsFileContent,cpsFlowExecution.isSandbox()).create(owner,listener, actions);
+        return false;
     }
 }
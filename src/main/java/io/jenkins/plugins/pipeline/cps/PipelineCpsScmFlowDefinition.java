@@ -1,19 +1,30 @@
 package io.jenkins.plugins.pipeline.cps;
 
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.Functions;
 import hudson.model.Action;
+import hudson.model.Computer;
+import hudson.model.Queue;
+import hudson.model.Run;
 import hudson.model.TaskListener;
+import hudson.model.TopLevelItem;
 import hudson.scm.SCM;
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
-import io.jenkins.plugins.pipeline.models.PipelineModel;
-import io.jenkins.plugins.pipeline.parsers.PipelineParser;
-import org.apache.commons.lang.StringUtils;
-import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import hudson.slaves.WorkspaceList;
+import io.jenkins.plugins.pipeline.scm.YamlFileCache;
+import jenkins.model.Jenkins;
+import jenkins.scm.api.SCMFileSystem;
+import jenkins.scm.api.SCMRevision;
+import jenkins.util.SystemProperties;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
 import org.jenkinsci.plugins.workflow.cps.CpsScmFlowDefinition;
 import org.jenkinsci.plugins.workflow.flow.FlowExecutionOwner;
+import org.jenkinsci.plugins.workflow.steps.scm.GenericSCMStep;
+import org.jenkinsci.plugins.workflow.steps.scm.SCMStep;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Extended CpsFlowDefinition for Pipeline As Yaml from SCM in Pipeline Job
@@ -40,19 +51,102 @@ public class PipelineCpsScmFlowDefinition extends CpsScmFlowDefinition {
         super(scm, scriptPath);
     }
 
+    /**
+     * Create the single execution of the build.
+     * With lightweight checkout, the yaml file is read from {@link SCMFileSystem}. The file and its converted script
+     * are cached by the revision of the file system, so builds of an already read revision neither read nor convert the file again.
+     * Otherwise the SCM is checked out into the script workspace, as {@link CpsScmFlowDefinition} does, and the yaml file is read from it.
+     * Reading the yaml file, or the checkout, is timed as the SCM fetch of the build.
+     */
     @Override
     public CpsFlowExecution create(FlowExecutionOwner owner, TaskListener listener, List<? extends Action> actions) throws Exception {
-        CpsFlowExecution cpsFlowExecution =  super.create(owner, listener, actions);
-        String yamlJenkinsFileContent = cpsFlowExecution.getScript();
-        if( StringUtils.isBlank(yamlJenkinsFileContent) ) {
-            throw new PipelineAsYamlRuntimeException("Jenkinsfile YAML cannot be blank");
+        if (PipelineCpsFlowDefinition.isReplay(actions))
+            return super.create(owner, listener, actions);
+        long start = System.nanoTime();
+        Queue.Executable executable = owner.getExecutable();
+        if (!(executable instanceof Run)) {
+            throw new IOException("Can only check out SCM into a Run");
+        }
+        Run<?, ?> run = (Run<?, ?>) executable;
+        String expandedScriptPath = run.getEnvironment(listener).expand(this.getScriptPath());
+        if (this.isLightweight()) {
+            try (SCMFileSystem fileSystem = SCMFileSystem.of(run.getParent(), this.getScm())) {
+                if (fileSystem != null) {
+                    SCMRevision revision = fileSystem.getRevision();
+                    String cacheKey = YamlFileCache.key(this.getScm(), revision, expandedScriptPath);
+                    String yamlJenkinsFileContent = YamlFileCache.get(cacheKey);
+                    if (yamlJenkinsFileContent != null) {
+                        listener.getLogger().println("Obtained " + expandedScriptPath + " from cache of " + revision);
+                    } else {
+                        yamlJenkinsFileContent = fileSystem.child(expandedScriptPath).contentAsString();
+                        listener.getLogger().println("Obtained " + expandedScriptPath + " from " + this.getScm().getKey());
+                        YamlFileCache.put(cacheKey, yamlJenkinsFileContent);
+                    }
+                    return PipelineCpsFlowDefinition.createExecution(yamlJenkinsFileContent, cacheKey, true, owner, listener, actions, System.nanoTime() - start);
+                }
+                listener.getLogger().println("Lightweight checkout support not available, falling back to full checkout.");
+            }
+        }
+        String yamlJenkinsFileContent = this.checkout(run, expandedScriptPath, listener);
+        return PipelineCpsFlowDefinition.createExecution(yamlJenkinsFileContent, true, owner, listener, actions, System.nanoTime() - start);
+    }
+
+    /**
+     * Check out the SCM into the script workspace of the job on the controller and read the yaml file,
+     * with the checkout retries of {@link CpsScmFlowDefinition}
+     * @param run Build
+     * @param expandedScriptPath Path of the yaml file with the build variables expanded
+     * @param listener Listener of the build
+     * @return Content of the yaml file
+     */
+    private String checkout(Run<?, ?> run, String expandedScriptPath, TaskListener listener) throws Exception {
+        Jenkins jenkins = Jenkins.get();
+        FilePath dir;
+        if (run.getParent() instanceof TopLevelItem) {
+            FilePath baseWorkspace = jenkins.getWorkspaceFor((TopLevelItem) run.getParent());
+            if (baseWorkspace == null) {
+                throw new IOException(jenkins.getDisplayName() + " may be offline");
+            }
+            dir = baseWorkspace.withSuffix(SystemProperties.getString(WorkspaceList.class.getName(), "@") + "script");
+        } else {
+            dir = new FilePath(run.getRootDir());
+        }
+        Computer computer = jenkins.toComputer();
+        if (computer == null) {
+            throw new IOException(jenkins.getDisplayName() + " may be offline");
         }
-        PipelineParser pipelineParser = new PipelineParser(yamlJenkinsFileContent);
-        Optional<PipelineModel> pipelineModel = pipelineParser.parse();
-        if(!pipelineModel.isPresent()) {
-            throw new PipelineAsYamlRuntimeException("PipelineModel is not present");
+        listener.getLogger().println("Checking out " + this.getScm().getKey() + " into " + dir + " to read " + expandedScriptPath);
+        SCMStep scmStep = new GenericSCMStep(this.getScm());
+        scmStep.setPoll(true);
+        scmStep.setChangelog(true);
+        try (WorkspaceList.Lease lease = computer.getWorkspaceList().acquire(dir)) {
+            for (int retryCount = jenkins.getScmCheckoutRetryCount(); retryCount >= 0; retryCount--) {
+                try {
+                    scmStep.checkout(run, lease.path, listener, jenkins.createLauncher(listener));
+                    break;
+                } catch (AbortException e) {
+                    if (e.getMessage() != null) {
+                        listener.error(e.getMessage());
+                    }
+                } catch (InterruptedIOException e) {
+                    throw e;
+                } catch (IOException e) {
+                    Functions.printStackTrace(e, listener.error("Checkout failed"));
+                }
+                if (retryCount == 0) {
+                    throw new AbortException("Maximum checkout retry attempts reached, aborting");
+                }
+                listener.getLogger().println("Retrying after 10 seconds");
+                Thread.sleep(10000);
+            }
+            FilePath scriptFile = lease.path.child(expandedScriptPath);
+            if (!scriptFile.absolutize().getRemote().replace('\\', '/').startsWith(lease.path.absolutize().getRemote().replace('\\', '/') + '/')) {
+                throw new IOException(scriptFile + " is not inside " + lease.path);
+            }
+            if (!scriptFile.exists()) {
+                throw new AbortException(scriptFile + " not found");
+            }
+            return scriptFile.readToString();
         }
-        String jenkinsFileContent = pipelineModel.get().toPrettyGroovy();
-        return new CpsFlowDefinition(jenkinsFileContent,cpsFlowExecution.isSandbox()).create(owner,listener, actions);
     }
 }
@@ -0,0 +1,13 @@
+package io.jenkins.plugins.pipeline.exceptions;
+
+/**
+ * Exception class for conversions exceeding their time or size budget
+ *
+ * @see PipelineAsYamlRuntimeException
+ */
+public class PipelineAsYamlBudgetException extends PipelineAsYamlRuntimeException {
+
+    public PipelineAsYamlBudgetException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package io.jenkins.plugins.pipeline.exceptions;
+
+/**
+ * Exception class for conversions rejected because the conversion service is busy
+ *
+ * @see PipelineAsYamlRuntimeException
+ */
+public class PipelineAsYamlRejectedException extends PipelineAsYamlRuntimeException {
+
+    public PipelineAsYamlRejectedException(String message) {
+        super(message);
+    }
+}
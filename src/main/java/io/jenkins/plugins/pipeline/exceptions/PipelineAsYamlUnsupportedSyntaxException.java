@@ -0,0 +1,12 @@
+package io.jenkins.plugins.pipeline.exceptions;
+
+/**
+ * Exception class for Groovy snippets of the models which can not be read without the Groovy parser
+ *
+ * @see PipelineAsYamlException
+ */
+public class PipelineAsYamlUnsupportedSyntaxException extends PipelineAsYamlException {
+    public PipelineAsYamlUnsupportedSyntaxException(String message, CharSequence snippet) {
+        super(String.format("%s: %s", message, snippet));
+    }
+}
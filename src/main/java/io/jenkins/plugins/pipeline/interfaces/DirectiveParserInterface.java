@@ -0,0 +1,24 @@
+package io.jenkins.plugins.pipeline.interfaces;
+
+import io.jenkins.plugins.pipeline.parsers.ParserContext;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Interface for stateless Parser classes of the directives.
+ * Implementations keep no state between calls, so a single instance can be shared by concurrent conversions.
+ *
+ * @param <T> Generic Type
+ */
+public interface DirectiveParserInterface<T> {
+
+    /**
+     * Parse Yaml to Model
+     *
+     * @param parentNode Parent Node which contains model definition as yaml
+     * @param context Context of the conversion
+     * @return Optional of Generic Type
+     */
+    Optional<T> parse(LinkedHashMap parentNode, ParserContext context);
+}
@@ -1,5 +1,7 @@
 package io.jenkins.plugins.pipeline.interfaces;
 
+import io.jenkins.plugins.pipeline.models.GroovyEmitter;
+
 /**
  * Interface for Model Classes
  */
@@ -10,6 +12,17 @@ public interface ParsableModelInterface {
      *
      * @return Jenkins Declarative Pipeline Syntax
      */
-    String toGroovy();
+    default String toGroovy() {
+        GroovyEmitter groovyEmitter = GroovyEmitter.raw();
+        groovyEmitter.emit(this);
+        return groovyEmitter.toString();
+    }
+
+    /**
+     * Write model as Jenkins Declarative Pipeline Syntax into the emitter
+     *
+     * @param groovyEmitter Emitter to write into
+     */
+    void emit(GroovyEmitter groovyEmitter);
 
 }
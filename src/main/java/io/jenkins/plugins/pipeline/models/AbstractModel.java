@@ -1,66 +1,134 @@
 package io.jenkins.plugins.pipeline.models;
 
 import lombok.Getter;
-import lombok.Setter;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 /**
- * Abstract Model class which is extended by Model classes
+ * Abstract Model class which is extended by Model classes.
+ * Groovy syntax is shared by all models as constants, so models only hold their own directives
  */
-@Getter
-@Setter
 public abstract class AbstractModel {
 
-    private String directiveOpen = " {\n";
-    private String directiveClose = "\n}\n";
-    private String parameterOpen = " '";
-    private String parameterClose = "'\n";
-    private String variableOpen = " = '";
-    private String variableClose = "'\n";
-    private String stringOpen = " \"";
-    private String stringClose = "\"\n";
-    private String stageOpen = "stage('";
-    private String stageClose = "')";
-    private String getBracketsOpen = "(";
-    private String getBracketsClose = ")";
-    private String libraryOpen = "@Library(";
-    private String libraryClose = ") _\n";
-    private String environmentVariableOpen = " = ";
-    private String environmentVariableClose = "\n";
-    private String singleQuote = "'";
-    private String doubleQuote = "\"";
-    private String variableDoubleQuoteOpen = " = '";
-    private String variableDoubleQuoteClose = "'\n";
-    private String credentialsFunctionName = "credentials";
+    @Getter
+    private static final String directiveOpen = " {\n";
+    @Getter
+    private static final String directiveClose = "\n}\n";
+    @Getter
+    private static final String parameterOpen = " '";
+    @Getter
+    private static final String parameterClose = "'\n";
+    @Getter
+    private static final String variableOpen = " = '";
+    @Getter
+    private static final String variableClose = "'\n";
+    @Getter
+    private static final String stringOpen = " \"";
+    @Getter
+    private static final String stringClose = "\"\n";
+    @Getter
+    private static final String stageOpen = "stage('";
+    @Getter
+    private static final String stageClose = "')";
+    @Getter
+    private static final String getBracketsOpen = "(";
+    @Getter
+    private static final String getBracketsClose = ")";
+    @Getter
+    private static final String libraryOpen = "@Library(";
+    @Getter
+    private static final String libraryClose = ") _\n";
+    @Getter
+    private static final String environmentVariableOpen = " = ";
+    @Getter
+    private static final String environmentVariableClose = "\n";
+    @Getter
+    private static final String singleQuote = "'";
+    @Getter
+    private static final String doubleQuote = "\"";
+    @Getter
+    private static final String variableDoubleQuoteOpen = " = '";
+    @Getter
+    private static final String variableDoubleQuoteClose = "'\n";
+    @Getter
+    private static final String credentialsFunctionName = "credentials";
+    /**
+     * Strings up to this length are interned, since keys, names and labels repeat across stages and pipelines
+     */
+    private static final int internLength = 64;
+
+    /**
+     * Intern short strings, so repeated keys, names and labels of the models share a single instance
+     * @param value String
+     * @return Interned string, or the string itself if it is null or long
+     */
+    protected static String intern(String value) {
+        return value != null && value.length() <= internLength ? value.intern() : value;
+    }
 
     /**
-     * Convert {@link Optional} object to Groovy Script with given Option Key
+     * Write {@link Optional} object as Groovy Script with given Option Key
+     * @param groovyEmitter Emitter to write into
      * @param option Option
      * @param optionKey Option Key
-     * @return Groovy Script
      */
-    protected String optionalStringToGroovy(Optional<String> option, String optionKey) {
-        return option.map(s -> new StringBuffer()
-                .append(optionKey)
-                .append(getStringOpen())
-                .append(s)
-                .append(getStringClose())
-                .toString()).orElse("");
+    protected void emitOptionalString(GroovyEmitter groovyEmitter, Optional<String> option, String optionKey) {
+        if (option.isPresent()) {
+            groovyEmitter.append(optionKey)
+                    .append(getStringOpen())
+                    .append(option.get())
+                    .append(getStringClose());
+        }
     }
 
     /**
-     * Convert {@link Optional} object to Groovy Syntax with given Option Key
+     * Write {@link Optional} object as Groovy Syntax with given Option Key
+     * @param groovyEmitter Emitter to write into
      * @param option Option
      * @param optionKey Option Key
-     * @return Groovy Script
      */
-    protected String optionalBooleanToGroovy(Optional<Boolean> option, String optionKey) {
-        return option.map(aBoolean -> new StringBuffer()
-                .append(optionKey)
-                .append(" ")
-                .append(aBoolean)
-                .toString()).orElse("");
+    protected void emitOptionalBoolean(GroovyEmitter groovyEmitter, Optional<Boolean> option, String optionKey) {
+        this.emitOptionalBoolean(groovyEmitter, option.orElse(null), optionKey);
+    }
+
+    /**
+     * Write Boolean option as Groovy Syntax with given Option Key
+     * @param groovyEmitter Emitter to write into
+     * @param option Option, null if it is absent
+     * @param optionKey Option Key
+     */
+    protected void emitOptionalBoolean(GroovyEmitter groovyEmitter, Boolean option, String optionKey) {
+        if (option != null) {
+            groovyEmitter.append(optionKey)
+                    .append(" ")
+                    .append(String.valueOf(option));
+        }
+    }
+
+    /**
+     * Write multi line block scalar as it is, without splitting it into lines.
+     * Trailing line breaks are written as a single one, so the output is the same as writing every line of the block
+     * @param groovyEmitter Emitter to write into
+     * @param block Multi line block
+     */
+    protected static void emitBlock(GroovyEmitter groovyEmitter, CharSequence block) {
+        int end = block.length();
+        while (end > 0 && block.charAt(end - 1) == '\n')
+            end--;
+        if (end == 0 && block.length() > 0)
+            return;
+        groovyEmitter.append(block, 0, end).append('\n');
+    }
+
+    /**
+     * Split multi line block scalar into lines
+     * @param block Multi line block
+     * @return Lines of the block
+     */
+    protected static List<String> lines(CharSequence block) {
+        return Arrays.asList(block.toString().split("\n"));
     }
 
 }
@@ -12,15 +12,15 @@ import java.util.List;
 public class AgentModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "agent";
-    private String agentType;
-    private List<KeyValueModel> agentParameter;
+    private final String agentType;
+    private final List<KeyValueModel> agentParameter;
 
     /**
      * @param agentType      Agent Type
      * @param agentParameter Parameter list for the agent type
      */
     public AgentModel(String agentType, List<KeyValueModel> agentParameter) {
-        this.agentType = this.convertAgentType(agentType);
+        this.agentType = intern(this.convertAgentType(agentType));
         this.agentParameter = agentParameter;
     }
 
@@ -37,23 +37,22 @@ public class AgentModel extends AbstractModel implements ParsableModelInterface
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer()
-                .append(directive);
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive);
         if (!this.agentType.equals("none") && !this.agentType.equals("any"))
-            groovyString.append(this.getDirectiveOpen());
+            groovyEmitter.append(getDirectiveOpen());
         else
-            groovyString.append(" ");
-        groovyString.append(this.agentType);
+            groovyEmitter.append(" ");
+        groovyEmitter.append(this.agentType);
         if (this.agentParameter.size() > 0) {
-            groovyString.append(this.getDirectiveOpen());
-            this.agentParameter.forEach(keyValueModel -> groovyString.append(keyValueModel.toGroovy()));
-            groovyString.append(this.getDirectiveClose());
+            groovyEmitter.append(getDirectiveOpen());
+            for (KeyValueModel keyValueModel : this.agentParameter)
+                groovyEmitter.emit(keyValueModel);
+            groovyEmitter.append(getDirectiveClose());
         }
         if (!this.agentType.equals("none") && !this.agentType.equals("any"))
-            groovyString.append(this.getDirectiveClose());
+            groovyEmitter.append(getDirectiveClose());
         else
-            groovyString.append("\n");
-        return groovyString.toString();
+            groovyEmitter.append("\n");
     }
 }
@@ -11,9 +11,9 @@ import java.util.Optional;
 @Getter
 public class ChildPostModel extends AbstractModel implements ParsableModelInterface {
 
-    private String postType;
-    private Optional<StepsModel> postSteps;
-    private Optional<ScriptModel> postScript;
+    private final String postType;
+    private final Optional<StepsModel> postSteps;
+    private final Optional<ScriptModel> postScript;
 
     /**
      * @param postType   Post condition type
@@ -21,20 +21,18 @@ public class ChildPostModel extends AbstractModel implements ParsableModelInterf
      * @param postScript post {@link ScriptModel}
      */
     public ChildPostModel(String postType, Optional<StepsModel> postSteps, Optional<ScriptModel> postScript) {
-        this.postType = postType;
+        this.postType = intern(postType);
         this.postSteps = postSteps;
         this.postScript = postScript;
     }
 
 
     @Override
-    public String toGroovy() {
-        return new StringBuffer()
-                .append(postType)
-                .append(getDirectiveOpen())
-                .append(postSteps.map(StepsModel::toGroovyForPostModel).orElse(""))
-                .append(postScript.map(ScriptModel::toGroovy).orElse(""))
-                .append(getDirectiveClose())
-                .toString();
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(postType)
+                .append(getDirectiveOpen());
+        postSteps.ifPresent(stepsModel -> stepsModel.emitForPostModel(groovyEmitter));
+        groovyEmitter.emit(postScript)
+                .append(getDirectiveClose());
     }
 }
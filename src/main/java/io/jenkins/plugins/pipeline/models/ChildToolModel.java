@@ -9,25 +9,23 @@ import lombok.Getter;
 @Getter
 public class ChildToolModel extends AbstractModel implements ParsableModelInterface {
 
-    private String toolType;
-    private String toolName;
+    private final String toolType;
+    private final String toolName;
 
     /**
      * @param toolType Tool type
      * @param toolName Name of the tool which is defined in Jenkins
      */
     public ChildToolModel(String toolType, String toolName) {
-        this.toolType = toolType;
-        this.toolName = toolName;
+        this.toolType = intern(toolType);
+        this.toolName = intern(toolName);
     }
 
     @Override
-    public String toGroovy() {
-        return new StringBuffer()
-                .append(toolType)
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(toolType)
                 .append(getParameterOpen())
                 .append(toolName)
-                .append(getParameterClose())
-                .toString();
+                .append(getParameterClose());
     }
 }
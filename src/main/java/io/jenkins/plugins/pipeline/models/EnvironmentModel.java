@@ -12,7 +12,7 @@ import java.util.List;
 public class EnvironmentModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "environment";
-    private List<EnvironmentVariableModel> environmentVariables;
+    private final List<EnvironmentVariableModel> environmentVariables;
 
     /**
      * @param environmentVariables List of {@link VariableModel}
@@ -23,12 +23,11 @@ public class EnvironmentModel extends AbstractModel implements ParsableModelInte
 
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer()
-                .append(directive)
-                .append(this.getDirectiveOpen());
-        environmentVariables.forEach(variableModel -> groovyString.append(variableModel.toGroovy()));
-        groovyString.append(this.getDirectiveClose());
-        return groovyString.toString();
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive)
+                .append(getDirectiveOpen());
+        for (EnvironmentVariableModel variableModel : environmentVariables)
+            groovyEmitter.emit(variableModel);
+        groovyEmitter.append(getDirectiveClose());
     }
 }
@@ -1,40 +1,38 @@
 package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 /**
  * Model Class for Key/Value Pairs used in Environments
  */
-@AllArgsConstructor
-@NoArgsConstructor
 @Getter
-@Setter
 public class EnvironmentVariableModel extends AbstractModel implements ParsableModelInterface {
-    private String key;
-    private String value;
+    private final String key;
+    private final String value;
 
+    /**
+     * @param key Key, interned if it is short
+     * @param value Value, interned if it is short
+     */
+    public EnvironmentVariableModel(String key, String value) {
+        this.key = intern(key);
+        this.value = intern(value);
+    }
 
     @Override
-    public String toGroovy() {
-        if( this.value.startsWith(this.getCredentialsFunctionName())) {
-            return new StringBuffer()
-                    .append(this.key)
-                    .append(this.getEnvironmentVariableOpen())
+    public void emit(GroovyEmitter groovyEmitter) {
+        if( this.value.startsWith(getCredentialsFunctionName())) {
+            groovyEmitter.append(this.key)
+                    .append(getEnvironmentVariableOpen())
                     .append(this.value)
-                    .append(this.getEnvironmentVariableClose())
-                    .toString();
+                    .append(getEnvironmentVariableClose());
         }
         else {
-            return new StringBuffer()
-                    .append(this.key)
-                    .append(this.getVariableOpen())
+            groovyEmitter.append(this.key)
+                    .append(getVariableOpen())
                     .append(this.value)
-                    .append(this.getVariableClose())
-                    .toString();
+                    .append(getVariableClose());
         }
     }
 }
@@ -0,0 +1,281 @@
+package io.jenkins.plugins.pipeline.models;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionBudget;
+import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes Jenkins Declarative Pipeline Syntax of the models into a single buffer.
+ * In pretty mode, empty lines are dropped and every line is indented while it is written:
+ * a line ending with "{" opens a block and a line starting with "}" closes it.
+ * Nested models are written with an explicit stack instead of recursion, so the call stack does not grow
+ * with the nesting depth of the models.
+ */
+public class GroovyEmitter implements Appendable {
+
+    private static final String indent = "  ";
+    private final StringBuilder output;
+    private final boolean pretty;
+    private final StringBuilder closingLine = new StringBuilder();
+    private int indentCounter = 0;
+    private boolean lineStart = true;
+    private boolean closingLineStart = false;
+    private char lastChar;
+    private Frame frame;
+
+    /**
+     * @param output Buffer to write into
+     * @param pretty True: Indent output and drop empty lines, False: Write output as is
+     */
+    public GroovyEmitter(StringBuilder output, boolean pretty) {
+        this.output = output;
+        this.pretty = pretty;
+    }
+
+    /**
+     * Create emitter which writes output as is
+     * @return Emitter
+     */
+    public static GroovyEmitter raw() {
+        return new GroovyEmitter(new StringBuilder(), false);
+    }
+
+    /**
+     * Create emitter which writes indented output
+     * @return Emitter
+     */
+    public static GroovyEmitter pretty() {
+        return new GroovyEmitter(new StringBuilder(), true);
+    }
+
+    /**
+     * Write model into the emitter. Absent models are skipped
+     * @param model Model to be written, null if it is absent
+     * @return Emitter
+     */
+    public GroovyEmitter emit(ParsableModelInterface model) {
+        if (model == null)
+            return this;
+        if (this.frame != null) {
+            this.frame.defer(model);
+            return this;
+        }
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(new Frame(model));
+        while (!pending.isEmpty()) {
+            Object part = pending.pop();
+            if (part instanceof Frame)
+                this.emitFrame((Frame) part, pending);
+            else
+                this.write(part);
+        }
+        return this;
+    }
+
+    /**
+     * Write model of the frame. Output of the model is written directly until its first nested model,
+     * the rest is pushed onto the stack with the nested models, so it is written after them
+     */
+    private void emitFrame(Frame frame, Deque<Object> pending) {
+        ConversionBudget.check();
+        this.frame = frame;
+        try {
+            frame.model.emit(this);
+        } finally {
+            this.frame = null;
+        }
+        if (frame.parts == null)
+            return;
+        for (int i = frame.parts.size() - 1; i >= 0; i--) {
+            Object part = frame.parts.get(i);
+            pending.push(part instanceof ParsableModelInterface ? new Frame((ParsableModelInterface) part) : part);
+        }
+    }
+
+    private void write(Object part) {
+        if (part instanceof Chunk) {
+            Chunk chunk = (Chunk) part;
+            this.write(chunk.csq, chunk.start, chunk.end);
+        } else if (part instanceof Character) {
+            this.write((char) (Character) part);
+        } else {
+            CharSequence csq = (CharSequence) part;
+            this.write(csq, 0, csq.length());
+        }
+    }
+
+    /**
+     * Write model into the emitter if it is present
+     * @param model Optional model to be written
+     * @return Emitter
+     */
+    public GroovyEmitter emit(Optional<? extends ParsableModelInterface> model) {
+        if (model.isPresent())
+            this.emit(model.get());
+        return this;
+    }
+
+    @Override
+    public GroovyEmitter append(CharSequence csq) {
+        if (csq == null)
+            csq = "null";
+        return this.append(csq, 0, csq.length());
+    }
+
+    @Override
+    public GroovyEmitter append(CharSequence csq, int start, int end) {
+        if (csq == null)
+            csq = "null";
+        if (this.frame != null && this.frame.parts != null)
+            this.frame.parts.add(csq instanceof String && start == 0 && end == csq.length() ? csq : new Chunk(csq, start, end));
+        else
+            this.write(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public GroovyEmitter append(char c) {
+        if (this.frame != null && this.frame.parts != null)
+            this.frame.parts.add(c);
+        else
+            this.write(c);
+        return this;
+    }
+
+    private void write(CharSequence csq, int start, int end) {
+        if (!this.pretty) {
+            this.output.append(csq, start, end);
+            return;
+        }
+        int position = start;
+        while (position < end) {
+            int newLine = indexOfNewLine(csq, position, end);
+            if (newLine > position)
+                this.appendToLine(csq, position, newLine);
+            if (newLine == end)
+                break;
+            this.endLine();
+            position = newLine + 1;
+        }
+    }
+
+    private void write(char c) {
+        if (!this.pretty) {
+            this.output.append(c);
+        } else if (c == '\n') {
+            this.endLine();
+        } else {
+            this.appendToLine(String.valueOf(c), 0, 1);
+        }
+    }
+
+    private static int indexOfNewLine(CharSequence csq, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (csq.charAt(i) == '\n')
+                return i;
+        }
+        return end;
+    }
+
+    /**
+     * Append a chunk which does not contain new lines to current line.
+     * Indent is written with the first character of the line, except lines starting with "}"
+     * which are buffered until the end of the line is known.
+     */
+    private void appendToLine(CharSequence csq, int start, int end) {
+        if (this.lineStart) {
+            this.lineStart = false;
+            this.closingLineStart = csq.charAt(start) == '}';
+            if (!this.closingLineStart)
+                this.writeIndent(this.indentCounter);
+        }
+        if (this.closingLineStart)
+            this.closingLine.append(csq, start, end);
+        else
+            this.output.append(csq, start, end);
+        this.lastChar = csq.charAt(end - 1);
+    }
+
+    private void endLine() {
+        if (this.lineStart)
+            return;
+        if (this.closingLineStart) {
+            if (this.lastChar == '{') {
+                this.writeIndent(this.indentCounter);
+                this.indentCounter++;
+            } else {
+                this.indentCounter--;
+                this.writeIndent(this.indentCounter);
+            }
+            this.output.append(this.closingLine);
+            this.closingLine.setLength(0);
+            this.closingLineStart = false;
+        } else if (this.lastChar == '{') {
+            this.indentCounter++;
+        }
+        this.output.append('\n');
+        this.lineStart = true;
+    }
+
+    private void writeIndent(int count) {
+        for (int i = 0; i < count; i++)
+            this.output.append(indent);
+    }
+
+    /**
+     * Complete the last line if it is not terminated
+     * @return Emitter
+     */
+    public GroovyEmitter flush() {
+        if (this.pretty)
+            this.endLine();
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        this.flush();
+        return this.output.toString();
+    }
+
+    /**
+     * Model being written. Parts are the output and nested models of the model after its first nested model,
+     * they are null until then
+     */
+    private static class Frame {
+
+        private final ParsableModelInterface model;
+        private List<Object> parts;
+
+        Frame(ParsableModelInterface model) {
+            this.model = model;
+        }
+
+        void defer(ParsableModelInterface model) {
+            if (this.parts == null)
+                this.parts = new ArrayList<>();
+            this.parts.add(model);
+        }
+    }
+
+    /**
+     * Deferred range of a character sequence. Sequences are not copied, models do not change them while they are written
+     */
+    private static class Chunk {
+
+        private final CharSequence csq;
+        private final int start;
+        private final int end;
+
+        Chunk(CharSequence csq, int start, int end) {
+            this.csq = csq;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package io.jenkins.plugins.pipeline.models;
+
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnsupportedSyntaxException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the Groovy snippets of the models, e.g. steps, options and when rules, without the Groovy parser.
+ * Only the statements which the Declarative Pipeline parser turns into steps, method calls and values are supported:
+ * method calls with or without parentheses, named or positional arguments, assignments, literals and plain expressions.
+ * Everything else, e.g. closures or map literals, is rejected, so the caller can fall back to the Groovy parser.
+ */
+final class GroovySnippetParser {
+
+    private static final String[] operators = {"==~", "<=>", "?.", "*.", ".&", "::", "?:", "==", "!=", "<=", ">=", "=~",
+            "&&", "||", "->", "<<", ">>", "**", "++", "--", "+=", "-=", "*=", "/=", "%=", ".."};
+    private static final Set<String> keywords = new HashSet<>(Arrays.asList("assert", "break", "case", "catch", "class",
+            "continue", "def", "default", "do", "else", "final", "finally", "for", "if", "import", "new", "return",
+            "static", "switch", "synchronized", "throw", "try", "var", "while"));
+
+    private final CharSequence source;
+    private final List<Token> tokens = new ArrayList<>();
+
+    private GroovySnippetParser(CharSequence source) {
+        this.source = source;
+    }
+
+    /**
+     * Read statements of a snippet, e.g. the lines of a multi line steps block
+     * @param source Groovy snippet
+     * @return Statements of the snippet
+     * @throws PipelineAsYamlUnsupportedSyntaxException if the snippet has syntax which can not be read without the Groovy parser
+     */
+    static List<Statement> parseStatements(CharSequence source) throws PipelineAsYamlUnsupportedSyntaxException {
+        GroovySnippetParser parser = new GroovySnippetParser(source);
+        parser.tokenize();
+        return parser.statements();
+    }
+
+    /**
+     * Read a snippet which has a single statement, e.g. an option or a when rule
+     * @param source Groovy snippet
+     * @return Statement of the snippet
+     * @throws PipelineAsYamlUnsupportedSyntaxException if the snippet is not a single supported statement
+     */
+    static Statement parseStatement(CharSequence source) throws PipelineAsYamlUnsupportedSyntaxException {
+        List<Statement> statements = parseStatements(source);
+        if (statements.size() != 1)
+            throw new PipelineAsYamlUnsupportedSyntaxException("Expected a single statement", source);
+        return statements.get(0);
+    }
+
+    private void tokenize() throws PipelineAsYamlUnsupportedSyntaxException {
+        int length = this.source.length();
+        int i = 0;
+        while (i < length) {
+            char c = this.source.charAt(i);
+            char next = i + 1 < length ? this.source.charAt(i + 1) : 0;
+            if (c == '\n' || c == ';') {
+                this.tokens.add(new Token(TokenType.SEPARATOR, String.valueOf(c), null, false, i, i + 1));
+                i++;
+            } else if (c == '\\' && next == '\n') {
+                i += 2;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '/' && next == '/') {
+                while (i < length && this.source.charAt(i) != '\n')
+                    i++;
+            } else if (c == '/' && next == '*') {
+                i = this.skipComment(i);
+            } else if (c == '\'' || c == '"') {
+                StringLiteral literal = this.string(i);
+                this.tokens.add(new Token(TokenType.STRING, this.text(i, literal.end), literal.value, literal.gString, i, literal.end));
+                i = literal.end;
+            } else if (c >= '0' && c <= '9') {
+                i = this.number(i);
+            } else if (c == '$' && next == '/') {
+                throw this.unsupported("Dollar slashy strings are not supported");
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(this.source.charAt(end)))
+                    end++;
+                this.tokens.add(new Token(TokenType.IDENTIFIER, this.text(i, end), null, false, i, end));
+                i = end;
+            } else if (c == '/' && !this.tokens.isEmpty() && !this.tokens.get(this.tokens.size() - 1).endsOperand()) {
+                throw this.unsupported("Slashy strings are not supported");
+            } else {
+                i = this.operator(i);
+            }
+        }
+    }
+
+    private int skipComment(int start) throws PipelineAsYamlUnsupportedSyntaxException {
+        for (int i = start + 2; i + 1 < this.source.length(); i++) {
+            if (this.source.charAt(i) == '*' && this.source.charAt(i + 1) == '/')
+                return i + 2;
+        }
+        throw this.unsupported("Unterminated comment");
+    }
+
+    /**
+     * Read a single, double or triple quoted string. Strings with placeholders are GStrings, their value is not read
+     */
+    private StringLiteral string(int start) throws PipelineAsYamlUnsupportedSyntaxException {
+        char quote = this.source.charAt(start);
+        String tripleQuote = new String(new char[]{quote, quote, quote});
+        boolean triple = this.startsWith(start, tripleQuote);
+        int i = start + (triple ? 3 : 1);
+        StringBuilder value = new StringBuilder();
+        boolean gString = false;
+        while (true) {
+            if (i >= this.source.length())
+                throw this.unsupported("Unterminated string");
+            char c = this.source.charAt(i);
+            if (c == quote && (!triple || this.startsWith(i, tripleQuote)))
+                return new StringLiteral(i + (triple ? 3 : 1), value.toString(), gString);
+            if (c == '\n' && !triple)
+                throw this.unsupported("Unterminated string");
+            if (c == '\\') {
+                i = this.escape(i, value);
+            } else if (c == '$' && quote == '"') {
+                gString = true;
+                char next = i + 1 < this.source.length() ? this.source.charAt(i + 1) : 0;
+                if (next == '{')
+                    i = this.placeholder(i + 2);
+                else if (Character.isJavaIdentifierStart(next) && next != '$')
+                    i++;
+                else
+                    throw this.unsupported("Unsupported placeholder");
+            } else {
+                value.append(c);
+                i++;
+            }
+        }
+    }
+
+    private int escape(int start, StringBuilder value) throws PipelineAsYamlUnsupportedSyntaxException {
+        if (start + 1 >= this.source.length())
+            throw this.unsupported("Unterminated string");
+        char c = this.source.charAt(start + 1);
+        switch (c) {
+            case 'n':
+                value.append('\n');
+                break;
+            case 't':
+                value.append('\t');
+                break;
+            case 'r':
+                value.append('\r');
+                break;
+            case 'b':
+                value.append('\b');
+                break;
+            case 'f':
+                value.append('\f');
+                break;
+            case '\\':
+            case '\'':
+            case '"':
+            case '$':
+                value.append(c);
+                break;
+            case '\n':
+                break;
+            case 'u':
+                if (start + 6 > this.source.length())
+                    throw this.unsupported("Unsupported escape");
+                try {
+                    value.append((char) Integer.parseInt(this.text(start + 2, start + 6), 16));
+                } catch (NumberFormatException e) {
+                    throw this.unsupported("Unsupported escape");
+                }
+                return start + 6;
+            default:
+                throw this.unsupported("Unsupported escape");
+        }
+        return start + 2;
+    }
+
+    /**
+     * Skip the expression of a GString placeholder
+     * @param start Index after "${"
+     * @return Index after the closing brace
+     */
+    private int placeholder(int start) throws PipelineAsYamlUnsupportedSyntaxException {
+        int depth = 1;
+        int i = start;
+        while (i < this.source.length()) {
+            char c = this.source.charAt(i);
+            if (c == '\'' || c == '"') {
+                i = this.string(i).end;
+                continue;
+            }
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        throw this.unsupported("Unterminated placeholder");
+    }
+
+    private int number(int start) throws PipelineAsYamlUnsupportedSyntaxException {
+        int i = this.digits(start);
+        boolean decimal = false;
+        if (i + 1 < this.source.length() && this.source.charAt(i) == '.' && Character.isDigit(this.source.charAt(i + 1))) {
+            decimal = true;
+            i = this.digits(i + 1);
+        }
+        if (i < this.source.length() && Character.isJavaIdentifierPart(this.source.charAt(i)))
+            throw this.unsupported("Unsupported number");
+        String text = this.text(start, i);
+        if (!decimal && text.length() > 1 && text.charAt(0) == '0')
+            throw this.unsupported("Unsupported number");
+        this.tokens.add(new Token(TokenType.NUMBER, text, decimal ? new BigDecimal(text) : integer(new BigInteger(text)), false, start, i));
+        return i;
+    }
+
+    private int digits(int start) {
+        int i = start;
+        while (i < this.source.length() && Character.isDigit(this.source.charAt(i)))
+            i++;
+        return i;
+    }
+
+    /**
+     * Integer literals are Integer, Long or BigInteger, whichever is the smallest type they fit
+     */
+    private static Number integer(BigInteger value) {
+        if (value.bitLength() < 32)
+            return value.intValue();
+        if (value.bitLength() < 64)
+            return value.longValue();
+        return value;
+    }
+
+    private int operator(int start) {
+        for (String operator : operators) {
+            if (this.startsWith(start, operator)) {
+                this.tokens.add(new Token(TokenType.OPERATOR, operator, null, false, start, start + operator.length()));
+                return start + operator.length();
+            }
+        }
+        this.tokens.add(new Token(TokenType.OPERATOR, this.text(start, start + 1), null, false, start, start + 1));
+        return start + 1;
+    }
+
+    /**
+     * Split tokens into statements. Line breaks inside brackets, after operators and before member access
+     * do not end a statement
+     */
+    private List<Statement> statements() throws PipelineAsYamlUnsupportedSyntaxException {
+        List<Statement> statements = new ArrayList<>();
+        List<Token> current = new ArrayList<>();
+        int depth = 0;
+        for (int i = 0; i < this.tokens.size(); i++) {
+            Token token = this.tokens.get(i);
+            if (token.type == TokenType.SEPARATOR) {
+                if (depth > 0 && token.text.equals(";"))
+                    throw this.unsupported("Unexpected semicolon");
+                if (depth > 0 || (token.text.equals("\n") && this.continues(current, i)))
+                    continue;
+                if (!current.isEmpty())
+                    statements.add(this.statement(current));
+                current = new ArrayList<>();
+                continue;
+            }
+            if (token.is("(") || token.is("[") || token.is("{"))
+                depth++;
+            else if ((token.is(")") || token.is("]") || token.is("}")) && --depth < 0)
+                throw this.unsupported("Unbalanced brackets");
+            current.add(token);
+        }
+        if (depth != 0)
+            throw this.unsupported("Unbalanced brackets");
+        if (!current.isEmpty())
+            statements.add(this.statement(current));
+        return statements;
+    }
+
+    private boolean continues(List<Token> current, int separator) {
+        if (current.isEmpty())
+            return false;
+        Token last = current.get(current.size() - 1);
+        if (last.type == TokenType.OPERATOR && !last.is(")") && !last.is("]") && !last.is("}") && !last.is("++") && !last.is("--"))
+            return true;
+        for (int i = separator + 1; i < this.tokens.size(); i++) {
+            Token next = this.tokens.get(i);
+            if (next.type != TokenType.SEPARATOR)
+                return next.is(".") || next.is("?.") || next.is("*.");
+        }
+        return false;
+    }
+
+    private Statement statement(List<Token> tokens) throws PipelineAsYamlUnsupportedSyntaxException {
+        Token first = tokens.get(0);
+        if (first.type != TokenType.IDENTIFIER || keywords.contains(first.text) || tokens.size() == 1)
+            throw this.unsupported("Expected a method call", tokens);
+        Token second = tokens.get(1);
+        if (second.is("="))
+            return new Statement(first.text, null, this.value(tokens.subList(2, tokens.size())));
+        if (second.is("(")) {
+            int closing = closing(tokens, 1);
+            if (closing != tokens.size() - 1)
+                throw this.unsupported("Expected a single method call", tokens);
+            return new Statement(first.text, this.arguments(tokens.subList(2, closing)), null);
+        }
+        if (second.startsOperand())
+            return new Statement(first.text, this.arguments(tokens.subList(1, tokens.size())), null);
+        throw this.unsupported("Expected a method call", tokens);
+    }
+
+    private static int closing(List<Token> tokens, int opening) {
+        int depth = 0;
+        for (int i = opening; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.is("(") || token.is("[") || token.is("{"))
+                depth++;
+            else if ((token.is(")") || token.is("]") || token.is("}")) && --depth == 0)
+                return i;
+        }
+        return -1;
+    }
+
+    private List<Argument> arguments(List<Token> tokens) throws PipelineAsYamlUnsupportedSyntaxException {
+        if (tokens.isEmpty())
+            return Collections.emptyList();
+        List<Argument> arguments = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.is("(") || token.is("[") || token.is("{")) {
+                depth++;
+            } else if (token.is(")") || token.is("]") || token.is("}")) {
+                depth--;
+            } else if (token.is(",") && depth == 0) {
+                arguments.add(this.argument(tokens.subList(start, i)));
+                start = i + 1;
+            }
+        }
+        arguments.add(this.argument(tokens.subList(start, tokens.size())));
+        boolean named = arguments.get(0).key != null;
+        for (Argument argument : arguments) {
+            if ((argument.key != null) != named)
+                throw this.unsupported("Named and positional arguments can not be mixed", tokens);
+        }
+        return arguments;
+    }
+
+    private Argument argument(List<Token> tokens) throws PipelineAsYamlUnsupportedSyntaxException {
+        if (tokens.size() > 2 && tokens.get(1).is(":")) {
+            Token key = tokens.get(0);
+            if (key.type == TokenType.IDENTIFIER)
+                return new Argument(key.text, this.value(tokens.subList(2, tokens.size())));
+            if (key.type == TokenType.STRING && !key.gString)
+                return new Argument((String) key.value, this.value(tokens.subList(2, tokens.size())));
+        }
+        return new Argument(null, this.value(tokens));
+    }
+
+    private Value value(List<Token> tokens) throws PipelineAsYamlUnsupportedSyntaxException {
+        if (tokens.isEmpty())
+            throw this.unsupported("Expected a value");
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.is("{") || token.is("}"))
+                throw this.unsupported("Closures are not supported", tokens);
+            if (token.is(":"))
+                throw this.unsupported("Maps and conditional expressions are not supported", tokens);
+            if (i > 0 && tokens.get(i - 1).endsOperand() && token.startsOperand())
+                throw this.unsupported("Expected a single value", tokens);
+        }
+        String text = this.text(tokens);
+        Token first = tokens.get(0);
+        if (tokens.size() == 1) {
+            if (first.type == TokenType.STRING)
+                return first.gString ? new Value(ValueType.GSTRING, null, text, null, null) : new Value(ValueType.CONSTANT, first.value, text, null, null);
+            if (first.type == TokenType.NUMBER)
+                return new Value(ValueType.CONSTANT, first.value, text, null, null);
+            if (first.type == TokenType.IDENTIFIER && (first.text.equals("true") || first.text.equals("false")))
+                return new Value(ValueType.CONSTANT, Boolean.valueOf(first.text), text, null, null);
+            if (first.type == TokenType.IDENTIFIER && first.text.equals("null"))
+                return new Value(ValueType.CONSTANT, null, text, null, null);
+        }
+        if (tokens.size() == 2 && first.is("-") && tokens.get(1).type == TokenType.NUMBER)
+            return new Value(ValueType.CONSTANT, negate((Number) tokens.get(1).value), text, null, null);
+        if (first.type == TokenType.IDENTIFIER && !keywords.contains(first.text) && tokens.size() > 2 && tokens.get(1).is("(")
+                && closing(tokens, 1) == tokens.size() - 1)
+            return new Value(ValueType.CALL, null, text, first.text, this.arguments(tokens.subList(2, tokens.size() - 1)));
+        return new Value(ValueType.EXPRESSION, null, text, null, null);
+    }
+
+    private static Number negate(Number number) {
+        if (number instanceof Integer)
+            return -number.intValue();
+        if (number instanceof Long)
+            return -number.longValue();
+        if (number instanceof BigInteger)
+            return ((BigInteger) number).negate();
+        return ((BigDecimal) number).negate();
+    }
+
+    private boolean startsWith(int start, String prefix) {
+        if (start + prefix.length() > this.source.length())
+            return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (this.source.charAt(start + i) != prefix.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    private String text(int start, int end) {
+        return this.source.subSequence(start, end).toString();
+    }
+
+    private String text(List<Token> tokens) {
+        return this.text(tokens.get(0).start, tokens.get(tokens.size() - 1).end);
+    }
+
+    private PipelineAsYamlUnsupportedSyntaxException unsupported(String message) {
+        return new PipelineAsYamlUnsupportedSyntaxException(message, this.source);
+    }
+
+    private PipelineAsYamlUnsupportedSyntaxException unsupported(String message, List<Token> tokens) {
+        return new PipelineAsYamlUnsupportedSyntaxException(message, this.text(tokens));
+    }
+
+    /**
+     * Statement of a snippet: a method call with its arguments, or an assignment with its value
+     */
+    static final class Statement {
+
+        final String name;
+        final List<Argument> arguments;
+        final Value value;
+
+        Statement(String name, List<Argument> arguments, Value value) {
+            this.name = name;
+            this.arguments = arguments;
+            this.value = value;
+        }
+
+        boolean isAssignment() {
+            return this.arguments == null;
+        }
+    }
+
+    /**
+     * Argument of a method call, key is null for positional arguments
+     */
+    static final class Argument {
+
+        final String key;
+        final Value value;
+
+        Argument(String key, Value value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    enum ValueType {
+        /**
+         * String, number, boolean or null literal
+         */
+        CONSTANT,
+        /**
+         * String with placeholders
+         */
+        GSTRING,
+        /**
+         * Method call without receiver, e.g. a nested option or credentials()
+         */
+        CALL,
+        /**
+         * Any other expression, e.g. env.BRANCH_NAME
+         */
+        EXPRESSION
+    }
+
+    /**
+     * Value of an argument or an assignment. Text is the source of the value, name and arguments are set for method calls
+     */
+    static final class Value {
+
+        final ValueType type;
+        final Object constant;
+        final String text;
+        final String name;
+        final List<Argument> arguments;
+
+        Value(ValueType type, Object constant, String text, String name, List<Argument> arguments) {
+            this.type = type;
+            this.constant = constant;
+            this.text = text;
+            this.name = name;
+            this.arguments = arguments;
+        }
+    }
+
+    private enum TokenType {
+        IDENTIFIER, STRING, NUMBER, OPERATOR, SEPARATOR
+    }
+
+    private static final class Token {
+
+        private final TokenType type;
+        private final String text;
+        private final Object value;
+        private final boolean gString;
+        private final int start;
+        private final int end;
+
+        Token(TokenType type, String text, Object value, boolean gString, int start, int end) {
+            this.type = type;
+            this.text = text;
+            this.value = value;
+            this.gString = gString;
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean is(String operator) {
+            return this.type == TokenType.OPERATOR && this.text.equals(operator);
+        }
+
+        boolean startsOperand() {
+            return this.type == TokenType.IDENTIFIER || this.type == TokenType.STRING || this.type == TokenType.NUMBER;
+        }
+
+        boolean endsOperand() {
+            return this.startsOperand() || this.is(")") || this.is("]");
+        }
+    }
+
+    private static final class StringLiteral {
+
+        private final int end;
+        private final String value;
+        private final boolean gString;
+
+        StringLiteral(int end, String value, boolean gString) {
+            this.end = end;
+            this.value = value;
+            this.gString = gString;
+        }
+    }
+}
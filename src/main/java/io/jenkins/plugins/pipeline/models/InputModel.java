@@ -17,12 +17,12 @@ public class InputModel extends AbstractModel implements ParsableModelInterface
     public static final String okKey = "ok";
     public static final String submitterKey = "submitter";
     public static final String submitterParameterKey = "submitterParameter";
-    private String message;
-    private Optional<String> id;
-    private Optional<String> ok;
-    private Optional<String> submitter;
-    private Optional<String> submitterParameter;
-    private Optional<ParametersModel> parametersModel;
+    private final String message;
+    private final Optional<String> id;
+    private final Optional<String> ok;
+    private final Optional<String> submitter;
+    private final Optional<String> submitterParameter;
+    private final Optional<ParametersModel> parametersModel;
 
     /**
      * @param message Input message
@@ -42,20 +42,18 @@ public class InputModel extends AbstractModel implements ParsableModelInterface
     }
 
     @Override
-    public String toGroovy() {
-        return new StringBuffer()
-                .append(directive)
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive)
                 .append(getDirectiveOpen())
                 .append(messageKey)
-                .append(this.getStringOpen())
+                .append(getStringOpen())
                 .append(this.message)
-                .append(this.getStringClose())
-                .append(this.optionalStringToGroovy(id,idKey))
-                .append(this.optionalStringToGroovy(ok,okKey))
-                .append(this.optionalStringToGroovy(submitter, submitterKey))
-                .append(this.optionalStringToGroovy(submitterParameter,submitterParameterKey))
-                .append(this.parametersModel.map(ParametersModel::toGroovy).orElse(""))
-                .toString();
-
+                .append(getStringClose());
+        this.emitOptionalString(groovyEmitter, id, idKey);
+        this.emitOptionalString(groovyEmitter, ok, okKey);
+        this.emitOptionalString(groovyEmitter, submitter, submitterKey);
+        this.emitOptionalString(groovyEmitter, submitterParameter, submitterParameterKey);
+        groovyEmitter.emit(this.parametersModel)
+                .append(getDirectiveClose());
     }
 }
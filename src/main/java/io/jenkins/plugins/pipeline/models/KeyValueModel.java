@@ -1,29 +1,30 @@
 package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 /**
  * Model Class for Key/Value Pairs used in other models
  */
-@AllArgsConstructor
-@NoArgsConstructor
 @Getter
-@Setter
 public class KeyValueModel extends AbstractModel implements ParsableModelInterface {
-    private String key;
-    private String value;
+    private final String key;
+    private final String value;
+
+    /**
+     * @param key Key, interned if it is short
+     * @param value Value, interned if it is short
+     */
+    public KeyValueModel(String key, String value) {
+        this.key = intern(key);
+        this.value = intern(value);
+    }
 
     @Override
-    public String toGroovy() {
-        return new StringBuffer()
-                .append(this.key)
-                .append(this.getParameterOpen())
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(this.key)
+                .append(getParameterOpen())
                 .append(this.value)
-                .append(this.getParameterClose())
-                .toString();
+                .append(getParameterClose());
     }
 }
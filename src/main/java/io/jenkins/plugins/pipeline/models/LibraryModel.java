@@ -2,7 +2,6 @@ package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
 import lombok.Getter;
-import org.apache.ivy.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -15,7 +14,7 @@ import java.util.List;
 public class LibraryModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "library";
-    private List<String> libraryList;
+    private final List<String> libraryList;
 
     /**
      * @param libraryList List of library definitions
@@ -47,18 +46,27 @@ public class LibraryModel extends AbstractModel implements ParsableModelInterfac
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer()
-                .append(getLibraryOpen());
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(getLibraryOpen());
         if (this.libraryList.size() == 1) {
-            groovyString.append(StringUtils.join(this.libraryList.toArray(), ","));
+            this.emitLibraryList(groovyEmitter);
         } else {
-            groovyString.append("[");
-            groovyString.append(StringUtils.join(this.libraryList.toArray(), ","));
-            groovyString.append("]");
+            groovyEmitter.append("[");
+            this.emitLibraryList(groovyEmitter);
+            groovyEmitter.append("]");
         }
-        groovyString.append(getLibraryClose());
+        groovyEmitter.append(getLibraryClose());
+    }
 
-        return groovyString.toString();
+    /**
+     * Write library definitions separated by comma
+     * @param groovyEmitter Emitter to write into
+     */
+    private void emitLibraryList(GroovyEmitter groovyEmitter) {
+        for (int i = 0; i < this.libraryList.size(); i++) {
+            if (i > 0)
+                groovyEmitter.append(",");
+            groovyEmitter.append(this.libraryList.get(i));
+        }
     }
 }
@@ -12,7 +12,7 @@ import java.util.List;
 public class OptionsModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "options";
-    private List<String> optionList;
+    private final List<String> optionList;
 
     /**
      * @param optionList List of options
@@ -22,15 +22,12 @@ public class OptionsModel extends AbstractModel implements ParsableModelInterfac
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer();
-        groovyString
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter
                 .append(directive)
-                .append(this.getDirectiveOpen());
-        optionList.stream().forEach(option ->{
-            groovyString.append(option).append("\n");
-        });
-        groovyString.append(this.getDirectiveClose());
-        return groovyString.toString();
+                .append(getDirectiveOpen());
+        for (String option : optionList)
+            groovyEmitter.append(option).append("\n");
+        groovyEmitter.append(getDirectiveClose());
     }
 }
@@ -12,7 +12,7 @@ import java.util.List;
 public class ParallelModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "parallel";
-    private List<StageModel> stageModelList;
+    private final List<StageModel> stageModelList;
 
     /**
      * @param stageModelList List of {@link StageModel}
@@ -22,11 +22,11 @@ public class ParallelModel extends AbstractModel implements ParsableModelInterfa
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer()
-                .append(directive)
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive)
                 .append(getDirectiveOpen());
-        stageModelList.forEach(stageModel -> groovyString.append(stageModel.toGroovy()));
-        return groovyString.append(getDirectiveClose()).toString();
+        for (StageModel stageModel : stageModelList)
+            groovyEmitter.emit(stageModel);
+        groovyEmitter.append(getDirectiveClose());
     }
 }
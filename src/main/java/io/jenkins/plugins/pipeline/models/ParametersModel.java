@@ -12,7 +12,7 @@ import java.util.List;
 public class ParametersModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "parameters";
-    private List<String> parametersList;
+    private final List<String> parametersList;
 
     /**
      * @param parametersList List pf parameters
@@ -22,15 +22,12 @@ public class ParametersModel extends AbstractModel implements ParsableModelInter
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer();
-        groovyString
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter
                 .append(directive)
-                .append(this.getDirectiveOpen());
-        parametersList.stream().forEach(parameter -> {
-            groovyString.append(parameter).append("\n");
-        });
-        groovyString.append(this.getDirectiveClose());
-        return groovyString.toString();
+                .append(getDirectiveOpen());
+        for (String parameter : parametersList)
+            groovyEmitter.append(parameter).append("\n");
+        groovyEmitter.append(getDirectiveClose());
     }
 }
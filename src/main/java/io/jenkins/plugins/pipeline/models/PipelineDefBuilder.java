@@ -0,0 +1,367 @@
+package io.jenkins.plugins.pipeline.models;
+
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnsupportedSyntaxException;
+import io.jenkins.plugins.pipeline.models.GroovySnippetParser.Argument;
+import io.jenkins.plugins.pipeline.models.GroovySnippetParser.Statement;
+import io.jenkins.plugins.pipeline.models.GroovySnippetParser.Value;
+import io.jenkins.plugins.pipeline.models.GroovySnippetParser.ValueType;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTAgent;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTArgumentList;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTBranch;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTBuildCondition;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTBuildConditionsContainer;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTBuildParameter;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTBuildParameters;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTClosureMap;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTEnvironment;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTInternalFunctionCall;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTKey;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTKeyValueOrMethodCallPair;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTMethodArg;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTMethodCall;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTNamedArgumentList;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTOption;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTOptions;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTParallel;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPositionalArgumentList;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPostBuild;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPostStage;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTScriptBlock;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTSingleArgument;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStage;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStageInput;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStages;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStep;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTTools;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTTrigger;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTTriggers;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTValue;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTWhen;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTWhenCondition;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Builds the {@link ModelASTPipelineDef} of a {@link PipelineModel} directly from the models,
+ * instead of writing a Groovy script and parsing it again with
+ * {@link org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter}.
+ * Directives are mapped to their AST objects, Groovy snippets of the models, e.g. steps and options,
+ * are read with {@link GroovySnippetParser}. The result is the AST which the Converter builds from {@link PipelineModel#toGroovy()}.
+ */
+public class PipelineDefBuilder {
+
+    private static final String defaultBranch = "default";
+
+    private PipelineDefBuilder() {
+    }
+
+    /**
+     * Build {@link ModelASTPipelineDef} of the model. Library directive is not a part of the AST and is skipped
+     * @param pipelineModel {@link PipelineModel}
+     * @return {@link ModelASTPipelineDef}
+     * @throws PipelineAsYamlUnsupportedSyntaxException if a snippet of the model needs the Groovy parser, e.g. a step with a closure
+     */
+    public static ModelASTPipelineDef build(PipelineModel pipelineModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTPipelineDef pipelineDef = new ModelASTPipelineDef(null);
+        if (pipelineModel.getAgent().isPresent())
+            pipelineDef.setAgent(agent(pipelineModel.getAgent().get()));
+        if (pipelineModel.getTools().isPresent())
+            pipelineDef.setTools(tools(pipelineModel.getTools().get()));
+        if (pipelineModel.getEnvironment().isPresent())
+            pipelineDef.setEnvironment(environment(pipelineModel.getEnvironment().get()));
+        if (pipelineModel.getOptions().isPresent())
+            pipelineDef.setOptions(options(pipelineModel.getOptions().get()));
+        if (pipelineModel.getParameters().isPresent())
+            pipelineDef.setParameters(parameters(pipelineModel.getParameters().get()));
+        if (pipelineModel.getTriggers().isPresent())
+            pipelineDef.setTriggers(triggers(pipelineModel.getTriggers().get()));
+        if (pipelineModel.getStages().isPresent())
+            pipelineDef.setStages(stages(pipelineModel.getStages().get().getStageModelList()));
+        if (pipelineModel.getPost().isPresent())
+            pipelineDef.setPostBuild(post(pipelineModel.getPost().get(), new ModelASTPostBuild(null)));
+        return pipelineDef;
+    }
+
+    private static ModelASTStages stages(List<StageModel> stageModels) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTStages stages = new ModelASTStages(null);
+        for (StageModel stageModel : stageModels)
+            stages.getStages().add(stage(stageModel));
+        return stages;
+    }
+
+    private static ModelASTStage stage(StageModel stageModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        String name = stageModel.getName();
+        // Name is written in single quotes without escaping
+        if (name.indexOf('\'') >= 0 || name.indexOf('\\') >= 0 || name.indexOf('\n') >= 0)
+            throw new PipelineAsYamlUnsupportedSyntaxException("Unsupported stage name", name);
+        ModelASTStage stage = new ModelASTStage(null);
+        stage.setName(name);
+        if (stageModel.getAgentModel().isPresent())
+            stage.setAgent(agent(stageModel.getAgentModel().get()));
+        if (stageModel.getEnvironmentModel().isPresent())
+            stage.setEnvironment(environment(stageModel.getEnvironmentModel().get()));
+        if (stageModel.getToolsModel().isPresent())
+            stage.setTools(tools(stageModel.getToolsModel().get()));
+        if (stageModel.getInputModel().isPresent())
+            stage.setInput(input(stageModel.getInputModel().get()));
+        if (stageModel.getWhenModel().isPresent())
+            stage.setWhen(when(stageModel.getWhenModel().get()));
+        if (stageModel.getStagesModel().isPresent())
+            stage.setStages(stages(stageModel.getStagesModel().get().getStageModelList()));
+        if (stageModel.getFailFast().isPresent())
+            stage.setFailFast(stageModel.getFailFast().get());
+        if (stageModel.getParallelModel().isPresent()) {
+            ModelASTParallel parallel = new ModelASTParallel(null);
+            for (StageModel parallelStage : stageModel.getParallelModel().get().getStageModelList())
+                parallel.getStages().add(stage(parallelStage));
+            stage.setParallel(parallel);
+        }
+        if (stageModel.getStepsModel().isPresent()) {
+            StepsModel stepsModel = stageModel.getStepsModel().get();
+            stage.getBranches().add(branch(stepsModel.toGroovyForPostModel(), stepsModel.getScript()));
+        }
+        if (stageModel.getPostModel().isPresent())
+            stage.setPost(post(stageModel.getPostModel().get(), new ModelASTPostStage(null)));
+        // Options of a stage are not written by StageModel#emit either, so they are not a part of the AST
+        return stage;
+    }
+
+    private static ModelASTBranch branch(String steps, Optional<ScriptModel> scriptModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTBranch branch = new ModelASTBranch(null);
+        branch.setName(defaultBranch);
+        for (Statement statement : GroovySnippetParser.parseStatements(steps)) {
+            if (statement.isAssignment())
+                throw new PipelineAsYamlUnsupportedSyntaxException("Assignments are not supported in steps", statement.name);
+            ModelASTStep step = new ModelASTStep(null);
+            step.setName(statement.name);
+            step.setArgs(argumentList(statement.arguments));
+            branch.getSteps().add(step);
+        }
+        if (scriptModel.isPresent())
+            branch.getSteps().add(scriptBlock(scriptModel.get()));
+        return branch;
+    }
+
+    private static ModelASTScriptBlock scriptBlock(ScriptModel scriptModel) {
+        String groovy = scriptModel.toGroovy();
+        int start = groovy.indexOf(AbstractModel.getDirectiveOpen()) + AbstractModel.getDirectiveOpen().length();
+        int end = groovy.lastIndexOf(AbstractModel.getDirectiveClose());
+        ModelASTSingleArgument code = new ModelASTSingleArgument(null);
+        code.setValue(ModelASTValue.fromConstant(groovy.substring(start, Math.max(start, end)).trim(), null));
+        ModelASTScriptBlock scriptBlock = new ModelASTScriptBlock(null);
+        scriptBlock.setArgs(code);
+        return scriptBlock;
+    }
+
+    private static <T extends ModelASTBuildConditionsContainer> T post(PostModel postModel, T post) throws PipelineAsYamlUnsupportedSyntaxException {
+        for (ChildPostModel childPostModel : postModel.getChildPostModels()) {
+            ModelASTBuildCondition condition = new ModelASTBuildCondition(null);
+            condition.setCondition(childPostModel.getPostType());
+            String steps = childPostModel.getPostSteps().map(StepsModel::toGroovyForPostModel).orElse("");
+            condition.setBranch(branch(steps, childPostModel.getPostScript()));
+            post.getConditions().add(condition);
+        }
+        return post;
+    }
+
+    private static ModelASTAgent agent(AgentModel agentModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTAgent agent = new ModelASTAgent(null);
+        agent.setAgentType(key(agentModel.getAgentType()));
+        if (agentModel.getAgentType().equals("any") || agentModel.getAgentType().equals("none"))
+            return agent;
+        if (agentModel.getAgentParameter().isEmpty())
+            throw new PipelineAsYamlUnsupportedSyntaxException("Agent without parameters is not supported", agentModel.getAgentType());
+        ModelASTClosureMap variables = new ModelASTClosureMap(null);
+        for (KeyValueModel keyValueModel : agentModel.getAgentParameter())
+            variables.getVariables().put(key(keyValueModel.getKey()), singleValue(GroovySnippetParser.parseStatement(keyValueModel.toGroovy())));
+        agent.setVariables(variables);
+        return agent;
+    }
+
+    private static ModelASTTools tools(ToolsModel toolsModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTTools tools = new ModelASTTools(null);
+        for (ChildToolModel childToolModel : toolsModel.getChildToolModels()) {
+            Statement statement = GroovySnippetParser.parseStatement(childToolModel.toGroovy());
+            tools.getTools().put(key(statement.name), singleValue(statement));
+        }
+        return tools;
+    }
+
+    private static ModelASTEnvironment environment(EnvironmentModel environmentModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTEnvironment environment = new ModelASTEnvironment(null);
+        for (EnvironmentVariableModel variableModel : environmentModel.getEnvironmentVariables()) {
+            Statement statement = GroovySnippetParser.parseStatement(variableModel.toGroovy());
+            if (!statement.isAssignment())
+                throw new PipelineAsYamlUnsupportedSyntaxException("Expected an environment variable", variableModel.toGroovy());
+            Value value = statement.value;
+            if (value.type == ValueType.CONSTANT || value.type == ValueType.GSTRING) {
+                environment.getVariables().put(key(statement.name), value(value));
+            } else if (value.type == ValueType.CALL && value.name.equals(AbstractModel.getCredentialsFunctionName())) {
+                ModelASTInternalFunctionCall functionCall = new ModelASTInternalFunctionCall(null);
+                functionCall.setName(value.name);
+                for (Argument argument : value.arguments) {
+                    if (argument.key != null || argument.value.type != ValueType.CONSTANT)
+                        throw new PipelineAsYamlUnsupportedSyntaxException("Unsupported credentials", value.text);
+                    functionCall.getArgs().add(value(argument.value));
+                }
+                environment.getVariables().put(key(statement.name), functionCall);
+            } else {
+                throw new PipelineAsYamlUnsupportedSyntaxException("Unsupported environment variable", value.text);
+            }
+        }
+        return environment;
+    }
+
+    private static ModelASTOptions options(OptionsModel optionsModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTOptions options = new ModelASTOptions(null);
+        for (String option : optionsModel.getOptionList())
+            options.getOptions().add(methodCall(GroovySnippetParser.parseStatement(option), new ModelASTOption(null)));
+        return options;
+    }
+
+    private static ModelASTBuildParameters parameters(ParametersModel parametersModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTBuildParameters parameters = new ModelASTBuildParameters(null);
+        for (String parameter : parametersModel.getParametersList())
+            parameters.getParameters().add(methodCall(GroovySnippetParser.parseStatement(parameter), new ModelASTBuildParameter(null)));
+        return parameters;
+    }
+
+    private static ModelASTTriggers triggers(TriggersModel triggersModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTTriggers triggers = new ModelASTTriggers(null);
+        for (String trigger : triggersModel.getTriggersList())
+            triggers.getTriggers().add(methodCall(GroovySnippetParser.parseStatement(trigger), new ModelASTTrigger(null)));
+        return triggers;
+    }
+
+    private static ModelASTStageInput input(InputModel inputModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTStageInput input = new ModelASTStageInput(null);
+        input.setMessage(inputValue(InputModel.messageKey, Optional.of(inputModel.getMessage())));
+        input.setId(inputValue(InputModel.idKey, inputModel.getId()));
+        input.setOk(inputValue(InputModel.okKey, inputModel.getOk()));
+        input.setSubmitter(inputValue(InputModel.submitterKey, inputModel.getSubmitter()));
+        input.setSubmitterParameter(inputValue(InputModel.submitterParameterKey, inputModel.getSubmitterParameter()));
+        if (inputModel.getParametersModel().isPresent()) {
+            for (String parameter : inputModel.getParametersModel().get().getParametersList())
+                input.getParameters().add(methodCall(GroovySnippetParser.parseStatement(parameter), new ModelASTBuildParameter(null)));
+        }
+        return input;
+    }
+
+    private static ModelASTValue inputValue(String key, Optional<String> value) throws PipelineAsYamlUnsupportedSyntaxException {
+        if (!value.isPresent())
+            return null;
+        return singleValue(GroovySnippetParser.parseStatement(key + AbstractModel.getStringOpen() + value.get() + AbstractModel.getStringClose()));
+    }
+
+    private static ModelASTWhen when(WhenModel whenModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTWhen when = new ModelASTWhen(null);
+        if (whenModel.getBeforeAgent().isPresent())
+            when.setBeforeAgent(whenModel.getBeforeAgent().get());
+        for (String rule : whenModel.getWhenRuleList())
+            when.getConditions().add(whenRule(rule));
+        if (whenModel.getWhenConditionModel().isPresent())
+            when.getConditions().add(whenCondition(whenModel.getWhenConditionModel().get()));
+        return when;
+    }
+
+    private static ModelASTWhenCondition whenCondition(WhenConditionModel whenConditionModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTWhenCondition condition = new ModelASTWhenCondition(null);
+        condition.setName(whenConditionModel.getConditionName());
+        if (whenConditionModel.getWhenConditionModel().isPresent())
+            condition.getChildren().add(whenCondition(whenConditionModel.getWhenConditionModel().get()));
+        for (String rule : whenConditionModel.getWhenRuleList())
+            condition.getChildren().add(whenRule(rule));
+        condition.setArgs(new ModelASTNamedArgumentList(null));
+        return condition;
+    }
+
+    private static ModelASTWhenCondition whenRule(String rule) throws PipelineAsYamlUnsupportedSyntaxException {
+        Statement statement = GroovySnippetParser.parseStatement(rule);
+        if (statement.isAssignment())
+            throw new PipelineAsYamlUnsupportedSyntaxException("Expected a when condition", rule);
+        ModelASTWhenCondition condition = new ModelASTWhenCondition(null);
+        condition.setName(statement.name);
+        condition.setArgs(argumentList(statement.arguments));
+        return condition;
+    }
+
+    /**
+     * Arguments of steps and when conditions, as the Converter reads them: constants are kept,
+     * other values are written as GStrings
+     */
+    private static ModelASTArgumentList argumentList(List<Argument> arguments) {
+        if (arguments.isEmpty())
+            return new ModelASTNamedArgumentList(null);
+        if (arguments.get(0).key != null) {
+            ModelASTNamedArgumentList namedArguments = new ModelASTNamedArgumentList(null);
+            for (Argument argument : arguments)
+                namedArguments.getArguments().put(key(argument.key), value(argument.value));
+            return namedArguments;
+        }
+        if (arguments.size() == 1) {
+            ModelASTSingleArgument singleArgument = new ModelASTSingleArgument(null);
+            singleArgument.setValue(value(arguments.get(0).value));
+            return singleArgument;
+        }
+        ModelASTPositionalArgumentList positionalArguments = new ModelASTPositionalArgumentList(null);
+        for (Argument argument : arguments)
+            positionalArguments.getArguments().add(value(argument.value));
+        return positionalArguments;
+    }
+
+    /**
+     * Options, parameters and triggers, arguments which are method calls are kept as nested method calls
+     */
+    private static <T extends ModelASTMethodCall> T methodCall(Statement statement, T methodCall) throws PipelineAsYamlUnsupportedSyntaxException {
+        if (statement.isAssignment())
+            throw new PipelineAsYamlUnsupportedSyntaxException("Expected a method call", statement.name);
+        methodCall.setName(statement.name);
+        for (Argument argument : statement.arguments) {
+            if (argument.key == null) {
+                methodCall.getArgs().add(methodArg(argument.value));
+            } else {
+                ModelASTKeyValueOrMethodCallPair pair = new ModelASTKeyValueOrMethodCallPair(null);
+                pair.setKey(key(argument.key));
+                pair.setValue(methodArg(argument.value));
+                methodCall.getArgs().add(pair);
+            }
+        }
+        return methodCall;
+    }
+
+    private static ModelASTMethodArg methodArg(Value value) throws PipelineAsYamlUnsupportedSyntaxException {
+        if (value.type == ValueType.CALL)
+            return methodCall(new Statement(value.name, value.arguments, null), new ModelASTMethodCall(null));
+        if (value.type == ValueType.EXPRESSION)
+            throw new PipelineAsYamlUnsupportedSyntaxException("Unsupported argument", value.text);
+        return value(value);
+    }
+
+    private static ModelASTValue singleValue(Statement statement) throws PipelineAsYamlUnsupportedSyntaxException {
+        if (statement.isAssignment() || statement.arguments.size() != 1 || statement.arguments.get(0).key != null)
+            throw new PipelineAsYamlUnsupportedSyntaxException("Expected a single value", statement.name);
+        Value value = statement.arguments.get(0).value;
+        if (value.type != ValueType.CONSTANT && value.type != ValueType.GSTRING)
+            throw new PipelineAsYamlUnsupportedSyntaxException("Expected a string", value.text);
+        return value(value);
+    }
+
+    private static ModelASTValue value(Value value) {
+        switch (value.type) {
+            case CONSTANT:
+                return ModelASTValue.fromConstant(value.constant, null);
+            case GSTRING:
+                return ModelASTValue.fromGString(value.text, null);
+            default:
+                return ModelASTValue.fromGString("${" + value.text + "}", null);
+        }
+    }
+
+    private static ModelASTKey key(String name) {
+        ModelASTKey key = new ModelASTKey(null);
+        key.setKey(name);
+        return key;
+    }
+}
@@ -1,9 +1,9 @@
 package io.jenkins.plugins.pipeline.models;
 
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnsupportedSyntaxException;
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
 import lombok.Builder;
 import lombok.Getter;
-import org.apache.ivy.util.StringUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
 
@@ -17,75 +17,64 @@ import java.util.Optional;
 public class PipelineModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "pipeline";
-    private Optional<AgentModel> agent;
-    private Optional<PostModel> post;
-    private Optional<EnvironmentModel> environment;
-    private Optional<ToolsModel> tools;
-    private Optional<OptionsModel> options;
-    private Optional<ParametersModel> parameters;
-    private Optional<TriggersModel> triggers;
-    private Optional<StagesModel> stages;
-    private Optional<LibraryModel> library;
+    private final Optional<AgentModel> agent;
+    private final Optional<PostModel> post;
+    private final Optional<EnvironmentModel> environment;
+    private final Optional<ToolsModel> tools;
+    private final Optional<OptionsModel> options;
+    private final Optional<ParametersModel> parameters;
+    private final Optional<TriggersModel> triggers;
+    private final Optional<StagesModel> stages;
+    private final Optional<LibraryModel> library;
 
     @Override
-    public String toGroovy() {
-        return new StringBuffer()
-                .append(library.map(LibraryModel::toGroovy).orElse(""))
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.emit(library)
                 .append(directive)
                 .append(getDirectiveOpen())
-                .append(agent.map(AgentModel::toGroovy).orElse(""))
-                .append(tools.map(ToolsModel::toGroovy).orElse(""))
-                .append(environment.map(EnvironmentModel::toGroovy).orElse(""))
-                .append(options.map(OptionsModel::toGroovy).orElse(""))
-                .append(parameters.map(ParametersModel::toGroovy).orElse(""))
-                .append(triggers.map(TriggersModel::toGroovy).orElse(""))
-                .append(stages.map(StagesModel::toGroovy).orElse(""))
-                .append(post.map(PostModel::toGroovy).orElse(""))
-                .append(getDirectiveClose()).toString();
+                .emit(agent)
+                .emit(tools)
+                .emit(environment)
+                .emit(options)
+                .emit(parameters)
+                .emit(triggers)
+                .emit(stages)
+                .emit(post)
+                .append(getDirectiveClose());
     }
 
     /**
      * Converts Model to Pretty Jenkins Declarative Pipeline Syntax
-     * @return
+     * @return Pretty Jenkins Declarative Pipeline Syntax
      */
     public String toPrettyGroovy() {
-        StringBuffer prettyGroovyString = new StringBuffer();
-        String groovyString = this.toGroovy();
-        String[] parsedString = groovyString.split("\n");
-        int indentCounter = 0;
-        for (String line : parsedString) {
-            if (line.length() == 0)
-                continue;
-            if (line.endsWith("{")) {
-                line = indent(indentCounter) + line + "\n";
-                indentCounter++;
-            } else if (line.startsWith("}")) {
-                indentCounter--;
-                line = indent(indentCounter) + line + "\n";
-            } else {
-                line = indent(indentCounter) + line + "\n";
-            }
-            prettyGroovyString.append(line);
-        }
-        return prettyGroovyString.toString();
+        GroovyEmitter groovyEmitter = GroovyEmitter.pretty();
+        groovyEmitter.emit(this);
+        return groovyEmitter.toString();
     }
 
     /**
-     * Create indent at given amount
-     * @param count Number of indents
-     * @return Indent string
+     * Convert Model to {@link ModelASTPipelineDef}.
+     * AST is built directly from the models with {@link PipelineDefBuilder}. If a snippet of the model needs the Groovy parser,
+     * e.g. a step with a closure, model is written without indentation and parsed with {@link Converter} instead.
+     * @return {@link ModelASTPipelineDef}
      */
-    private String indent(int count) {
-        return StringUtils.repeat("  ", (Math.max(count, 0)));
+    public ModelASTPipelineDef toPipelineDef() {
+        try {
+            return PipelineDefBuilder.build(this);
+        } catch (PipelineAsYamlUnsupportedSyntaxException e) {
+            return Converter.scriptToPipelineDef(this.toGroovy());
+        }
     }
 
     /**
      * Convert Model to {@link ModelASTPipelineDef}
      * @return {@link ModelASTPipelineDef}
+     * @deprecated Use {@link #toPipelineDef()}
      */
+    @Deprecated
     public ModelASTPipelineDef validate() {
-        String pipelineString = this.toPrettyGroovy();
-        return Converter.scriptToPipelineDef(pipelineString);
+        return this.toPipelineDef();
     }
 
 }
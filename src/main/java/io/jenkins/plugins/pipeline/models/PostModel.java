@@ -12,7 +12,7 @@ import java.util.List;
 public class PostModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "post";
-    private List<ChildPostModel> childPostModels;
+    private final List<ChildPostModel> childPostModels;
 
     /**
      * @param childPostModels List of {@link ChildPostModel}
@@ -22,11 +22,11 @@ public class PostModel extends AbstractModel implements ParsableModelInterface {
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer()
-                .append(directive)
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive)
                 .append(getDirectiveOpen());
-        childPostModels.forEach(childPostModel -> groovyString.append(childPostModel.toGroovy()));
-        return groovyString.append(getDirectiveClose()).toString();
+        for (ChildPostModel childPostModel : childPostModels)
+            groovyEmitter.emit(childPostModel);
+        groovyEmitter.append(getDirectiveClose());
     }
 }
@@ -1,9 +1,9 @@
 package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
+import lombok.AccessLevel;
 import lombok.Getter;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,47 +14,62 @@ import java.util.Optional;
 public class ScriptModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "script";
-    private List scripts;
-    private Boolean printDirective = true;
+    private final List scripts;
+    @Getter(AccessLevel.NONE)
+    private final CharSequence block;
+    private final Boolean printDirective;
 
     /**
      * @param scripts List of scripts
      */
     public ScriptModel(List scripts) {
+        this(scripts, null, true);
+    }
+
+    /**
+     * @param scripts Multi line script. Script is kept as it is and written without splitting into lines
+     */
+    public ScriptModel(CharSequence scripts) {
+        this(null, scripts, true);
+    }
+
+    private ScriptModel(List scripts, CharSequence block, Boolean printDirective) {
         this.scripts = scripts;
+        this.block = block;
+        this.printDirective = printDirective;
     }
 
     /**
-     * @param scripts Script
+     * @return Scripts, lines of the multi line script if script is given as a single block
      */
-    public ScriptModel(String scripts) {
-        this.scripts = Arrays.asList(scripts.split("\n"));
+    public List getScripts() {
+        return this.block != null ? lines(this.block) : this.scripts;
     }
 
     /**
-     * Set Print directive
-     * @param printDirective True: For printing directive/key in groovy, False: For not printing
+     * Copy of the script which does not print its directive/key in groovy, e.g. for scripts of a {@link SubScriptModel}
+     * @return Script Model without directive
      */
-    public void setPrintDirective(Boolean printDirective) {
-        this.printDirective = printDirective;
+    public ScriptModel withoutDirective() {
+        return new ScriptModel(this.scripts, this.block, false);
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer();
-        groovyString
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter
                 .append(printDirective ? directive:"")
-                .append(this.getDirectiveOpen());
-        for(Object script : this.scripts) {
+                .append(getDirectiveOpen());
+        if (this.block != null)
+            emitBlock(groovyEmitter, this.block);
+        else for(Object script : this.scripts) {
             if( script instanceof String)
-                groovyString.append(script).append("\n");
+                groovyEmitter.append((String) script).append("\n");
             else {
                 Optional<SubScriptModel> subScriptModel = (Optional<SubScriptModel>) script;
-                groovyString.append(subScriptModel.map(SubScriptModel::toGroovy).orElse(""));
+                groovyEmitter.emit(subScriptModel);
             }
         }
-        groovyString.append(this.getDirectiveClose());
-        return groovyString.toString();
+        groovyEmitter.append(getDirectiveClose());
     }
 
 }
@@ -1,33 +1,30 @@
 package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
-import lombok.Getter;
-import lombok.Setter;
 
 import java.util.Optional;
 
 /**
  * Model Class for Jenkins Declarative Pipeline Stage Section
  */
-@Getter
-@Setter
 public class StageModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "stage";
     public static final String failFastKey = "failFast";
     public static final String beforeAgentKey = "beforeAgent";
-    private String name;
-    private Optional<StepsModel> stepsModel;
-    private Optional<AgentModel> agentModel;
-    private Optional<PostModel> postModel;
-    private Optional<ToolsModel> toolsModel;
-    private Optional<StagesModel> stagesModel;
-    private Optional<EnvironmentModel> environmentModel;
-    private Optional<ParallelModel> parallelModel;
-    private Optional<Boolean> failFast;
-    private Optional<InputModel> inputModel;
-    private Optional<WhenModel> whenModel;
-    private Optional<OptionsModel> optionsModel;
+    private final String name;
+    // Absent directives are kept as null instead of empty Optionals, getters wrap them on demand
+    private final StepsModel stepsModel;
+    private final AgentModel agentModel;
+    private final PostModel postModel;
+    private final ToolsModel toolsModel;
+    private final StagesModel stagesModel;
+    private final EnvironmentModel environmentModel;
+    private final ParallelModel parallelModel;
+    private final Boolean failFast;
+    private final InputModel inputModel;
+    private final WhenModel whenModel;
+    private final OptionsModel optionsModel;
 
 
     /**
@@ -46,40 +43,86 @@ public class StageModel extends AbstractModel implements ParsableModelInterface
      * @param optionsModel {@link OptionsModel}
      */
     public StageModel(String name, Optional<StepsModel> stepsModel, Optional<AgentModel> agentModel, Optional<PostModel> postModel, Optional<ToolsModel> toolsModel, Optional<StagesModel> stagesModel, Optional<EnvironmentModel> environmentModel, Optional<ParallelModel> parallelModel, Optional<Boolean> failFast, Optional<InputModel> inputModel, Optional<WhenModel> whenModel, Optional<Boolean> beforeAgent, Optional<OptionsModel> optionsModel) {
-        this.name = name;
-        this.stepsModel = stepsModel;
-        this.agentModel = agentModel;
-        this.postModel = postModel;
-        this.toolsModel = toolsModel;
-        this.stagesModel = stagesModel;
-        this.environmentModel = environmentModel;
-        this.parallelModel = parallelModel;
-        this.failFast = failFast;
-        this.inputModel = inputModel;
-        this.optionsModel = optionsModel;
-        this.whenModel = whenModel;
-        this.whenModel.ifPresent(model -> model.setBeforeAgent(beforeAgent));
+        this.name = intern(name);
+        this.stepsModel = stepsModel.orElse(null);
+        this.agentModel = agentModel.orElse(null);
+        this.postModel = postModel.orElse(null);
+        this.toolsModel = toolsModel.orElse(null);
+        this.stagesModel = stagesModel.orElse(null);
+        this.environmentModel = environmentModel.orElse(null);
+        this.parallelModel = parallelModel.orElse(null);
+        this.failFast = failFast.orElse(null);
+        this.inputModel = inputModel.orElse(null);
+        this.optionsModel = optionsModel.orElse(null);
+        this.whenModel = whenModel.map(model -> model.withBeforeAgent(beforeAgent)).orElse(null);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Optional<StepsModel> getStepsModel() {
+        return Optional.ofNullable(stepsModel);
+    }
+
+    public Optional<AgentModel> getAgentModel() {
+        return Optional.ofNullable(agentModel);
+    }
+
+    public Optional<PostModel> getPostModel() {
+        return Optional.ofNullable(postModel);
+    }
+
+    public Optional<ToolsModel> getToolsModel() {
+        return Optional.ofNullable(toolsModel);
+    }
+
+    public Optional<StagesModel> getStagesModel() {
+        return Optional.ofNullable(stagesModel);
+    }
+
+    public Optional<EnvironmentModel> getEnvironmentModel() {
+        return Optional.ofNullable(environmentModel);
+    }
+
+    public Optional<ParallelModel> getParallelModel() {
+        return Optional.ofNullable(parallelModel);
+    }
+
+    public Optional<Boolean> getFailFast() {
+        return Optional.ofNullable(failFast);
+    }
+
+    public Optional<InputModel> getInputModel() {
+        return Optional.ofNullable(inputModel);
+    }
+
+    public Optional<WhenModel> getWhenModel() {
+        return Optional.ofNullable(whenModel);
+    }
+
+    public Optional<OptionsModel> getOptionsModel() {
+        return Optional.ofNullable(optionsModel);
     }
 
     @Override
-    public String toGroovy() {
+    public void emit(GroovyEmitter groovyEmitter) {
         //FIXME There should be order
-        StringBuffer groovyString = new StringBuffer();
-        groovyString.append(getStageOpen())
+        groovyEmitter.append(getStageOpen())
                 .append(this.name)
                 .append(getStageClose())
                 .append(getDirectiveOpen())
-                .append(agentModel.map(AgentModel::toGroovy).orElse(""))
-                .append(environmentModel.map(EnvironmentModel::toGroovy).orElse(""))
-                .append(toolsModel.map(ToolsModel::toGroovy).orElse(""))
-                .append(inputModel.map(InputModel::toGroovy).orElse(""))
-                .append(whenModel.map(WhenModel::toGroovy).orElse(""))
-                .append(stagesModel.map(StagesModel::toGroovy).orElse(""))
-                .append(optionalBooleanToGroovy(failFast, failFastKey)).append("\n")
-                .append(parallelModel.map(ParallelModel::toGroovy).orElse(""))
-                .append(stepsModel.map(StepsModel::toGroovy).orElse(""))
-                .append(postModel.map(PostModel::toGroovy).orElse(""))
+                .emit(agentModel)
+                .emit(environmentModel)
+                .emit(toolsModel)
+                .emit(inputModel)
+                .emit(whenModel)
+                .emit(stagesModel);
+        emitOptionalBoolean(groovyEmitter, failFast, failFastKey);
+        groovyEmitter.append("\n")
+                .emit(parallelModel)
+                .emit(stepsModel)
+                .emit(postModel)
                 .append(getDirectiveClose());
-        return groovyString.toString();
     }
 }
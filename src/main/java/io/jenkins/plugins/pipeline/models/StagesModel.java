@@ -2,7 +2,6 @@ package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.util.List;
 
@@ -10,11 +9,10 @@ import java.util.List;
  * Model Class for Jenkins Declarative Pipeline Stages Section
  */
 @Getter
-@Setter
 public class StagesModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "stages";
-    private List<StageModel> stageModelList;
+    private final List<StageModel> stageModelList;
 
     /**
      *      * @param stageModelList List of {@link StageModel}
@@ -24,11 +22,11 @@ public class StagesModel extends AbstractModel implements ParsableModelInterface
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer()
-                .append(directive)
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive)
                 .append(getDirectiveOpen());
-        stageModelList.forEach(stageModel -> groovyString.append(stageModel.toGroovy()));
-        return groovyString.append(getDirectiveClose()).toString();
+        for (StageModel stageModel : stageModelList)
+            groovyEmitter.emit(stageModel);
+        groovyEmitter.append(getDirectiveClose());
     }
 }
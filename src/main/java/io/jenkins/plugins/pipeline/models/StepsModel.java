@@ -1,11 +1,10 @@
 package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,47 +12,64 @@ import java.util.Optional;
  * Model Class for Jenkins Declarative Pipeline Steps Section
  */
 @Getter
-@Setter
 public class StepsModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "steps";
-    private List<String> steps = new ArrayList<>();
-    private Optional<ScriptModel> script = Optional.empty();
+    private final List<String> steps;
+    @Getter(AccessLevel.NONE)
+    private final CharSequence block;
+    private final ScriptModel script;
 
     /**
      * @param steps List of Steps
      */
     public StepsModel(List<String> steps) {
         this.steps = steps;
+        this.block = null;
+        this.script = null;
     }
 
     /**
      * @param script {@link ScriptModel}
      */
     public StepsModel(Optional<ScriptModel> script) {
-        this.script = script;
+        this.steps = Collections.emptyList();
+        this.block = null;
+        this.script = script.orElse(null);
     }
 
     /**
-     * @param steps Step
+     * @param steps Multi line steps. Steps are kept as they are and written without splitting into lines
      */
-    public StepsModel(String steps) {
-        this.steps = Arrays.asList(steps.split("\n"));
+    public StepsModel(CharSequence steps) {
+        this.steps = Collections.emptyList();
+        this.block = steps;
+        this.script = null;
+    }
+
+    /**
+     * @return Steps, lines of the multi line steps if steps are given as a single block
+     */
+    public List<String> getSteps() {
+        return this.block != null ? lines(this.block) : this.steps;
+    }
+
+    /**
+     * @return {@link ScriptModel} of the steps
+     */
+    public Optional<ScriptModel> getScript() {
+        return Optional.ofNullable(this.script);
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer();
-        groovyString
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter
                 .append(directive)
-                .append(this.getDirectiveOpen());
-        steps.stream().forEach(step -> {
-            groovyString.append(step).append("\n");
-        });
-        groovyString
-                .append(script.map(ScriptModel::toGroovy).orElse(""))
-                .append(this.getDirectiveClose());
-        return groovyString.toString();
+                .append(getDirectiveOpen());
+        this.emitForPostModel(groovyEmitter);
+        groovyEmitter
+                .emit(script)
+                .append(getDirectiveClose());
     }
 
     /**
@@ -61,11 +77,22 @@ public class StepsModel extends AbstractModel implements ParsableModelInterface
      * @return Steps in Groovy Format for Post Section
      */
     public String toGroovyForPostModel() {
-        StringBuffer groovyString = new StringBuffer();
-        steps.stream().forEach(step -> {
-            groovyString.append(step).append("\n");
-        });
-        return groovyString.toString();
+        GroovyEmitter groovyEmitter = GroovyEmitter.raw();
+        this.emitForPostModel(groovyEmitter);
+        return groovyEmitter.toString();
+    }
+
+    /**
+     * Write steps in Groovy Format for Post Section
+     * @param groovyEmitter Emitter to write into
+     */
+    public void emitForPostModel(GroovyEmitter groovyEmitter) {
+        if (this.block != null) {
+            emitBlock(groovyEmitter, this.block);
+            return;
+        }
+        for (String step : steps)
+            groovyEmitter.append(step).append("\n");
     }
 
 
@@ -2,7 +2,6 @@ package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.util.Optional;
 
@@ -10,13 +9,12 @@ import java.util.Optional;
  * Model Class for {@link ScriptModel} inner script definitions
  */
 @Getter
-@Setter
 public class SubScriptModel extends AbstractModel implements ParsableModelInterface {
 
-    public static String valueKey = "value";
-    private String directive;
-    private Optional<String> value;
-    private ScriptModel scriptModel;
+    public static final String valueKey = "value";
+    private final String directive;
+    private final Optional<String> value;
+    private final ScriptModel scriptModel;
 
     /**
      * @param directive Name of the directive
@@ -26,20 +24,17 @@ public class SubScriptModel extends AbstractModel implements ParsableModelInterf
     public SubScriptModel(String directive, Optional<String> value, ScriptModel scriptModel) {
         this.directive = directive;
         this.value = value;
-        this.scriptModel = scriptModel;
-        this.scriptModel.setPrintDirective(false);
+        this.scriptModel = scriptModel.withoutDirective();
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer()
-                .append(directive);
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive);
         if(value.isPresent()) {
-            groovyString.append(getGetBracketsOpen())
+            groovyEmitter.append(getGetBracketsOpen())
                     .append(value.get())
                     .append(getGetBracketsClose());
         }
-        groovyString.append(scriptModel.toGroovy());
-        return groovyString.toString();
+        groovyEmitter.emit(scriptModel);
     }
 }
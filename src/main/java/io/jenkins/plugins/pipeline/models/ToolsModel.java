@@ -2,7 +2,6 @@ package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.util.List;
 
@@ -11,11 +10,10 @@ import java.util.List;
  * Model Class for Jenkins Declarative Pipeline Tool Section
  */
 @Getter
-@Setter
 public class ToolsModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "tools";
-    private List<ChildToolModel> childToolModels;
+    private final List<ChildToolModel> childToolModels;
 
     /**
      * @param childToolModels List of {@link ChildToolModel}
@@ -25,11 +23,11 @@ public class ToolsModel extends AbstractModel implements ParsableModelInterface
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString  = new StringBuffer()
-                .append(directive)
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive)
                 .append(getDirectiveOpen());
-        childToolModels.forEach(childToolModel -> groovyString.append(childToolModel.toGroovy()));
-        return groovyString.append(getDirectiveClose()).toString();
+        for (ChildToolModel childToolModel : childToolModels)
+            groovyEmitter.emit(childToolModel);
+        groovyEmitter.append(getDirectiveClose());
     }
 }
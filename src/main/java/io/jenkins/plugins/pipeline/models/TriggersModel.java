@@ -2,7 +2,6 @@ package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.util.List;
 
@@ -10,11 +9,10 @@ import java.util.List;
  * Model Class for Jenkins Declarative Pipeline Triggers Section
  */
 @Getter
-@Setter
 public class TriggersModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "triggers";
-    private List<String> triggersList;
+    private final List<String> triggersList;
 
     /**
      * @param triggersList List of trigger definitions
@@ -24,15 +22,12 @@ public class TriggersModel extends AbstractModel implements ParsableModelInterfa
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer();
-        groovyString
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter
                 .append(directive)
-                .append(this.getDirectiveOpen());
-        triggersList.stream().forEach(trigger -> {
-            groovyString.append(trigger).append("\n");
-        });
-        groovyString.append(this.getDirectiveClose());
-        return groovyString.toString();
+                .append(getDirectiveOpen());
+        for (String trigger : triggersList)
+            groovyEmitter.append(trigger).append("\n");
+        groovyEmitter.append(getDirectiveClose());
     }
 }
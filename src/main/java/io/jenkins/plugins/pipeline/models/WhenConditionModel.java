@@ -2,9 +2,8 @@ package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
 import lombok.Getter;
-import lombok.Setter;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +11,11 @@ import java.util.Optional;
  * Model Class for {@link WhenModel} Conditions
  */
 @Getter
-@Setter
 public class WhenConditionModel extends AbstractModel implements ParsableModelInterface {
 
-    private String conditionName;
-    private List<String> whenRuleList = new ArrayList<>();
-    private Optional<WhenConditionModel> whenConditionModel = Optional.empty();
+    private final String conditionName;
+    private final List<String> whenRuleList;
+    private final Optional<WhenConditionModel> whenConditionModel;
 
     /**
      * @param conditionName Name of the condition
@@ -26,6 +24,7 @@ public class WhenConditionModel extends AbstractModel implements ParsableModelIn
     public WhenConditionModel(String conditionName, List<String> whenRuleList) {
         this.conditionName = conditionName;
         this.whenRuleList = whenRuleList;
+        this.whenConditionModel = Optional.empty();
     }
 
     /**
@@ -34,18 +33,16 @@ public class WhenConditionModel extends AbstractModel implements ParsableModelIn
      */
     public WhenConditionModel(String conditionName, Optional<WhenConditionModel> whenConditionModel) {
         this.conditionName = conditionName;
+        this.whenRuleList = Collections.emptyList();
         this.whenConditionModel = whenConditionModel;
     }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer();
-        groovyString.append(conditionName).append(getDirectiveOpen());
-        groovyString.append(whenConditionModel.map(WhenConditionModel::toGroovy).orElse(""));
-        whenRuleList.forEach(rule -> {
-            groovyString.append(rule).append("\n");
-        });
-        groovyString.append(getDirectiveClose());
-        return groovyString.toString();
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(conditionName).append(getDirectiveOpen());
+        groovyEmitter.emit(whenConditionModel);
+        for (String rule : whenRuleList)
+            groovyEmitter.append(rule).append("\n");
+        groovyEmitter.append(getDirectiveClose());
     }
 }
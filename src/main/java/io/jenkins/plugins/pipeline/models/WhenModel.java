@@ -2,9 +2,8 @@ package io.jenkins.plugins.pipeline.models;
 
 import io.jenkins.plugins.pipeline.interfaces.ParsableModelInterface;
 import lombok.Getter;
-import lombok.Setter;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,41 +11,51 @@ import java.util.Optional;
  * Model Class for Jenkins Declarative Pipeline When Section
  */
 @Getter
-@Setter
 public class WhenModel extends AbstractModel implements ParsableModelInterface {
 
     public static final String directive = "when";
-    private Optional<WhenConditionModel> whenConditionModel = Optional.empty();
-    private List<String> whenRuleList = new ArrayList<>();
+    private final Optional<WhenConditionModel> whenConditionModel;
+    private final List<String> whenRuleList;
     public static final String beforeAgentKey = "beforeAgent";
-    private Optional<Boolean> beforeAgent;
+    private final Optional<Boolean> beforeAgent;
 
     /**
      * @param whenRuleList List of when rules
      */
     public WhenModel(List<String> whenRuleList) {
-        this.whenRuleList = whenRuleList;
+        this(Optional.empty(), whenRuleList, Optional.empty());
     }
 
     /**
      * @param whenConditionModel {@link WhenConditionModel}
      */
     public WhenModel(Optional<WhenConditionModel> whenConditionModel) {
-        this.whenConditionModel = whenConditionModel;
+        this(whenConditionModel, Collections.emptyList(), Optional.empty());
     }
 
+    private WhenModel(Optional<WhenConditionModel> whenConditionModel, List<String> whenRuleList, Optional<Boolean> beforeAgent) {
+        this.whenConditionModel = whenConditionModel;
+        this.whenRuleList = whenRuleList;
+        this.beforeAgent = beforeAgent;
+    }
 
+    /**
+     * Used by {@link StageModel}, since beforeAgent is defined on the stage
+     * @param beforeAgent Flag for beforeAgent option
+     * @return Copy of the model with the beforeAgent option
+     */
+    WhenModel withBeforeAgent(Optional<Boolean> beforeAgent) {
+        return new WhenModel(this.whenConditionModel, this.whenRuleList, beforeAgent);
+    }
 
     @Override
-    public String toGroovy() {
-        StringBuffer groovyString = new StringBuffer();
-        groovyString.append(directive).append(getDirectiveOpen());
-        groovyString.append(optionalBooleanToGroovy(this.beforeAgent, beforeAgentKey)).append("\n");
-        whenRuleList.forEach(rule -> {
-            groovyString.append(rule).append("\n");
-        });
-        groovyString.append(whenConditionModel.map(WhenConditionModel::toGroovy).orElse(""));
-        groovyString.append(getDirectiveClose());
-        return groovyString.toString();
+    public void emit(GroovyEmitter groovyEmitter) {
+        groovyEmitter.append(directive).append(getDirectiveOpen());
+        emitOptionalBoolean(groovyEmitter, this.beforeAgent, beforeAgentKey);
+        groovyEmitter.append("\n");
+        for (String rule : whenRuleList)
+            groovyEmitter.append(rule).append("\n");
+        groovyEmitter.emit(whenConditionModel);
+        groovyEmitter.append(getDirectiveClose());
     }
 }
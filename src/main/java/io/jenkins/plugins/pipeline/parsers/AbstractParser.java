@@ -4,28 +4,27 @@ import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlKeyEmptyException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlNodeNotFoundException;
 import io.jenkins.plugins.pipeline.models.*;
 import lombok.Getter;
-import lombok.Setter;
-import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.SafeConstructor;
-import org.yaml.snakeyaml.representer.Representer;
 
 import java.util.*;
 
 /**
- * Abstract parser class which Parsers extends
+ * Abstract parser class which Parsers extends.
+ * Parsers are stateless, the node to parse is given to each call.
  */
 @Getter
-@Setter
 public abstract class AbstractParser {
 
-    protected String yamlNodeName = "";
-    protected Yaml yaml;
-    public AbstractParser() {
-        Representer representer = new Representer();
-        representer.setDefaultScalarStyle(DumperOptions.ScalarStyle.PLAIN);
-        representer.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-        this.yaml = new Yaml(new SafeConstructor(), representer);
+    protected final String yamlNodeName;
+
+    /**
+     * @param yamlNodeName Key of the node which is parsed
+     */
+    protected AbstractParser(String yamlNodeName) {
+        this.yamlNodeName = yamlNodeName;
+    }
+
+    protected AbstractParser() {
+        this("");
     }
 
     /**
@@ -48,10 +47,16 @@ public abstract class AbstractParser {
      * @throws PipelineAsYamlNodeNotFoundException if child node is not found in parent node
      */
     protected LinkedHashMap getChildNodeAsLinkedHashMap(LinkedHashMap parentNode) throws PipelineAsYamlNodeNotFoundException {
-        LinkedHashMap childNode = (LinkedHashMap) parentNode.get(this.yamlNodeName);
-        if (childNode == null)
-            throw new PipelineAsYamlNodeNotFoundException(this.yamlNodeName);
-        return childNode;
+        return this.findChildNodeAsLinkedHashMap(parentNode).orElseThrow(() -> new PipelineAsYamlNodeNotFoundException(this.yamlNodeName));
+    }
+
+    /**
+     * Find child node of the parent node as {@link LinkedHashMap}. Key is yamlNodeName
+     * @param parentNode Parent Map
+     * @return Child node as {@link LinkedHashMap} retrieved with yamlNodeName, empty if child node is not found in parent node
+     */
+    protected Optional<LinkedHashMap> findChildNodeAsLinkedHashMap(LinkedHashMap parentNode) {
+        return Optional.ofNullable((LinkedHashMap) parentNode.get(this.yamlNodeName));
     }
 
     /**
@@ -61,10 +66,16 @@ public abstract class AbstractParser {
      * @throws PipelineAsYamlNodeNotFoundException if child node is not found in parent node
      */
     protected List getChildNodeAsList(LinkedHashMap parentNode) throws PipelineAsYamlNodeNotFoundException {
-        List childNode = (List) parentNode.get(this.yamlNodeName);
-        if (childNode == null)
-            throw new PipelineAsYamlNodeNotFoundException(this.yamlNodeName);
-        return childNode;
+        return this.findChildNodeAsList(parentNode).orElseThrow(() -> new PipelineAsYamlNodeNotFoundException(this.yamlNodeName));
+    }
+
+    /**
+     * Find child node of the parent node as {@link List}. Key is yamlNodeName
+     * @param parentNode Parent Map
+     * @return Child node as {@link List} retrieved with yamlNodeName, empty if child node is not found in parent node
+     */
+    protected Optional<List> findChildNodeAsList(LinkedHashMap parentNode) {
+        return Optional.ofNullable((List) parentNode.get(this.yamlNodeName));
     }
 
     /**
@@ -74,10 +85,16 @@ public abstract class AbstractParser {
      * @throws PipelineAsYamlNodeNotFoundException if child node is not found in parent node
      */
     protected String getChildNodeAsString(LinkedHashMap parentNode) throws PipelineAsYamlNodeNotFoundException {
-        String childNode = (String) parentNode.get(this.yamlNodeName);
-        if (childNode == null)
-            throw new PipelineAsYamlNodeNotFoundException(this.yamlNodeName);
-        return childNode;
+        return this.findChildNodeAsString(parentNode).orElseThrow(() -> new PipelineAsYamlNodeNotFoundException(this.yamlNodeName));
+    }
+
+    /**
+     * Find child node of the parent node as {@link String}. Key is yamlNodeName
+     * @param parentNode Parent Map
+     * @return Child node as {@link String} retrieved with yamlNodeName, empty if child node is not found in parent node
+     */
+    protected Optional<String> findChildNodeAsString(LinkedHashMap parentNode) {
+        return Optional.ofNullable((String) parentNode.get(this.yamlNodeName));
     }
 
     /**
@@ -87,10 +104,16 @@ public abstract class AbstractParser {
      * @throws PipelineAsYamlNodeNotFoundException if child node is not found in parent node
      */
     protected Object getChildNodeAsObject(LinkedHashMap parentNode) throws PipelineAsYamlNodeNotFoundException {
-        Object childNode = parentNode.get(this.yamlNodeName);
-        if (childNode == null)
-            throw new PipelineAsYamlNodeNotFoundException(this.yamlNodeName);
-        return childNode;
+        return this.findChildNodeAsObject(parentNode).orElseThrow(() -> new PipelineAsYamlNodeNotFoundException(this.yamlNodeName));
+    }
+
+    /**
+     * Find child node of the parent node as {@link Object}. Key is yamlNodeName
+     * @param parentNode Parent Map
+     * @return Child node as {@link Object} retrieved with yamlNodeName, empty if child node is not found in parent node
+     */
+    protected Optional<Object> findChildNodeAsObject(LinkedHashMap parentNode) {
+        return Optional.ofNullable(parentNode.get(this.yamlNodeName));
     }
 
     /**
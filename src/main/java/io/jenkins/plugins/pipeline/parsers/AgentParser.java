@@ -1,7 +1,7 @@
 package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.AgentModel;
 
 import java.util.LinkedHashMap;
@@ -10,25 +10,22 @@ import java.util.Optional;
 /**
  * Parser for {@link AgentModel}
  */
-public class AgentParser extends AbstractParser implements ParserInterface<AgentModel> {
+public class AgentParser extends AbstractParser implements DirectiveParserInterface<AgentModel> {
 
-    private LinkedHashMap agentNode;
-    private LinkedHashMap parentNode;
+    public static final AgentParser instance = new AgentParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public AgentParser(LinkedHashMap parentNode){
-        this.yamlNodeName = AgentModel.directive;
-        this.parentNode = parentNode;
+    private AgentParser() {
+        super(AgentModel.directive);
     }
 
     @Override
-    public Optional<AgentModel> parse() {
+    public Optional<AgentModel> parse(LinkedHashMap parentNode, ParserContext context) {
         try {
-            this.agentNode = this.getChildNodeAsLinkedHashMap(parentNode);
-            String agentType = this.getKey(this.agentNode);
-            return Optional.of(new AgentModel(agentType, this.extractParameters(this.agentNode.get(agentType))));
+            Optional<LinkedHashMap> agentNode = this.findChildNodeAsLinkedHashMap(parentNode);
+            if (!agentNode.isPresent())
+                return Optional.empty();
+            String agentType = this.getKey(agentNode.get());
+            return Optional.of(new AgentModel(agentType, this.extractParameters(agentNode.get().get(agentType))));
         }
         catch (PipelineAsYamlException p) {
             return Optional.empty();
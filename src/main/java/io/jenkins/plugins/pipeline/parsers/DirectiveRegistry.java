@@ -0,0 +1,127 @@
+package io.jenkins.plugins.pipeline.parsers;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionBudget;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of the directives which can be defined in a node.
+ * Parsing iterates the keys present in the node once and dispatches each key to its parser,
+ * so the cost of parsing a node depends on its content instead of the number of known directives.
+ * Keys which are neither directives nor attributes are reported as unknown keys.
+ * Registries are filled once and only read afterwards, so they can be shared by concurrent conversions.
+ */
+public class DirectiveRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger(DirectiveRegistry.class.getName());
+
+    private final Map<String, DirectiveParserInterface<?>> parsers = new HashMap<>();
+    private final Set<String> attributes = new HashSet<>();
+
+    /**
+     * Register parser of a directive
+     * @param directive Key of the directive
+     * @param parser Parser of the directive
+     * @return Registry
+     */
+    public DirectiveRegistry register(String directive, DirectiveParserInterface<?> parser) {
+        this.parsers.put(directive, parser);
+        return this;
+    }
+
+    /**
+     * Register a key which is read by the owner of the node, instead of a directive parser
+     * @param attribute Key of the attribute
+     * @return Registry
+     */
+    public DirectiveRegistry attribute(String attribute) {
+        this.attributes.add(attribute);
+        return this;
+    }
+
+    /**
+     * Parse directives present in the node
+     * @param node Node which contains directive definitions as yaml
+     * @param nodeName Name of the node for reporting unknown keys
+     * @param context Context of the conversion, unknown keys of the node are reported into it
+     * @return Parsed directives
+     */
+    public Directives parse(LinkedHashMap node, String nodeName, ParserContext context) {
+        return this.parse(node, nodeName, context, Collections.emptySet());
+    }
+
+    /**
+     * Parse directives present in the node, except the deferred ones which are parsed by the caller
+     * @param node Node which contains directive definitions as yaml
+     * @param nodeName Name of the node for reporting unknown keys
+     * @param context Context of the conversion, unknown keys of the node are reported into it
+     * @param deferred Keys of the directives which are not parsed
+     * @return Parsed directives
+     */
+    public Directives parse(LinkedHashMap node, String nodeName, ParserContext context, Set<String> deferred) {
+        Map<String, Optional<?>> models = new HashMap<>();
+        for (Object key : node.keySet()) {
+            ConversionBudget.check();
+            if (deferred.contains(key))
+                continue;
+            DirectiveParserInterface<?> parser = this.parsers.get(key);
+            if (parser != null) {
+                models.put((String) key, parser.parse(node, context));
+            } else if (!this.attributes.contains(key)) {
+                String unknownKey = nodeName + "." + key;
+                context.addUnknownKey(unknownKey);
+                LOGGER.log(Level.FINE, "Unknown key {0}", unknownKey);
+            }
+        }
+        return new Directives(models);
+    }
+
+    /**
+     * Parsed directives of a node
+     */
+    public static class Directives {
+
+        private final Map<String, Optional<?>> models;
+
+        private Directives(Map<String, Optional<?>> models) {
+            this.models = models;
+        }
+
+        /**
+         * Get parsed model of a directive
+         * @param directive Key of the directive
+         * @param <T> Model type
+         * @return Parsed model, empty if directive is not defined in the node
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Optional<T> get(String directive) {
+            Optional<?> model = this.models.get(directive);
+            return model != null ? (Optional<T>) model : Optional.empty();
+        }
+
+        /**
+         * Add model of a deferred directive
+         * @param directive Key of the directive
+         * @param model Parsed model, empty if directive is not valid
+         */
+        void put(String directive, Optional<?> model) {
+            this.models.put(directive, model);
+        }
+
+        /**
+         * @return Keys of the parsed directives
+         */
+        public Set<String> getDirectives() {
+            return Collections.unmodifiableSet(this.models.keySet());
+        }
+    }
+}
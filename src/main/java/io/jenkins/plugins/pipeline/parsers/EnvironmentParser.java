@@ -1,7 +1,6 @@
 package io.jenkins.plugins.pipeline.parsers;
 
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.EnvironmentModel;
 
 import java.util.LinkedHashMap;
@@ -10,27 +9,19 @@ import java.util.Optional;
 /**
  * Parser for {@link EnvironmentModel}
  */
-public class EnvironmentParser extends AbstractParser implements ParserInterface<EnvironmentModel> {
+public class EnvironmentParser extends AbstractParser implements DirectiveParserInterface<EnvironmentModel> {
 
-    private LinkedHashMap environmentNode;
-    private LinkedHashMap parentNode;
+    public static final EnvironmentParser instance = new EnvironmentParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public EnvironmentParser(LinkedHashMap parentNode){
-        this.yamlNodeName = EnvironmentModel.directive;
-        this.parentNode = parentNode;
+    private EnvironmentParser() {
+        super(EnvironmentModel.directive);
     }
 
     @Override
-    public Optional<EnvironmentModel> parse() {
-        try {
-            this.environmentNode = this.getChildNodeAsLinkedHashMap(parentNode);
-            return Optional.of(new EnvironmentModel(this.convertEnvironmentVariableModel(this.extractParameters(this.environmentNode))));
-        }
-        catch (PipelineAsYamlException p) {
+    public Optional<EnvironmentModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        Optional<LinkedHashMap> environmentNode = this.findChildNodeAsLinkedHashMap(parentNode);
+        if (!environmentNode.isPresent())
             return Optional.empty();
-        }
+        return Optional.of(new EnvironmentModel(this.convertEnvironmentVariableModel(this.extractParameters(environmentNode.get()))));
     }
 }
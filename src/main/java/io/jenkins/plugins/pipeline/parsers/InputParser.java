@@ -1,7 +1,7 @@
 package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.InputModel;
 import io.jenkins.plugins.pipeline.models.ParametersModel;
 
@@ -11,33 +11,33 @@ import java.util.Optional;
 /**
  * Parser for {@link InputModel}
  */
-public class InputParser extends AbstractParser implements ParserInterface<InputModel> {
+public class InputParser extends AbstractParser implements DirectiveParserInterface<InputModel> {
 
-    private LinkedHashMap parentNode;
-    private String messageKey = InputModel.messageKey;
-    private String idKey = InputModel.idKey;
-    private String okKey = InputModel.okKey;
-    private String submitterKey = InputModel.submitterKey;
-    private String submitterParameterKey = InputModel.submitterParameterKey;
+    public static final InputParser instance = new InputParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public InputParser(LinkedHashMap parentNode){
-        this.yamlNodeName = InputModel.directive;
-        this.parentNode = parentNode;
+    private static final String messageKey = InputModel.messageKey;
+    private static final String idKey = InputModel.idKey;
+    private static final String okKey = InputModel.okKey;
+    private static final String submitterKey = InputModel.submitterKey;
+    private static final String submitterParameterKey = InputModel.submitterParameterKey;
+
+    private InputParser() {
+        super(InputModel.directive);
     }
 
     @Override
-    public Optional<InputModel> parse() {
+    public Optional<InputModel> parse(LinkedHashMap parentNode, ParserContext context) {
         try {
-            LinkedHashMap inputNode = this.getChildNodeAsLinkedHashMap(this.parentNode);
-            String message = (String) this.getValue(inputNode, this.messageKey);
-            Optional<String> id = Optional.ofNullable((String)inputNode.get(this.idKey));
-            Optional<String> ok = Optional.ofNullable((String)inputNode.get(this.okKey));
-            Optional<String> submitter = Optional.ofNullable((String)inputNode.get(this.submitterKey));
-            Optional<String> submitterParameter = Optional.ofNullable((String)inputNode.get(this.submitterParameterKey));
-            Optional<ParametersModel> parametersModel = new ParametersParser(inputNode).parse();
+            Optional<LinkedHashMap> inputNodeOptional = this.findChildNodeAsLinkedHashMap(parentNode);
+            if (!inputNodeOptional.isPresent())
+                return Optional.empty();
+            LinkedHashMap inputNode = inputNodeOptional.get();
+            String message = (String) this.getValue(inputNode, messageKey);
+            Optional<String> id = Optional.ofNullable((String)inputNode.get(idKey));
+            Optional<String> ok = Optional.ofNullable((String)inputNode.get(okKey));
+            Optional<String> submitter = Optional.ofNullable((String)inputNode.get(submitterKey));
+            Optional<String> submitterParameter = Optional.ofNullable((String)inputNode.get(submitterParameterKey));
+            Optional<ParametersModel> parametersModel = ParametersParser.instance.parse(inputNode, context);
             return Optional.of(new InputModel(message,id,ok,submitter,submitterParameter,parametersModel));
         }
         catch (PipelineAsYamlException p) {
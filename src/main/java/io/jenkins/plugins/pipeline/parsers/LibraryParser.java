@@ -2,7 +2,7 @@ package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnknownTypeException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.LibraryModel;
 
 import java.util.LinkedHashMap;
@@ -12,22 +12,21 @@ import java.util.Optional;
 /**
  * Parser for {@link LibraryModel}
  */
-public class LibraryParser extends AbstractParser implements ParserInterface<LibraryModel> {
+public class LibraryParser extends AbstractParser implements DirectiveParserInterface<LibraryModel> {
 
-    private LinkedHashMap parentNode;
+    public static final LibraryParser instance = new LibraryParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public LibraryParser(LinkedHashMap parentNode){
-        this.yamlNodeName = LibraryModel.directive;
-        this.parentNode = parentNode;
+    private LibraryParser() {
+        super(LibraryModel.directive);
     }
 
     @Override
-    public Optional<LibraryModel> parse() {
+    public Optional<LibraryModel> parse(LinkedHashMap parentNode, ParserContext context) {
         try {
-            Object childNode = this.getChildNodeAsObject(parentNode);
+            Optional<Object> childNodeOptional = this.findChildNodeAsObject(parentNode);
+            if (!childNodeOptional.isPresent())
+                return Optional.empty();
+            Object childNode = childNodeOptional.get();
             if( childNode instanceof String) {
                 return Optional.of(new LibraryModel((String) childNode));
             }
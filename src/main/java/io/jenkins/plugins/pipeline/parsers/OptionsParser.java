@@ -1,7 +1,6 @@
 package io.jenkins.plugins.pipeline.parsers;
 
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.OptionsModel;
 
 import java.util.LinkedHashMap;
@@ -11,27 +10,19 @@ import java.util.Optional;
 /**
  * Parser for {@link OptionsModel}
  */
-public class OptionsParser extends AbstractParser implements ParserInterface<OptionsModel> {
+public class OptionsParser extends AbstractParser implements DirectiveParserInterface<OptionsModel> {
 
-    private List optionsNode;
-    private LinkedHashMap parentNode;
+    public static final OptionsParser instance = new OptionsParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public OptionsParser(LinkedHashMap parentNode){
-        this.yamlNodeName = OptionsModel.directive;
-        this.parentNode = parentNode;
+    private OptionsParser() {
+        super(OptionsModel.directive);
     }
 
     @Override
-    public Optional<OptionsModel> parse() {
-        try {
-            this.optionsNode = this.getChildNodeAsList(parentNode);
-            return Optional.of(new OptionsModel(this.optionsNode));
-        }
-        catch (PipelineAsYamlException p){
+    public Optional<OptionsModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        Optional<List> optionsNode = this.findChildNodeAsList(parentNode);
+        if (!optionsNode.isPresent())
             return Optional.empty();
-        }
+        return Optional.of(new OptionsModel(optionsNode.get()));
     }
 }
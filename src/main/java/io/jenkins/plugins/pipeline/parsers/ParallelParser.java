@@ -2,11 +2,10 @@ package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnknownTypeException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.ParallelModel;
 import io.jenkins.plugins.pipeline.models.StageModel;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
@@ -14,28 +13,23 @@ import java.util.Optional;
 /**
  * Parser for {@link ParallelModel}
  */
-public class ParallelParser extends AbstractParser implements ParserInterface<ParallelModel> {
+public class ParallelParser extends AbstractParser implements DirectiveParserInterface<ParallelModel> {
 
-    private LinkedHashMap parentNode;
+    public static final ParallelParser instance = new ParallelParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public ParallelParser(LinkedHashMap parentNode){
-        this.yamlNodeName = ParallelModel.directive;
-        this.parentNode = parentNode;
+    private ParallelParser() {
+        super(ParallelModel.directive);
     }
 
     @Override
-    public Optional<ParallelModel> parse() {
+    public Optional<ParallelModel> parse(LinkedHashMap parentNode, ParserContext context) {
         try {
-            List<StageModel> stageModelList = new ArrayList<>();
-            Object parallelObject = this.getChildNodeAsObject(parentNode);
+            Optional<Object> parallelNode = this.findChildNodeAsObject(parentNode);
+            if (!parallelNode.isPresent())
+                return Optional.empty();
+            Object parallelObject = parallelNode.get();
             if (parallelObject instanceof List) {
-                for (LinkedHashMap childStage : (List<LinkedHashMap>) parallelObject) {
-                    Optional<StageModel> stageModel = new StageParser(childStage).parse();
-                    stageModel.ifPresent(stageModelList::add);
-                }
+                List<StageModel> stageModelList = StageParser.instance.parseStages((List<LinkedHashMap>) parallelObject, context);
                 return Optional.of(new ParallelModel(stageModelList));
             }
             else {
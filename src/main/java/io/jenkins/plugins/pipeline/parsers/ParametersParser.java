@@ -1,7 +1,6 @@
 package io.jenkins.plugins.pipeline.parsers;
 
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.ParametersModel;
 
 import java.util.LinkedHashMap;
@@ -11,27 +10,19 @@ import java.util.Optional;
 /**
  * Parser for {@link ParametersModel}
  */
-public class ParametersParser extends AbstractParser implements ParserInterface<ParametersModel> {
+public class ParametersParser extends AbstractParser implements DirectiveParserInterface<ParametersModel> {
 
-    private List parametersNode;
-    private LinkedHashMap parentNode;
+    public static final ParametersParser instance = new ParametersParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public ParametersParser(LinkedHashMap parentNode){
-        this.yamlNodeName = ParametersModel.directive;
-        this.parentNode = parentNode;
+    private ParametersParser() {
+        super(ParametersModel.directive);
     }
 
     @Override
-    public Optional<ParametersModel> parse() {
-        try {
-            this.parametersNode = this.getChildNodeAsList(parentNode);
-            return Optional.of(new ParametersModel(this.parametersNode));
-        }
-        catch (PipelineAsYamlException p) {
+    public Optional<ParametersModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        Optional<List> parametersNode = this.findChildNodeAsList(parentNode);
+        if (!parametersNode.isPresent())
             return Optional.empty();
-        }
+        return Optional.of(new ParametersModel(parametersNode.get()));
     }
 }
@@ -0,0 +1,130 @@
+package io.jenkins.plugins.pipeline.parsers;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionTimings;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State of a single conversion which is shared by the parsers.
+ * Parsers are stateless singletons, so everything belonging to a conversion is kept in its context.
+ * A context is used by a single thread at a time.
+ */
+public class ParserContext {
+
+    /**
+     * {@link Yaml} is not thread safe, so every thread reuses its own configured instance until the limits change
+     */
+    private static final ThreadLocal<ThreadYaml> threadYaml = new ThreadLocal<>();
+
+    private final List<String> unknownKeys = new ArrayList<>();
+    private final YamlLimits limits = YamlLimits.get();
+
+    /**
+     * Create {@link Yaml} configured for loading Pipeline As YAML scripts with the current limits
+     * @return Yaml
+     */
+    public static Yaml createYaml() {
+        return createYaml(YamlLimits.get());
+    }
+
+    /**
+     * Create {@link Yaml} configured for loading Pipeline As YAML scripts
+     * @param limits Limits of the loaded documents
+     * @return Yaml
+     */
+    public static Yaml createYaml(YamlLimits limits) {
+        return new Yaml(new SafeConstructor(), new Representer(), dumperOptions(), limits.toLoaderOptions());
+    }
+
+    private static DumperOptions dumperOptions() {
+        DumperOptions dumperOptions = new DumperOptions();
+        dumperOptions.setDefaultScalarStyle(DumperOptions.ScalarStyle.PLAIN);
+        dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return dumperOptions;
+    }
+
+    /**
+     * Get {@link Yaml} of the current thread
+     * @return Yaml
+     */
+    public Yaml getYaml() {
+        return this.getThreadYaml().yaml;
+    }
+
+    private ThreadYaml getThreadYaml() {
+        ThreadYaml yaml = threadYaml.get();
+        if (yaml == null || yaml.limits != this.limits) {
+            yaml = new ThreadYaml(this.limits);
+            threadYaml.set(yaml);
+        }
+        return yaml;
+    }
+
+    /**
+     * Load document within the limits of the context.
+     * Document is composed like {@link Yaml#load(String)} does, with the nesting depth checked while it is parsed
+     * @param content Pipeline As YAML script
+     * @return Loaded document
+     */
+    public Object load(String content) {
+        long start = System.nanoTime();
+        try {
+            this.limits.checkCodePoints(content);
+            ThreadYaml yaml = this.getThreadYaml();
+            Parser parser = this.limits.limit(new ParserImpl(new StreamReader(content)));
+            yaml.constructor.setComposer(new Composer(parser, yaml.resolver, yaml.loaderOptions));
+            return yaml.constructor.getSingleData(Object.class);
+        } finally {
+            ConversionTimings.record(ConversionTimings.Phase.LOAD, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return Limits of the documents loaded with the context
+     */
+    public YamlLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Report a key which is not a known directive
+     * @param unknownKey Key with the name of its node, e.g. "Stage1.beforeOptions"
+     */
+    public void addUnknownKey(String unknownKey) {
+        this.unknownKeys.add(unknownKey);
+    }
+
+    /**
+     * @return Keys which are not known directives
+     */
+    public List<String> getUnknownKeys() {
+        return Collections.unmodifiableList(this.unknownKeys);
+    }
+
+    private static class ThreadYaml {
+
+        private final YamlLimits limits;
+        private final LoaderOptions loaderOptions;
+        private final SafeConstructor constructor = new SafeConstructor();
+        private final Resolver resolver = new Resolver();
+        private final Yaml yaml;
+
+        ThreadYaml(YamlLimits limits) {
+            this.limits = limits;
+            this.loaderOptions = limits.toLoaderOptions();
+            this.yaml = new Yaml(this.constructor, new Representer(), dumperOptions(), this.loaderOptions, this.resolver);
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package io.jenkins.plugins.pipeline.parsers;
 
+import io.jenkins.plugins.pipeline.conversion.PipelineValidator;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
 import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
-import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
-import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
-import org.jenkinsci.plugins.pipeline.modeldefinition.parser.JSONParser;
-import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.models.*;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,55 +15,87 @@ import java.util.Optional;
  */
 public class PipelineParser extends AbstractParser implements ParserInterface<PipelineModel> {
 
+    static final DirectiveRegistry directiveRegistry = new DirectiveRegistry()
+            .register(LibraryModel.directive, LibraryParser.instance)
+            .register(AgentModel.directive, AgentParser.instance)
+            .register(PostModel.directive, PostParser.instance)
+            .register(EnvironmentModel.directive, EnvironmentParser.instance)
+            .register(ToolsModel.directive, ToolsParser.instance)
+            .register(OptionsModel.directive, OptionsParser.instance)
+            .register(ParametersModel.directive, ParametersParser.instance)
+            .register(TriggersModel.directive, TriggersParser.instance)
+            .register(StagesModel.directive, StagesParser.instance);
+
     private String jenkinsFileAsYamlContent;
     private PipelineModel pipelineModel;
+    private ParserContext context = new ParserContext();
 
     /**
      * @param jenkinsFileAsYamlContent Jenkins File as Yaml
      */
     public PipelineParser(String jenkinsFileAsYamlContent){
-        super();
+        super(PipelineModel.directive);
         this.jenkinsFileAsYamlContent = jenkinsFileAsYamlContent;
-        this.yamlNodeName = PipelineModel.directive;
     }
 
     @Override
     public Optional<PipelineModel> parse()  {
         try {
-            LinkedHashMap jenkinsFileHashMap = yaml.load(this.jenkinsFileAsYamlContent);
+            ParserContext context = new ParserContext();
+            this.context = context;
+            LinkedHashMap jenkinsFileHashMap = (LinkedHashMap) context.load(this.jenkinsFileAsYamlContent);
             LinkedHashMap pipelineNode = this.getChildNodeAsLinkedHashMap(jenkinsFileHashMap);
-            this.pipelineModel = PipelineModel.builder()
-                    .library(new LibraryParser(pipelineNode).parse())
-                    .agent(new AgentParser(pipelineNode).parse())
-                    .post(new PostParser(pipelineNode).parse())
-                    .environment(new EnvironmentParser(pipelineNode).parse())
-                    .tools(new ToolsParser(pipelineNode).parse())
-                    .options(new OptionsParser(pipelineNode).parse())
-                    .parameters(new ParametersParser(pipelineNode).parse())
-                    .triggers(new TriggersParser(pipelineNode).parse())
-                    .stages(new StagesParser(pipelineNode).parse())
-                    .build();
+            this.pipelineModel = pipelineModelBuilder(pipelineNode, context).build();
             return Optional.ofNullable(this.pipelineModel);
         }
         catch (PipelineAsYamlException p) {
             return Optional.empty();
         }
+        catch (PipelineAsYamlRuntimeException r) {
+            throw r;
+        }
         catch (Exception e) {
             throw new PipelineAsYamlRuntimeException(e.getLocalizedMessage(), e);
         }
     }
 
     /**
-     * Parse and validates provided Pipeline As YAML Script
+     * Create {@link PipelineModel} builder with the directives present in pipeline node
+     * @param pipelineNode Pipeline node which contains directive definitions as yaml
+     * @param context Context of the conversion
+     * @return Pipeline Model Builder
+     */
+    static PipelineModel.PipelineModelBuilder pipelineModelBuilder(LinkedHashMap pipelineNode, ParserContext context) {
+        DirectiveRegistry.Directives directives = directiveRegistry.parse(pipelineNode, PipelineModel.directive, context);
+        return PipelineModel.builder()
+                .library(directives.get(LibraryModel.directive))
+                .agent(directives.get(AgentModel.directive))
+                .post(directives.get(PostModel.directive))
+                .environment(directives.get(EnvironmentModel.directive))
+                .tools(directives.get(ToolsModel.directive))
+                .options(directives.get(OptionsModel.directive))
+                .parameters(directives.get(ParametersModel.directive))
+                .triggers(directives.get(TriggersModel.directive))
+                .stages(directives.get(StagesModel.directive));
+    }
+
+    /**
+     * Get keys of the last parsed script which are not known directives, e.g. "pipeline.agnet" or "Stage1.beforeOptions"
+     * @return Unknown keys
+     */
+    public List<String> getUnknownKeys() {
+        return this.context.getUnknownKeys();
+    }
+
+    /**
+     * Parse and validates provided Pipeline As YAML Script with the shared validator
      * @return Pipeline Model if conversion is successful
      */
     public Optional<PipelineModel> parseAndValidate() {
         Optional<PipelineModel> pipelineModel = this.parse();
         if(!pipelineModel.isPresent())
             throw new PipelineAsYamlRuntimeException("Parsed model is not present");
-        String jenkinsDeclarative = pipelineModel.get().toPrettyGroovy();
-        ModelASTPipelineDef modelASTPipelineDef = Converter.scriptToPipelineDef(jenkinsDeclarative);
-        modelASTPipelineDef.validate(new JSONParser(null).getValidator());
+        PipelineValidator.validate(pipelineModel.get());
         return pipelineModel;
     }
 
@@ -1,7 +1,6 @@
 package io.jenkins.plugins.pipeline.parsers;
 
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.ChildPostModel;
 import io.jenkins.plugins.pipeline.models.PostModel;
 
@@ -10,41 +9,31 @@ import java.util.*;
 /**
  * Parser for {@link PostModel}
  */
-public class PostParser extends AbstractParser implements ParserInterface<PostModel> {
+public class PostParser extends AbstractParser implements DirectiveParserInterface<PostModel> {
 
-    private LinkedHashMap postNode;
-    private LinkedHashMap parentNode;
+    public static final PostParser instance = new PostParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public PostParser(LinkedHashMap parentNode){
-        this.yamlNodeName = PostModel.directive;
-        this.parentNode = parentNode;
+    private PostParser() {
+        super(PostModel.directive);
     }
 
     @Override
-    public Optional<PostModel> parse() {
-        try {
-            List<ChildPostModel> childPostModels = new ArrayList<>();
-            this.postNode = this.getChildNodeAsLinkedHashMap(parentNode);
-            if (this.postNode == null || this.postNode.size() == 0)  {
-                return Optional.empty();
-            }
-            for (Object childPost : this.postNode.entrySet()) {
-                Map.Entry childPostNode = (Map.Entry) childPost;
-                String childPostKey = (String) childPostNode.getKey();
-                Object postSubNode = this.postNode.get(childPostKey);
-                if (postSubNode instanceof LinkedHashMap) {
-                    childPostModels.add(new ChildPostModel(childPostKey, Optional.empty(), new ScriptParser((LinkedHashMap) postSubNode).parse()));
-                } else if (postSubNode instanceof List) {
-                    childPostModels.add(new ChildPostModel(childPostKey, new StepsParser((List<String>) postSubNode).parse(), Optional.empty()));
-                }
-            }
-            return Optional.of(new PostModel(childPostModels));
-        }
-        catch (PipelineAsYamlException p) {
+    public Optional<PostModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        List<ChildPostModel> childPostModels = new ArrayList<>();
+        LinkedHashMap postNode = this.findChildNodeAsLinkedHashMap(parentNode).orElse(null);
+        if (postNode == null || postNode.size() == 0)  {
             return Optional.empty();
         }
+        for (Object childPost : postNode.entrySet()) {
+            Map.Entry childPostNode = (Map.Entry) childPost;
+            String childPostKey = (String) childPostNode.getKey();
+            Object postSubNode = childPostNode.getValue();
+            if (postSubNode instanceof LinkedHashMap) {
+                childPostModels.add(new ChildPostModel(childPostKey, Optional.empty(), ScriptParser.instance.parse((LinkedHashMap) postSubNode, context)));
+            } else if (postSubNode instanceof List) {
+                childPostModels.add(new ChildPostModel(childPostKey, StepsParser.instance.parseSteps(postSubNode, context), Optional.empty()));
+            }
+        }
+        return Optional.of(new PostModel(childPostModels));
     }
 }
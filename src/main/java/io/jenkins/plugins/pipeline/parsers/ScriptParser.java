@@ -1,11 +1,14 @@
 package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnknownTypeException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.ScriptModel;
+import io.jenkins.plugins.pipeline.models.SubScriptModel;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
@@ -13,43 +16,85 @@ import java.util.Optional;
 /**
  * Parser for {@link ScriptModel}
  */
-public class ScriptParser extends AbstractParser implements ParserInterface<ScriptModel> {
+public class ScriptParser extends AbstractParser implements DirectiveParserInterface<ScriptModel> {
 
-    private LinkedHashMap parentNode;
+    public static final ScriptParser instance = new ScriptParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public ScriptParser(LinkedHashMap parentNode){
-        this.yamlNodeName = ScriptModel.directive;
-        this.parentNode = parentNode;
+    private ScriptParser() {
+        super(ScriptModel.directive);
     }
 
+    /**
+     * Parse script with its nested sub scripts, e.g. dir, withEnv or catchError blocks.
+     * Sub scripts are parsed with an explicit stack instead of recursion into the parser of each sub script,
+     * so the call stack does not grow with the nesting depth. Nesting depth of sub scripts is limited by the {@link YamlLimits} of the context.
+     */
     @Override
-    public Optional<ScriptModel> parse() {
-        try {
-            Object scripts = this.getChildNodeAsObject(parentNode);
-            if (scripts instanceof List) {
-                ArrayList scriptModelList = new ArrayList();
-                for(Object element : (List)scripts) {
-                    if( element instanceof String) {
-                        scriptModelList.add(element);
-                    }
-                    else if ( element instanceof LinkedHashMap) {
-                        scriptModelList.add(new SubScriptParser((LinkedHashMap) element).parse());
-                    }
-                }
-                return Optional.of(new ScriptModel(scriptModelList));
+    public Optional<ScriptModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        Optional<Object> scriptsNode = this.findChildNodeAsObject(parentNode);
+        if (!scriptsNode.isPresent() || !(scriptsNode.get() instanceof List))
+            return scriptsNode.flatMap(this::toScriptModel);
+        Deque<ScriptFrame> frames = new ArrayDeque<>();
+        frames.push(new ScriptFrame((List) scriptsNode.get(), null, null));
+        while (true) {
+            ScriptFrame frame = frames.peek();
+            if (!frame.elements.hasNext()) {
+                frames.pop();
+                ScriptModel scriptModel = new ScriptModel(frame.scriptModelList);
+                if (frames.isEmpty())
+                    return Optional.of(scriptModel);
+                frames.peek().scriptModelList.add(Optional.of(new SubScriptModel(frame.directive, Optional.ofNullable(frame.value), scriptModel)));
+                continue;
             }
-            else if (scripts instanceof String){
-                return Optional.of(new ScriptModel((String) scripts));
+            Object element = frame.elements.next();
+            if( element instanceof String) {
+                frame.scriptModelList.add(element);
             }
-            else {
-                throw new PipelineAsYamlUnknownTypeException(scripts.getClass().getName());
+            else if ( element instanceof LinkedHashMap) {
+                LinkedHashMap subScriptNode = (LinkedHashMap) element;
+                String directive;
+                String value;
+                try {
+                    directive = this.getKey(subScriptNode);
+                    value = (String) this.getValue(subScriptNode, directive);
+                }
+                catch (PipelineAsYamlException p) {
+                    frame.scriptModelList.add(Optional.empty());
+                    continue;
+                }
+                Optional<Object> subScriptsNode = this.findChildNodeAsObject(subScriptNode);
+                if (subScriptsNode.isPresent() && subScriptsNode.get() instanceof List) {
+                    context.getLimits().checkScriptDepth(frames.size());
+                    frames.push(new ScriptFrame((List) subScriptsNode.get(), directive, value));
+                }
+                else {
+                    Optional<ScriptModel> scriptModel = subScriptsNode.flatMap(this::toScriptModel);
+                    frame.scriptModelList.add(Optional.of(new SubScriptModel(directive, Optional.ofNullable(value), scriptModel.get())));
+                }
             }
         }
-        catch (PipelineAsYamlException p) {
-            return Optional.empty();
+    }
+
+    private Optional<ScriptModel> toScriptModel(Object scripts) {
+        if (scripts instanceof String)
+            return Optional.of(new ScriptModel((String) scripts));
+        return Optional.empty();
+    }
+
+    /**
+     * Script on the stack, which waits for its nested sub scripts
+     */
+    private static class ScriptFrame {
+
+        private final Iterator elements;
+        private final ArrayList scriptModelList = new ArrayList();
+        private final String directive;
+        private final String value;
+
+        ScriptFrame(List elements, String directive, String value) {
+            this.elements = elements.iterator();
+            this.directive = directive;
+            this.value = value;
         }
     }
 }
@@ -1,49 +1,175 @@
 package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.*;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Parser for {@link StageModel}
  */
-public class StageParser extends AbstractParser implements ParserInterface<StageModel> {
+public class StageParser extends AbstractParser implements DirectiveParserInterface<StageModel> {
 
-    private LinkedHashMap parentNode;
-    private String failFastKey= StageModel.failFastKey;
-    private String beforeAgentKey = StageModel.beforeAgentKey;
+    public static final StageParser instance = new StageParser();
+
+    static final DirectiveRegistry directiveRegistry = new DirectiveRegistry()
+            .register(StepsModel.directive, StepsParser.instance)
+            .register(AgentModel.directive, AgentParser.instance)
+            .register(PostModel.directive, PostParser.instance)
+            .register(ToolsModel.directive, ToolsParser.instance)
+            .register(StagesModel.directive, StagesParser.instance)
+            .register(EnvironmentModel.directive, EnvironmentParser.instance)
+            .register(ParallelModel.directive, ParallelParser.instance)
+            .register(InputModel.directive, InputParser.instance)
+            .register(WhenModel.directive, WhenParser.instance)
+            .register(OptionsModel.directive, OptionsParser.instance)
+            .attribute(StageModel.directive)
+            .attribute(StageModel.failFastKey)
+            .attribute(StageModel.beforeAgentKey);
+
+    private static final Logger LOGGER = Logger.getLogger(StageParser.class.getName());
+    private static final String failFastKey = StageModel.failFastKey;
+    private static final String beforeAgentKey = StageModel.beforeAgentKey;
+    private static final Set<String> nestedDirectives = new HashSet<>(Arrays.asList(StagesModel.directive, ParallelModel.directive));
+
+    private StageParser() {
+        super(StageModel.directive);
+    }
+
+    @Override
+    public Optional<StageModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        List<StageModel> stageModels = this.parseStages(Collections.singletonList(parentNode), context);
+        return stageModels.isEmpty() ? Optional.empty() : Optional.of(stageModels.get(0));
+    }
 
     /**
-     * @param parentNode Parent Node which contains model definition as yaml
+     * Parse list of stages with their nested stages and parallel stages.
+     * Nested stages are parsed with an explicit stack instead of recursion, so the call stack does not grow with
+     * the nesting depth. Nesting depth of stages is limited by the {@link YamlLimits} of the context.
+     * @param stageNodes Stage nodes
+     * @param context Context of the conversion
+     * @return Parsed stages, stages which can not be parsed are skipped
      */
-    public StageParser(LinkedHashMap parentNode) {
-        this.yamlNodeName = "stage";
-        this.parentNode = parentNode;
+    public List<StageModel> parseStages(List<LinkedHashMap> stageNodes, ParserContext context) {
+        List<StageModel> stageModels = new ArrayList<>();
+        Deque<StageFrame> frames = new ArrayDeque<>();
+        Iterator<LinkedHashMap> nodes = stageNodes.iterator();
+        while (true) {
+            StageFrame frame = frames.peek();
+            if (frame == null) {
+                if (!nodes.hasNext())
+                    return stageModels;
+                this.push(frames, nodes.next(), context);
+            } else if (frame.nestedNodes != null && frame.nestedNodes.hasNext()) {
+                this.push(frames, (LinkedHashMap) frame.nestedNodes.next(), context);
+            } else if (!frame.nextNestedDirective()) {
+                frames.pop();
+                StageModel stageModel = frame.toStageModel();
+                if (frames.isEmpty())
+                    stageModels.add(stageModel);
+                else
+                    frames.peek().nestedModels.add(stageModel);
+            }
+        }
     }
 
-    @Override
-    public Optional<StageModel> parse() {
+    /**
+     * Parse directives of the stage, except its nested stages, and push it onto the stack.
+     * Stage is skipped if it can not be parsed
+     */
+    private void push(Deque<StageFrame> frames, LinkedHashMap stageNode, ParserContext context) {
+        context.getLimits().checkStageDepth(frames.size() + 1);
         try {
-            String name = this.getChildNodeAsString(this.parentNode);
-            Optional<Boolean> failFast = Optional.ofNullable((Boolean) this.parentNode.get(this.failFastKey));
-            Optional<StepsModel> stepsModel = new StepsParser(this.parentNode).parse();
-            Optional<AgentModel> agentModel = new AgentParser(this.parentNode).parse();
-            Optional<PostModel> postModel = new PostParser(this.parentNode).parse();
-            Optional<ToolsModel> toolsModel = new ToolsParser(this.parentNode).parse();
-            Optional<StagesModel> stagesModel = new StagesParser(this.parentNode).parse();
-            Optional<EnvironmentModel> environmentModel = new EnvironmentParser(this.parentNode).parse();
-            Optional<ParallelModel> parallelModel = new ParallelParser(this.parentNode).parse();
-            Optional<InputModel> inputModel = new InputParser(this.parentNode).parse();
-            Optional<Boolean> beforeAgent = Optional.ofNullable((Boolean) this.parentNode.get(this.beforeAgentKey));
-            Optional<WhenModel> whenModel = new WhenParser(this.parentNode).parse();
-            Optional<OptionsModel> optionsModel = new OptionsParser(this.parentNode).parse();
-            return Optional.of(new StageModel(name, stepsModel, agentModel, postModel, toolsModel, stagesModel, environmentModel, parallelModel, failFast, inputModel, whenModel, beforeAgent, optionsModel));
+            String name = this.getChildNodeAsString(stageNode);
+            DirectiveRegistry.Directives directives = directiveRegistry.parse(stageNode, name, context, nestedDirectives);
+            frames.push(new StageFrame(stageNode, name, directives));
         }
         catch (PipelineAsYamlException p){
-            return Optional.empty();
+            LOGGER.log(Level.FINE, "Stage is skipped", p);
+        }
+    }
+
+    /**
+     * Stage on the stack, which waits for its nested stages
+     */
+    private static class StageFrame {
+
+        private final LinkedHashMap node;
+        private final String name;
+        private final DirectiveRegistry.Directives directives;
+        private final Iterator<Object> keys;
+        private String nestedDirective;
+        private Iterator nestedNodes;
+        private List<StageModel> nestedModels;
+
+        StageFrame(LinkedHashMap node, String name, DirectiveRegistry.Directives directives) {
+            this.node = node;
+            this.name = name;
+            this.directives = directives;
+            this.keys = node.keySet().iterator();
+        }
+
+        /**
+         * Complete the current nested directive and continue with the next one
+         * @return False if there is no nested directive left
+         */
+        boolean nextNestedDirective() {
+            this.completeNestedDirective();
+            while (this.keys.hasNext()) {
+                Object key = this.keys.next();
+                if (!nestedDirectives.contains(key))
+                    continue;
+                Object nestedObject = this.node.get(key);
+                if (nestedObject instanceof List) {
+                    this.nestedDirective = (String) key;
+                    this.nestedNodes = ((List) nestedObject).iterator();
+                    this.nestedModels = new ArrayList<>();
+                    return true;
+                }
+                this.directives.put((String) key, Optional.empty());
+            }
+            return false;
+        }
+
+        private void completeNestedDirective() {
+            if (this.nestedDirective == null)
+                return;
+            if (StagesModel.directive.equals(this.nestedDirective))
+                this.directives.put(this.nestedDirective, Optional.of(new StagesModel(this.nestedModels)));
+            else
+                this.directives.put(this.nestedDirective, Optional.of(new ParallelModel(this.nestedModels)));
+            this.nestedDirective = null;
+            this.nestedNodes = null;
+            this.nestedModels = null;
+        }
+
+        StageModel toStageModel() {
+            Optional<Boolean> failFast = Optional.ofNullable((Boolean) this.node.get(failFastKey));
+            Optional<StepsModel> stepsModel = directives.get(StepsModel.directive);
+            Optional<AgentModel> agentModel = directives.get(AgentModel.directive);
+            Optional<PostModel> postModel = directives.get(PostModel.directive);
+            Optional<ToolsModel> toolsModel = directives.get(ToolsModel.directive);
+            Optional<StagesModel> stagesModel = directives.get(StagesModel.directive);
+            Optional<EnvironmentModel> environmentModel = directives.get(EnvironmentModel.directive);
+            Optional<ParallelModel> parallelModel = directives.get(ParallelModel.directive);
+            Optional<InputModel> inputModel = directives.get(InputModel.directive);
+            Optional<Boolean> beforeAgent = Optional.ofNullable((Boolean) this.node.get(beforeAgentKey));
+            Optional<WhenModel> whenModel = directives.get(WhenModel.directive);
+            Optional<OptionsModel> optionsModel = directives.get(OptionsModel.directive);
+            return new StageModel(this.name, stepsModel, agentModel, postModel, toolsModel, stagesModel, environmentModel, parallelModel, failFast, inputModel, whenModel, beforeAgent, optionsModel);
         }
     }
 }
@@ -2,11 +2,10 @@ package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnknownTypeException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.StageModel;
 import io.jenkins.plugins.pipeline.models.StagesModel;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
@@ -14,31 +13,24 @@ import java.util.Optional;
 /**
  * Parser for {@link StagesModel}
  */
-public class StagesParser extends AbstractParser implements ParserInterface<StagesModel> {
+public class StagesParser extends AbstractParser implements DirectiveParserInterface<StagesModel> {
 
-    private LinkedHashMap parentNode;
+    public static final StagesParser instance = new StagesParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public StagesParser(LinkedHashMap parentNode) {
-        this.yamlNodeName = StagesModel.directive;
-        this.parentNode = parentNode;
+    private StagesParser() {
+        super(StagesModel.directive);
     }
 
     @Override
-    public Optional<StagesModel> parse() {
+    public Optional<StagesModel> parse(LinkedHashMap parentNode, ParserContext context) {
         try {
-            List<StageModel> stageModelList = new ArrayList<>();
-            Object stagesObject = this.getChildNodeAsObject(parentNode);
-            if (stagesObject == null) {
+            Optional<Object> stagesNode = this.findChildNodeAsObject(parentNode);
+            if (!stagesNode.isPresent()) {
                 return Optional.empty();
             }
+            Object stagesObject = stagesNode.get();
             if (stagesObject instanceof List) {
-                for (LinkedHashMap childStage : (List<LinkedHashMap>) stagesObject) {
-                    Optional<StageModel> stageModel = new StageParser(childStage).parse();
-                    stageModel.ifPresent(stageModelList::add);
-                }
+                List<StageModel> stageModelList = StageParser.instance.parseStages((List<LinkedHashMap>) stagesObject, context);
                 return Optional.of(new StagesModel(stageModelList));
             } else {
                 throw new PipelineAsYamlUnknownTypeException(stagesObject.getClass().toString());
@@ -1,7 +1,6 @@
 package io.jenkins.plugins.pipeline.parsers;
 
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.StepsModel;
 
 import java.util.LinkedHashMap;
@@ -11,41 +10,34 @@ import java.util.Optional;
 /**
  * Parser for {@link StepsModel}
  */
-public class StepsParser extends AbstractParser implements ParserInterface<StepsModel> {
+public class StepsParser extends AbstractParser implements DirectiveParserInterface<StepsModel> {
 
-    private LinkedHashMap parentNode;
+    public static final StepsParser instance = new StepsParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public StepsParser(LinkedHashMap parentNode) {
-        this.yamlNodeName = StepsModel.directive;
-        this.parentNode = parentNode;
-    }
-
-    /**
-     * @param stepsList List of steps
-     */
-    public StepsParser(List stepsList) {
-        this.yamlNodeName = StepsModel.directive;
-        LinkedHashMap tempLinkedHashMap = new LinkedHashMap();
-        tempLinkedHashMap.put(this.yamlNodeName, stepsList);
-        this.parentNode = tempLinkedHashMap;
+    private StepsParser() {
+        super(StepsModel.directive);
     }
 
     @Override
-    public Optional<StepsModel> parse() {
-        try {
-            Object stepsNode = this.getValue(parentNode, this.yamlNodeName);
-            if (stepsNode instanceof LinkedHashMap) {
-                return Optional.of(new StepsModel(new ScriptParser((LinkedHashMap) stepsNode).parse()));
-            } else if (stepsNode instanceof String) {
-                return Optional.of(new StepsModel((String) stepsNode));
-            } else {
-                return Optional.of(new StepsModel((List) stepsNode));
-            }
-        } catch (PipelineAsYamlException p) {
+    public Optional<StepsModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        if (!parentNode.containsKey(this.yamlNodeName))
             return Optional.empty();
+        return this.parseSteps(parentNode.get(this.yamlNodeName), context);
+    }
+
+    /**
+     * Parse steps definition
+     * @param stepsNode Steps definition as yaml: Script block, multi line string or list of steps
+     * @param context Context of the conversion
+     * @return Steps Model
+     */
+    public Optional<StepsModel> parseSteps(Object stepsNode, ParserContext context) {
+        if (stepsNode instanceof LinkedHashMap) {
+            return Optional.of(new StepsModel(ScriptParser.instance.parse((LinkedHashMap) stepsNode, context)));
+        } else if (stepsNode instanceof String) {
+            return Optional.of(new StepsModel((String) stepsNode));
+        } else {
+            return Optional.of(new StepsModel((List) stepsNode));
         }
     }
 }
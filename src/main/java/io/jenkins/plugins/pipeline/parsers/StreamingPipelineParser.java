@@ -0,0 +1,300 @@
+package io.jenkins.plugins.pipeline.parsers;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionBudget;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlNodeNotFoundException;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
+import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.models.StageModel;
+import io.jenkins.plugins.pipeline.models.StagesModel;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Event based parser for {@link PipelineModel}.
+ * Unlike {@link PipelineParser}, the document is not loaded as a whole. YAML events are read one by one
+ * and only a single stage (or a single directive outside of stages) is constructed at a time,
+ * so the intermediate yaml tree is bounded by the largest stage instead of the whole document.
+ */
+public class StreamingPipelineParser extends AbstractParser implements ParserInterface<PipelineModel> {
+
+    private Reader jenkinsFileAsYamlReader;
+    private ParserContext context = new ParserContext();
+
+    /**
+     * @param jenkinsFileAsYamlContent Jenkins File as Yaml
+     */
+    public StreamingPipelineParser(String jenkinsFileAsYamlContent) {
+        this(new StringReader(jenkinsFileAsYamlContent));
+    }
+
+    /**
+     * @param jenkinsFileAsYamlReader Reader of Jenkins File as Yaml
+     */
+    public StreamingPipelineParser(Reader jenkinsFileAsYamlReader) {
+        super(PipelineModel.directive);
+        this.jenkinsFileAsYamlReader = jenkinsFileAsYamlReader;
+    }
+
+    @Override
+    public Optional<PipelineModel> parse() {
+        try {
+            ParserContext context = new ParserContext();
+            this.context = context;
+            YamlLimits limits = context.getLimits();
+            EventReader eventReader = new EventReader(context.getYaml().parse(limits.limit(this.jenkinsFileAsYamlReader)).iterator(), limits);
+            eventReader.expect(Event.ID.StreamStart);
+            if (eventReader.check(Event.ID.StreamEnd))
+                throw new PipelineAsYamlRuntimeException("Jenkinsfile YAML does not contain a document");
+            eventReader.expect(Event.ID.DocumentStart);
+            if (!eventReader.check(Event.ID.MappingStart))
+                throw new PipelineAsYamlRuntimeException("Jenkinsfile YAML root must be a mapping");
+            eventReader.next();
+            Optional<PipelineModel> pipelineModel = Optional.empty();
+            boolean pipelineFound = false;
+            Set<Object> keys = new HashSet<>();
+            while (!eventReader.check(Event.ID.MappingEnd)) {
+                Object key = eventReader.readKey(keys);
+                if (this.yamlNodeName.equals(key)) {
+                    pipelineModel = this.parsePipelineNode(eventReader, context);
+                    pipelineFound = true;
+                } else {
+                    eventReader.readNode();
+                }
+            }
+            eventReader.next();
+            eventReader.expect(Event.ID.DocumentEnd);
+            if (!eventReader.check(Event.ID.StreamEnd))
+                throw new PipelineAsYamlRuntimeException("Jenkinsfile YAML must contain a single document");
+            if (!pipelineFound)
+                throw new PipelineAsYamlNodeNotFoundException(this.yamlNodeName);
+            return pipelineModel;
+        }
+        catch (PipelineAsYamlException p) {
+            return Optional.empty();
+        }
+        catch (PipelineAsYamlRuntimeException r) {
+            throw r;
+        }
+        catch (Exception e) {
+            throw new PipelineAsYamlRuntimeException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Get keys of the last parsed script which are not known directives
+     * @return Unknown keys
+     * @see PipelineParser#getUnknownKeys()
+     */
+    public List<String> getUnknownKeys() {
+        return this.context.getUnknownKeys();
+    }
+
+    /**
+     * Parse value of the pipeline key. Stages are handed over to {@link StageParser} one by one,
+     * other directives are collected and parsed by their own parsers.
+     */
+    private Optional<PipelineModel> parsePipelineNode(EventReader eventReader, ParserContext context) throws PipelineAsYamlException {
+        if (!eventReader.check(Event.ID.MappingStart)) {
+            Object pipelineNode = eventReader.construct(eventReader.readNode());
+            if (pipelineNode == null)
+                throw new PipelineAsYamlNodeNotFoundException(this.yamlNodeName);
+            throw new PipelineAsYamlRuntimeException(String.format("%s - type is not defined.", pipelineNode.getClass()));
+        }
+        eventReader.next();
+        LinkedHashMap pipelineNode = new LinkedHashMap();
+        Optional<StagesModel> stagesModel = Optional.empty();
+        boolean stagesFound = false;
+        Set<Object> keys = new HashSet<>();
+        while (!eventReader.check(Event.ID.MappingEnd)) {
+            Object key = eventReader.readKey(keys);
+            if (StagesModel.directive.equals(key) && eventReader.check(Event.ID.SequenceStart)) {
+                eventReader.next();
+                List<StageModel> stageModelList = new ArrayList<>();
+                while (!eventReader.check(Event.ID.SequenceEnd)) {
+                    LinkedHashMap stageNode = (LinkedHashMap) eventReader.construct(eventReader.readNode());
+                    StageParser.instance.parse(stageNode, context).ifPresent(stageModelList::add);
+                }
+                eventReader.next();
+                stagesModel = Optional.of(new StagesModel(stageModelList));
+                stagesFound = true;
+            } else if (StagesModel.directive.equals(key)) {
+                LinkedHashMap stagesNode = new LinkedHashMap();
+                stagesNode.put(key, eventReader.construct(eventReader.readNode()));
+                stagesModel = StagesParser.instance.parse(stagesNode, context);
+                stagesFound = true;
+            } else {
+                pipelineNode.put(key, eventReader.construct(eventReader.readNode()));
+            }
+        }
+        eventReader.next();
+        PipelineModel.PipelineModelBuilder pipelineModelBuilder = PipelineParser.pipelineModelBuilder(pipelineNode, context);
+        if (stagesFound)
+            pipelineModelBuilder.stages(stagesModel);
+        return Optional.of(pipelineModelBuilder.build());
+    }
+
+    /**
+     * Composes YAML events into nodes one subtree at a time and constructs them into
+     * the same objects {@link org.yaml.snakeyaml.Yaml#load(String)} would produce.
+     * Anchors are kept for the whole document, so aliases can refer to previously read subtrees.
+     */
+    private static class EventReader {
+
+        private final Iterator<Event> events;
+        private final Map<String, Node> anchors = new HashMap<>();
+        private final Resolver resolver = new Resolver();
+        private final NodeConstructor nodeConstructor = new NodeConstructor();
+        private final YamlLimits limits;
+        private Event current;
+        private int depth;
+        private int aliases;
+
+        EventReader(Iterator<Event> events, YamlLimits limits) {
+            this.events = events;
+            this.limits = limits;
+            this.nodeConstructor.setAllowDuplicateKeys(limits.isAllowDuplicateKeys());
+        }
+
+        Event peek() {
+            if (this.current == null)
+                this.current = this.events.next();
+            return this.current;
+        }
+
+        Event next() {
+            ConversionBudget.check();
+            Event event = this.peek();
+            this.current = null;
+            return event;
+        }
+
+        boolean check(Event.ID id) {
+            return this.peek().is(id);
+        }
+
+        void expect(Event.ID id) {
+            Event event = this.next();
+            if (!event.is(id))
+                throw new PipelineAsYamlRuntimeException(String.format("Expected %s but found %s", id, event));
+        }
+
+        Object construct(Node node) {
+            return this.nodeConstructor.construct(node);
+        }
+
+        /**
+         * Read and construct key of a mapping which is read event by event
+         * @param keys Keys of the mapping read so far
+         * @return Key
+         */
+        Object readKey(Set<Object> keys) {
+            Object key = this.construct(this.readNode());
+            if (!keys.add(key) && !this.limits.isAllowDuplicateKeys())
+                throw new PipelineAsYamlRuntimeException(String.format("Found duplicate key %s", key));
+            return key;
+        }
+
+        /**
+         * Compose next node and all of its children from the event stream
+         * @return Composed node
+         */
+        Node readNode() {
+            Event event = this.next();
+            if (event.is(Event.ID.Alias)) {
+                String anchor = ((AliasEvent) event).getAnchor();
+                Node node = this.anchors.get(anchor);
+                if (node == null)
+                    throw new PipelineAsYamlRuntimeException("Found undefined alias " + anchor);
+                if (node.getNodeId() != NodeId.scalar)
+                    this.limits.checkAliases(++this.aliases);
+                return node;
+            }
+            String anchor = ((NodeEvent) event).getAnchor();
+            Node node;
+            if (event.is(Event.ID.Scalar)) {
+                ScalarEvent scalarEvent = (ScalarEvent) event;
+                String tag = scalarEvent.getTag();
+                boolean resolved = tag == null || tag.equals("!");
+                Tag nodeTag = resolved ? this.resolver.resolve(NodeId.scalar, scalarEvent.getValue(), scalarEvent.getImplicit().canOmitTagInPlainScalar()) : new Tag(tag);
+                node = new ScalarNode(nodeTag, resolved, scalarEvent.getValue(), scalarEvent.getStartMark(), scalarEvent.getEndMark(), scalarEvent.getScalarStyle());
+                this.putAnchor(anchor, node);
+            } else if (event.is(Event.ID.SequenceStart)) {
+                SequenceStartEvent sequenceStartEvent = (SequenceStartEvent) event;
+                String tag = sequenceStartEvent.getTag();
+                boolean resolved = tag == null || tag.equals("!");
+                Tag nodeTag = resolved ? this.resolver.resolve(NodeId.sequence, null, sequenceStartEvent.getImplicit()) : new Tag(tag);
+                List<Node> children = new ArrayList<>();
+                SequenceNode sequenceNode = new SequenceNode(nodeTag, resolved, children, sequenceStartEvent.getStartMark(), null, sequenceStartEvent.getFlowStyle());
+                this.putAnchor(anchor, sequenceNode);
+                this.limits.checkNestingDepth(++this.depth);
+                while (!this.check(Event.ID.SequenceEnd))
+                    children.add(this.readNode());
+                this.depth--;
+                sequenceNode.setEndMark(this.next().getEndMark());
+                node = sequenceNode;
+            } else if (event.is(Event.ID.MappingStart)) {
+                MappingStartEvent mappingStartEvent = (MappingStartEvent) event;
+                String tag = mappingStartEvent.getTag();
+                boolean resolved = tag == null || tag.equals("!");
+                Tag nodeTag = resolved ? this.resolver.resolve(NodeId.mapping, null, mappingStartEvent.getImplicit()) : new Tag(tag);
+                List<NodeTuple> children = new ArrayList<>();
+                MappingNode mappingNode = new MappingNode(nodeTag, resolved, children, mappingStartEvent.getStartMark(), null, mappingStartEvent.getFlowStyle());
+                this.putAnchor(anchor, mappingNode);
+                this.limits.checkNestingDepth(++this.depth);
+                while (!this.check(Event.ID.MappingEnd)) {
+                    Node keyNode = this.readNode();
+                    Node valueNode = this.readNode();
+                    children.add(new NodeTuple(keyNode, valueNode));
+                }
+                this.depth--;
+                mappingNode.setEndMark(this.next().getEndMark());
+                node = mappingNode;
+            } else {
+                throw new PipelineAsYamlRuntimeException("Unexpected event " + event);
+            }
+            return node;
+        }
+
+        private void putAnchor(String anchor, Node node) {
+            if (anchor != null)
+                this.anchors.put(anchor, node);
+        }
+    }
+
+    /**
+     * {@link SafeConstructor} which constructs a single composed node
+     */
+    private static class NodeConstructor extends SafeConstructor {
+
+        Object construct(Node node) {
+            return this.constructDocument(node);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package io.jenkins.plugins.pipeline.parsers;
 
-import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.TriggersModel;
 
 import java.util.LinkedHashMap;
@@ -11,27 +10,19 @@ import java.util.Optional;
 /**
  * Parser for {@link TriggersModel}
  */
-public class TriggersParser extends AbstractParser implements ParserInterface<TriggersModel> {
+public class TriggersParser extends AbstractParser implements DirectiveParserInterface<TriggersModel> {
 
-    private List triggersNode;
-    private LinkedHashMap parentNode;
+    public static final TriggersParser instance = new TriggersParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public TriggersParser(LinkedHashMap parentNode){
-        this.yamlNodeName = TriggersModel.directive;
-        this.parentNode = parentNode;
+    private TriggersParser() {
+        super(TriggersModel.directive);
     }
 
     @Override
-    public Optional<TriggersModel> parse() {
-        try {
-            this.triggersNode = this.getChildNodeAsList(parentNode);
-            return Optional.of(new TriggersModel(this.triggersNode));
-        }
-        catch (PipelineAsYamlException p) {
+    public Optional<TriggersModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        Optional<List> triggersNode = this.findChildNodeAsList(parentNode);
+        if (!triggersNode.isPresent())
             return Optional.empty();
-        }
+        return Optional.of(new TriggersModel(triggersNode.get()));
     }
 }
@@ -2,9 +2,11 @@ package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnknownTypeException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.WhenConditionModel;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
@@ -12,35 +14,47 @@ import java.util.Optional;
 /**
  * Parser for {@link WhenConditionModel}
  */
-public class WhenConditionalParser extends AbstractParser implements ParserInterface<WhenConditionModel> {
+public class WhenConditionalParser extends AbstractParser implements DirectiveParserInterface<WhenConditionModel> {
 
-    private LinkedHashMap parentNode;
+    public static final WhenConditionalParser instance = new WhenConditionalParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public WhenConditionalParser(LinkedHashMap parentNode){
-        this.parentNode = parentNode;
+    private WhenConditionalParser() {
+        super();
     }
 
+    /**
+     * Parse nested conditions down to their rules with a loop instead of recursion,
+     * then build the models from the innermost condition outwards.
+     * Nesting depth is limited by the {@link YamlLimits} of the context.
+     */
     @Override
-    public Optional<WhenConditionModel> parse() {
+    public Optional<WhenConditionModel> parse(LinkedHashMap parentNode, ParserContext context) {
+        Deque<String> conditionKeys = new ArrayDeque<>();
+        Optional<WhenConditionModel> whenConditionModel = Optional.empty();
+        LinkedHashMap conditionNode = parentNode;
         try {
-            String conditionKey = this.getKey(parentNode);
-            Object conditionObject = this.getValue(parentNode, conditionKey);
-            if( conditionObject instanceof  List) {
-                return Optional.of(new WhenConditionModel(conditionKey, (List<String>) conditionObject));
-            }
-            else if (conditionObject instanceof  LinkedHashMap) {
-                return Optional.of(new WhenConditionModel(conditionKey,new WhenConditionalParser((LinkedHashMap) conditionObject).parse()));
-            }
-            else {
-                throw new PipelineAsYamlUnknownTypeException(conditionObject.getClass().toString());
+            while (conditionNode != null) {
+                context.getLimits().checkNestingDepth(conditionKeys.size() + 1);
+                String conditionKey = this.getKey(conditionNode);
+                Object conditionObject = this.getValue(conditionNode, conditionKey);
+                if( conditionObject instanceof  List) {
+                    whenConditionModel = Optional.of(new WhenConditionModel(conditionKey, (List<String>) conditionObject));
+                    conditionNode = null;
+                }
+                else if (conditionObject instanceof  LinkedHashMap) {
+                    conditionKeys.push(conditionKey);
+                    conditionNode = (LinkedHashMap) conditionObject;
+                }
+                else {
+                    throw new PipelineAsYamlUnknownTypeException(conditionObject.getClass().toString());
+                }
             }
         }
         catch (PipelineAsYamlException e) {
-            return Optional.empty();
+            whenConditionModel = Optional.empty();
         }
-
+        while (!conditionKeys.isEmpty())
+            whenConditionModel = Optional.of(new WhenConditionModel(conditionKeys.pop(), whenConditionModel));
+        return whenConditionModel;
     }
 }
@@ -2,7 +2,7 @@ package io.jenkins.plugins.pipeline.parsers;
 
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnknownTypeException;
-import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.interfaces.DirectiveParserInterface;
 import io.jenkins.plugins.pipeline.models.WhenModel;
 
 import java.util.LinkedHashMap;
@@ -12,27 +12,25 @@ import java.util.Optional;
 /**
  * Parser for {@link WhenModel}
  */
-public class WhenParser extends AbstractParser implements ParserInterface<WhenModel> {
+public class WhenParser extends AbstractParser implements DirectiveParserInterface<WhenModel> {
 
-    private LinkedHashMap parentNode;
+    public static final WhenParser instance = new WhenParser();
 
-    /**
-     * @param parentNode Parent Node which contains model definition as yaml
-     */
-    public WhenParser(LinkedHashMap parentNode){
-        this.yamlNodeName = WhenModel.directive;
-        this.parentNode = parentNode;
+    private WhenParser() {
+        super(WhenModel.directive);
     }
 
     @Override
-    public Optional<WhenModel> parse() {
+    public Optional<WhenModel> parse(LinkedHashMap parentNode, ParserContext context) {
         try {
-            Object whenObject = this.getValue(this.parentNode, this.yamlNodeName);
+            if (!parentNode.containsKey(this.yamlNodeName))
+                return Optional.empty();
+            Object whenObject = parentNode.get(this.yamlNodeName);
             if( whenObject instanceof List) {
                 return Optional.of(new WhenModel((List<String>) whenObject));
             }
             else if (whenObject instanceof  LinkedHashMap) {
-                return Optional.of(new WhenModel(new WhenConditionalParser((LinkedHashMap) whenObject).parse()));
+                return Optional.of(new WhenModel(WhenConditionalParser.instance.parse((LinkedHashMap) whenObject, context)));
             }
             else {
                 throw new PipelineAsYamlUnknownTypeException(whenObject.getClass().toString());
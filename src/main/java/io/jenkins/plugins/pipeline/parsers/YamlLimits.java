@@ -0,0 +1,276 @@
+package io.jenkins.plugins.pipeline.parsers;
+
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlBudgetException;
+import jenkins.util.SystemProperties;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.parser.Parser;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Limits applied to every YAML document loaded by the plugin, against alias expansion ("billion laughs"),
+ * deeply nested and oversized documents. Defaults are read from system properties and replaced with
+ * the values of {@link io.jenkins.plugins.pipeline.PipelineAsYamlGlobalConfiguration}.
+ * Nesting depth and size are enforced with the {@link LoaderOptions} of SnakeYAML if it supports them,
+ * and by the plugin otherwise. Nesting of stages and of sub scripts is limited separately by the parsers,
+ * since every level of them takes more than one level of YAML collections.
+ */
+public class YamlLimits {
+
+    private static final Logger LOGGER = Logger.getLogger(YamlLimits.class.getName());
+
+    public static final int defaultMaxAliases = SystemProperties.getInteger(YamlLimits.class.getName() + ".maxAliases", 50);
+    public static final int defaultMaxNestingDepth = SystemProperties.getInteger(YamlLimits.class.getName() + ".maxNestingDepth", 50);
+    public static final int defaultMaxCodePoints = SystemProperties.getInteger(YamlLimits.class.getName() + ".maxCodePoints", 3 * 1024 * 1024);
+    public static final int defaultMaxStageDepth = SystemProperties.getInteger(YamlLimits.class.getName() + ".maxStageDepth", 16);
+    public static final int defaultMaxScriptDepth = SystemProperties.getInteger(YamlLimits.class.getName() + ".maxScriptDepth", 16);
+    public static final boolean defaultAllowDuplicateKeys = !SystemProperties.getBoolean(YamlLimits.class.getName() + ".rejectDuplicateKeys");
+
+    private static final Method nestingDepthLimit = loaderOption("setNestingDepthLimit");
+    private static final Method codePointLimit = loaderOption("setCodePointLimit");
+    private static volatile YamlLimits current = new YamlLimits(defaultMaxAliases, defaultMaxNestingDepth, defaultMaxCodePoints, defaultAllowDuplicateKeys);
+
+    private final int maxAliases;
+    private final int maxNestingDepth;
+    private final int maxCodePoints;
+    private final boolean allowDuplicateKeys;
+    private final int maxStageDepth;
+    private final int maxScriptDepth;
+
+    /**
+     * Limits with the default nesting depths of stages and sub scripts
+     * @param maxAliases Maximum number of aliases of collections
+     * @param maxNestingDepth Maximum nesting depth of collections. Values lower than 1 disable the limit
+     * @param maxCodePoints Maximum number of code points of a document. Values lower than 1 disable the limit
+     * @param allowDuplicateKeys True: Last value of a duplicate key is used, False: Duplicate keys are rejected
+     */
+    public YamlLimits(int maxAliases, int maxNestingDepth, int maxCodePoints, boolean allowDuplicateKeys) {
+        this(maxAliases, maxNestingDepth, maxCodePoints, allowDuplicateKeys, defaultMaxStageDepth, defaultMaxScriptDepth);
+    }
+
+    /**
+     * @param maxAliases Maximum number of aliases of collections
+     * @param maxNestingDepth Maximum nesting depth of collections. Values lower than 1 disable the limit
+     * @param maxCodePoints Maximum number of code points of a document. Values lower than 1 disable the limit
+     * @param allowDuplicateKeys True: Last value of a duplicate key is used, False: Duplicate keys are rejected
+     * @param maxStageDepth Maximum nesting depth of stages. Values lower than 1 disable the limit
+     * @param maxScriptDepth Maximum nesting depth of sub scripts. Values lower than 1 disable the limit
+     */
+    public YamlLimits(int maxAliases, int maxNestingDepth, int maxCodePoints, boolean allowDuplicateKeys, int maxStageDepth, int maxScriptDepth) {
+        this.maxAliases = maxAliases;
+        this.maxNestingDepth = maxNestingDepth;
+        this.maxCodePoints = maxCodePoints;
+        this.allowDuplicateKeys = allowDuplicateKeys;
+        this.maxStageDepth = maxStageDepth;
+        this.maxScriptDepth = maxScriptDepth;
+    }
+
+    /**
+     * @return Limits applied to documents loaded from now on
+     */
+    public static YamlLimits get() {
+        return current;
+    }
+
+    /**
+     * Replace the limits. Documents being loaded keep the limits they are started with
+     * @param yamlLimits Limits
+     */
+    public static void set(YamlLimits yamlLimits) {
+        current = yamlLimits;
+    }
+
+    /**
+     * Create {@link LoaderOptions} with the limits supported by SnakeYAML
+     * @return Loader Options
+     */
+    public LoaderOptions toLoaderOptions() {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setMaxAliasesForCollections(this.maxAliases);
+        loaderOptions.setAllowDuplicateKeys(this.allowDuplicateKeys);
+        loaderOptions.setAllowRecursiveKeys(false);
+        setLoaderOption(loaderOptions, nestingDepthLimit, this.maxNestingDepth);
+        setLoaderOption(loaderOptions, codePointLimit, this.maxCodePoints);
+        return loaderOptions;
+    }
+
+    /**
+     * Check size of a document before it is loaded
+     * @param content Document
+     * @throws PipelineAsYamlBudgetException if the document has more code points than the limit
+     */
+    public void checkCodePoints(String content) {
+        if (this.maxCodePoints > 0 && content.length() > this.maxCodePoints && content.codePointCount(0, content.length()) > this.maxCodePoints)
+            throw this.codePointsExceeded();
+    }
+
+    /**
+     * Wrap reader of a document, so reading fails as soon as the document exceeds the size limit
+     * @param reader Reader of the document
+     * @return Limited reader
+     */
+    public Reader limit(Reader reader) {
+        if (this.maxCodePoints < 1)
+            return reader;
+        return new FilterReader(reader) {
+            private long read;
+
+            @Override
+            public int read() throws IOException {
+                int c = super.read();
+                if (c >= 0)
+                    this.count(1);
+                return c;
+            }
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                int count = super.read(cbuf, off, len);
+                if (count > 0)
+                    this.count(count);
+                return count;
+            }
+
+            // Characters are counted, which is an upper bound of the code points
+            private void count(int count) {
+                this.read += count;
+                if (this.read > YamlLimits.this.maxCodePoints)
+                    throw YamlLimits.this.codePointsExceeded();
+            }
+        };
+    }
+
+    /**
+     * Wrap parser of a document, so composing fails as soon as collections are nested deeper than the limit.
+     * Returns the parser itself if SnakeYAML enforces the limit
+     * @param parser Parser of the document
+     * @return Limited parser
+     */
+    public Parser limit(Parser parser) {
+        if (this.maxNestingDepth < 1 || nestingDepthLimit != null)
+            return parser;
+        return new Parser() {
+            private int depth;
+
+            @Override
+            public boolean checkEvent(Event.ID choice) {
+                return parser.checkEvent(choice);
+            }
+
+            @Override
+            public Event peekEvent() {
+                return parser.peekEvent();
+            }
+
+            @Override
+            public Event getEvent() {
+                Event event = parser.getEvent();
+                if (event.is(Event.ID.MappingStart) || event.is(Event.ID.SequenceStart))
+                    YamlLimits.this.checkNestingDepth(++this.depth);
+                else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd))
+                    this.depth--;
+                return event;
+            }
+        };
+    }
+
+    /**
+     * Check nesting depth of a collection
+     * @param depth Nesting depth of the collection
+     * @throws PipelineAsYamlBudgetException if the depth exceeds the limit
+     */
+    public void checkNestingDepth(int depth) {
+        if (this.maxNestingDepth > 0 && depth > this.maxNestingDepth)
+            throw new PipelineAsYamlBudgetException(String.format("Jenkinsfile YAML nesting depth exceeds the limit of %d", this.maxNestingDepth));
+    }
+
+    /**
+     * Check nesting depth of a stage
+     * @param depth Nesting depth of the stage, 1 for stages of the pipeline
+     * @throws PipelineAsYamlBudgetException if the depth exceeds the limit
+     */
+    public void checkStageDepth(int depth) {
+        if (this.maxStageDepth > 0 && depth > this.maxStageDepth)
+            throw new PipelineAsYamlBudgetException(String.format("Jenkinsfile YAML stages are nested deeper than the limit of %d", this.maxStageDepth));
+    }
+
+    /**
+     * Check nesting depth of a sub script
+     * @param depth Nesting depth of the sub script, 1 for sub scripts of the script
+     * @throws PipelineAsYamlBudgetException if the depth exceeds the limit
+     */
+    public void checkScriptDepth(int depth) {
+        if (this.maxScriptDepth > 0 && depth > this.maxScriptDepth)
+            throw new PipelineAsYamlBudgetException(String.format("Jenkinsfile YAML scripts are nested deeper than the limit of %d", this.maxScriptDepth));
+    }
+
+    /**
+     * Check number of aliases of collections
+     * @param aliases Number of aliases of collections read so far
+     * @throws PipelineAsYamlBudgetException if the number exceeds the limit
+     */
+    public void checkAliases(int aliases) {
+        if (aliases > this.maxAliases)
+            throw new PipelineAsYamlBudgetException(String.format("Jenkinsfile YAML has more than %d aliases of collections", this.maxAliases));
+    }
+
+    private PipelineAsYamlBudgetException codePointsExceeded() {
+        return new PipelineAsYamlBudgetException(String.format("Jenkinsfile YAML exceeds the limit of %d code points", this.maxCodePoints));
+    }
+
+    /**
+     * @return Fingerprint of the limits, for keys of conversions which are only valid within the limits
+     */
+    public String getFingerprint() {
+        return String.format("%d/%d/%d/%b/%d/%d", this.maxAliases, this.maxNestingDepth, this.maxCodePoints, this.allowDuplicateKeys, this.maxStageDepth, this.maxScriptDepth);
+    }
+
+    public int getMaxAliases() {
+        return maxAliases;
+    }
+
+    public int getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+    public int getMaxCodePoints() {
+        return maxCodePoints;
+    }
+
+    public boolean isAllowDuplicateKeys() {
+        return allowDuplicateKeys;
+    }
+
+    public int getMaxStageDepth() {
+        return maxStageDepth;
+    }
+
+    public int getMaxScriptDepth() {
+        return maxScriptDepth;
+    }
+
+    private static Method loaderOption(String name) {
+        try {
+            return LoaderOptions.class.getMethod(name, int.class);
+        } catch (NoSuchMethodException e) {
+            LOGGER.log(Level.FINE, "{0} is not supported by SnakeYAML, limit is enforced by the plugin", name);
+            return null;
+        }
+    }
+
+    private static void setLoaderOption(LoaderOptions loaderOptions, Method option, int value) {
+        if (option == null || value < 1)
+            return;
+        try {
+            option.invoke(loaderOptions, value);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.WARNING, "LoaderOptions." + option.getName() + " can not be set", e);
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package io.jenkins.plugins.pipeline.scm;
 
+import hudson.AbortException;
 import hudson.model.Action;
+import hudson.model.ItemGroup;
 import hudson.model.Queue;
 import hudson.model.TaskListener;
 import hudson.scm.SCM;
+import io.jenkins.plugins.pipeline.cps.PipelineCpsFlowDefinition;
 import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
 import jenkins.branch.Branch;
+import jenkins.scm.api.SCMFile;
+import jenkins.scm.api.SCMFileSystem;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.SCMRevision;
+import jenkins.scm.api.SCMRevisionAction;
+import jenkins.scm.api.SCMSource;
 import org.jenkinsci.plugins.workflow.flow.FlowDefinition;
 import org.jenkinsci.plugins.workflow.flow.FlowExecution;
 import org.jenkinsci.plugins.workflow.flow.FlowExecutionOwner;
@@ -13,7 +22,9 @@ import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jenkinsci.plugins.workflow.multibranch.BranchJobProperty;
 import io.jenkins.plugins.pipeline.cps.PipelineCpsScmFlowDefinition;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
 
+import javax.annotation.CheckForNull;
 import java.util.List;
 
 /**
@@ -22,12 +33,26 @@ import java.util.List;
 public class ExtendedSCMBinder extends FlowDefinition {
 
     private String yamlJenkinsfile;
+    private boolean lightweight;
 
     /**
      * @param yamlJenkinsfile
      */
     public ExtendedSCMBinder(String yamlJenkinsfile) {
+        this(yamlJenkinsfile, false);
+    }
+
+    /**
+     * @param yamlJenkinsfile Path of the Pipeline As Yaml script file in SCM, or candidate paths separated with commas
+     * @param lightweight True: Read only the yaml file from the branch revision, False: Check out the branch
+     */
+    public ExtendedSCMBinder(String yamlJenkinsfile, boolean lightweight) {
         this.yamlJenkinsfile = yamlJenkinsfile;
+        this.lightweight = lightweight;
+    }
+
+    public boolean isLightweight() {
+        return lightweight;
     }
 
     @Override
@@ -46,9 +71,109 @@ public class ExtendedSCMBinder extends FlowDefinition {
         if( branch == null) {
             throw new PipelineAsYamlRuntimeException("Branch can not be null");
         }
+        List<String> candidates = SCMSourceCriteriaForYamlFile.candidates(this.yamlJenkinsfile);
+        if (this.lightweight && !PipelineCpsFlowDefinition.isReplay(actions)) {
+            long start = System.nanoTime();
+            SCMSource scmSource = this.getSCMSource(run, branch);
+            if (scmSource != null) {
+                SCMRevision revision = this.getTrustedRevision(run, branch, scmSource, listener);
+                String cacheKey = YamlFileCache.key(branch.getScm(), revision, String.join(",", candidates));
+                String yamlJenkinsFileContent = this.readYamlJenkinsFile(scmSource, branch.getHead(), revision, candidates, cacheKey, listener);
+                if (yamlJenkinsFileContent != null)
+                    return PipelineCpsFlowDefinition.createExecution(yamlJenkinsFileContent, cacheKey, true, handle, listener, actions, System.nanoTime() - start);
+            }
+        }
         SCM scm = branch.getScm();
-        PipelineCpsScmFlowDefinition pipelineCpsScmFlowDefinition = new PipelineCpsScmFlowDefinition(scm,this.yamlJenkinsfile);
+        PipelineCpsScmFlowDefinition pipelineCpsScmFlowDefinition = new PipelineCpsScmFlowDefinition(scm, this.checkoutPath(run, branch, candidates));
         return pipelineCpsScmFlowDefinition.create(handle,listener,actions);
     }
 
+    /**
+     * Get path of the yaml file for full checkout. Path matched during branch indexing is used,
+     * first candidate if the branch is not indexed with the candidates.
+     * @param run Build
+     * @param branch Branch of the build
+     * @param candidates Candidate paths, in order
+     * @return Path of the yaml file
+     */
+    private String checkoutPath(WorkflowRun run, Branch branch, List<String> candidates) {
+        ItemGroup parent = run.getParent().getParent();
+        if (candidates.size() > 1 && parent instanceof WorkflowMultiBranchProject) {
+            String match = ProbeCache.of(((WorkflowMultiBranchProject) parent).getRootDir()).getLastMatch(branch.getSourceId(), branch.getHead().getName());
+            if (match != null && candidates.contains(match))
+                return match;
+        }
+        return candidates.get(0);
+    }
+
+    /**
+     * Get SCM source of the branch
+     * @param run Build
+     * @param branch Branch of the build
+     * @return SCM source, null if the build does not belong to a multibranch project
+     */
+    @CheckForNull
+    private SCMSource getSCMSource(WorkflowRun run, Branch branch) {
+        ItemGroup parent = run.getParent().getParent();
+        if (!(parent instanceof WorkflowMultiBranchProject))
+            return null;
+        return ((WorkflowMultiBranchProject) parent).getSCMSource(branch.getSourceId());
+    }
+
+    /**
+     * Get the trusted revision of the build. The revision is recorded on the build if it is not already known
+     * @param run Build
+     * @param branch Branch of the build
+     * @param scmSource SCM source of the branch
+     * @param listener Listener of the build
+     * @return Trusted revision
+     */
+    private SCMRevision getTrustedRevision(WorkflowRun run, Branch branch, SCMSource scmSource, TaskListener listener) throws Exception {
+        SCMRevision tip = SCMRevisionAction.getRevision(scmSource, run);
+        if (tip == null) {
+            tip = scmSource.fetch(branch.getHead(), listener);
+            if (tip == null) {
+                throw new AbortException("Could not determine exact tip revision of " + branch.getName());
+            }
+            run.addAction(new SCMRevisionAction(scmSource, tip));
+        }
+        return scmSource.getTrustedRevision(tip, listener);
+    }
+
+    /**
+     * Read the yaml file from the revision of the build with {@link SCMFileSystem}, without checking out the branch.
+     * Files already read at the revision are served from the {@link YamlFileCache}.
+     * @param scmSource SCM source of the branch
+     * @param head Head of the branch
+     * @param revision Trusted revision of the build
+     * @param candidates Candidate paths, in order. First existing one is read
+     * @param cacheKey Key of the file in {@link YamlFileCache}, null if the file is not cached
+     * @param listener Listener of the build
+     * @return Content of the yaml file, null if the SCM does not support reading single files
+     */
+    @CheckForNull
+    private String readYamlJenkinsFile(SCMSource scmSource, SCMHead head, SCMRevision revision, List<String> candidates, @CheckForNull String cacheKey, TaskListener listener) throws Exception {
+        String yamlJenkinsFileContent = YamlFileCache.get(cacheKey);
+        if (yamlJenkinsFileContent != null) {
+            listener.getLogger().println("Obtained " + String.join(", ", candidates) + " from cache of " + revision);
+            return yamlJenkinsFileContent;
+        }
+        try (SCMFileSystem fileSystem = SCMFileSystem.of(scmSource, head, revision)) {
+            if (fileSystem == null) {
+                listener.getLogger().println("Lightweight checkout support not available, falling back to full checkout.");
+                return null;
+            }
+            for (String candidate : candidates) {
+                SCMFile yamlJenkinsFile = fileSystem.child(candidate);
+                if (yamlJenkinsFile.isFile()) {
+                    yamlJenkinsFileContent = yamlJenkinsFile.contentAsString();
+                    listener.getLogger().println("Obtained " + candidate + " from " + revision);
+                    YamlFileCache.put(cacheKey, yamlJenkinsFileContent);
+                    return yamlJenkinsFileContent;
+                }
+            }
+            throw new AbortException(String.format("None of %s found in %s", candidates, revision));
+        }
+    }
+
 }
@@ -0,0 +1,226 @@
+package io.jenkins.plugins.pipeline.scm;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.init.Terminator;
+import hudson.model.Item;
+import hudson.model.PeriodicWork;
+import hudson.model.listeners.ItemListener;
+import jenkins.model.Jenkins;
+
+import javax.annotation.CheckForNull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent cache of branch indexing probe outcomes of a multibranch project.
+ * Outcomes are keyed on the revision of the head, and heads without any candidate are cached as well.
+ * Only the last outcome of each head is kept, so a head is probed again as soon as its revision moves.
+ * Outcomes are written to the project directory periodically and on shutdown.
+ * Caches of deleted and moved projects are dropped, so a project recreated at the same location starts empty.
+ */
+public class ProbeCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ProbeCache.class.getName());
+
+    private static final String fileName = "pipeline-as-yaml-probes.xml";
+    private static final Map<File, ProbeCache> caches = new ConcurrentHashMap<>();
+
+    private final XmlFile xmlFile;
+    private final Map<String, ProbeOutcome> outcomes = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    private ProbeCache(File rootDir) {
+        this.xmlFile = new XmlFile(Jenkins.XSTREAM2, new File(rootDir, fileName));
+        this.load();
+    }
+
+    /**
+     * Get probe cache of a project
+     * @param rootDir Root directory of the project
+     * @return Probe Cache
+     */
+    public static ProbeCache of(File rootDir) {
+        return caches.computeIfAbsent(rootDir, ProbeCache::new);
+    }
+
+    /**
+     * Get cached outcome of a probe
+     * @param sourceId Id of the SCM source
+     * @param head Name of the head
+     * @param candidates Probed candidate paths, in order
+     * @param revision Probed revision of the head
+     * @return Outcome, null if head is not probed for the candidates at the revision
+     */
+    @CheckForNull
+    public ProbeOutcome get(String sourceId, String head, List<String> candidates, String revision) {
+        ProbeOutcome probeOutcome = this.outcomes.get(key(sourceId, head));
+        if (probeOutcome == null || !revision.equals(probeOutcome.revision) || !candidates.equals(probeOutcome.candidates))
+            return null;
+        return probeOutcome;
+    }
+
+    /**
+     * Get the path matched by the last probe of a head, regardless of its revision
+     * @param sourceId Id of the SCM source
+     * @param head Name of the head
+     * @return Matched path, null if head is not probed or no candidate is matched
+     */
+    @CheckForNull
+    public String getLastMatch(String sourceId, String head) {
+        ProbeOutcome probeOutcome = this.outcomes.get(key(sourceId, head));
+        return probeOutcome != null ? probeOutcome.match : null;
+    }
+
+    /**
+     * Cache outcome of a probe. Previous outcome of the head is replaced
+     * @param sourceId Id of the SCM source
+     * @param head Name of the head
+     * @param candidates Probed candidate paths, in order
+     * @param revision Probed revision of the head
+     * @param match First existing candidate, null if no candidate exists
+     */
+    public void put(String sourceId, String head, List<String> candidates, String revision, @CheckForNull String match) {
+        this.outcomes.put(key(sourceId, head), new ProbeOutcome(new ArrayList<>(candidates), revision, match));
+        this.dirty = true;
+    }
+
+    /**
+     * Remove outcome of a head
+     * @param sourceId Id of the SCM source
+     * @param head Name of the head
+     */
+    public void remove(String sourceId, String head) {
+        if (this.outcomes.remove(key(sourceId, head)) != null)
+            this.dirty = true;
+    }
+
+    public int size() {
+        return this.outcomes.size();
+    }
+
+    /**
+     * Remove all outcomes of the project
+     */
+    public void clear() {
+        this.outcomes.clear();
+        this.dirty = true;
+    }
+
+    /**
+     * Write outcomes to the project directory if they are changed
+     */
+    public synchronized void save() {
+        if (!this.dirty)
+            return;
+        this.dirty = false;
+        try {
+            this.xmlFile.write(new HashMap<>(this.outcomes));
+        } catch (IOException e) {
+            this.dirty = true;
+            LOGGER.log(Level.WARNING, "Probe cache can not be saved to " + this.xmlFile, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!this.xmlFile.exists())
+            return;
+        try {
+            Object outcomes = this.xmlFile.read();
+            if (outcomes instanceof Map)
+                this.outcomes.putAll((Map<String, ProbeOutcome>) outcomes);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Probe cache can not be loaded from " + this.xmlFile, e);
+        }
+    }
+
+    private static String key(String sourceId, String head) {
+        return sourceId + "/" + head;
+    }
+
+    /**
+     * Write all changed probe caches
+     */
+    @Terminator
+    public static void saveAll() {
+        for (ProbeCache probeCache : caches.values())
+            probeCache.save();
+    }
+
+    /**
+     * Drop caches of projects at or below a directory without saving them, so the directories are not recreated
+     * @param rootDir Root directory of a deleted or moved item
+     */
+    static void forget(File rootDir) {
+        Path root = rootDir.toPath();
+        caches.keySet().removeIf(cacheDir -> cacheDir.toPath().startsWith(root));
+    }
+
+    /**
+     * Outcome of probing a head
+     */
+    public static class ProbeOutcome {
+
+        private final List<String> candidates;
+        private final String revision;
+        private final String match;
+
+        ProbeOutcome(List<String> candidates, String revision, String match) {
+            this.candidates = candidates;
+            this.revision = revision;
+            this.match = match;
+        }
+
+        /**
+         * @return First existing candidate, null if no candidate exists
+         */
+        @CheckForNull
+        public String getMatch() {
+            return match;
+        }
+    }
+
+    /**
+     * Drops caches of deleted projects, including projects of deleted folders, and caches of moved projects
+     */
+    @Extension
+    public static class ItemListenerImpl extends ItemListener {
+
+        @Override
+        public void onDeleted(Item item) {
+            forget(item.getRootDir());
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            // Former root directory is already moved, so caches of directories which no longer exist are dropped
+            caches.keySet().removeIf(cacheDir -> !cacheDir.isDirectory());
+        }
+    }
+
+    /**
+     * Writes changed probe caches periodically, so indexing does not write the cache for every probed head
+     */
+    @Extension
+    public static class PeriodicSave extends PeriodicWork {
+
+        @Override
+        public long getRecurrencePeriod() {
+            return MIN;
+        }
+
+        @Override
+        protected void doRun() {
+            saveAll();
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package io.jenkins.plugins.pipeline.scm;
 
 import hudson.model.TaskListener;
+import jenkins.scm.api.SCMFile;
+import jenkins.scm.api.SCMFileSystem;
 import jenkins.scm.api.SCMProbeStat;
 
+import javax.annotation.CheckForNull;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * SCM Source Criteria for {@link org.jenkinsci.plugins.workflow.multibranch.WorkflowBranchProjectFactory}
  */
 public class SCMSourceCriteriaForYamlFile {
 
+    public static final String defaultYamlJenkinsFile = "Jenkinsfile.yaml";
+
     public static boolean matches(String localFile, jenkins.scm.api.SCMSourceCriteria.Probe probe, TaskListener taskListener) throws IOException {
         SCMProbeStat stat = probe.stat(localFile);
         switch (stat.getType()) {
@@ -28,4 +36,66 @@ public class SCMSourceCriteriaForYamlFile {
                 return true;
         }
     }
+
+    /**
+     * Probe candidate files in order and stop at the first existing one
+     * @param candidates Candidate paths, in order
+     * @param probe Probe of the head
+     * @param taskListener Listener of the indexing
+     * @return First existing candidate, null if no candidate exists
+     * @throws IOException if probe fails
+     */
+    @CheckForNull
+    public static String firstMatch(List<String> candidates, jenkins.scm.api.SCMSourceCriteria.Probe probe, TaskListener taskListener) throws IOException {
+        for (String candidate : candidates) {
+            if (matches(candidate, probe, taskListener))
+                return candidate;
+        }
+        return null;
+    }
+
+    /**
+     * Probe candidate files in order in a file system of a head and stop at the first existing one
+     * @param candidates Candidate paths, in order
+     * @param fileSystem File system of the head at the probed revision
+     * @param taskListener Listener of the indexing
+     * @return First existing candidate, null if no candidate exists
+     * @throws IOException if probe fails
+     * @throws InterruptedException if probe is interrupted
+     */
+    @CheckForNull
+    public static String firstMatch(List<String> candidates, SCMFileSystem fileSystem, TaskListener taskListener) throws IOException, InterruptedException {
+        for (String candidate : candidates) {
+            SCMFile.Type type = fileSystem.child(candidate).getType();
+            switch (type) {
+                case NONEXISTENT:
+                    taskListener.getLogger().format("      ‘%s’ not found%n", candidate);
+                    break;
+                case DIRECTORY:
+                    taskListener.getLogger().format("      ‘%s’ found but is a directory not a file%n", candidate);
+                    break;
+                default:
+                    taskListener.getLogger().format("      ‘%s’ found%n", candidate);
+                    return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Split candidate paths of the yaml file. Paths are separated with commas or new lines
+     * @param yamlJenkinsFiles Candidate paths
+     * @return Candidate paths in order, default path if none is given
+     */
+    public static List<String> candidates(@CheckForNull String yamlJenkinsFiles) {
+        List<String> candidates = new ArrayList<>();
+        if (yamlJenkinsFiles != null) {
+            for (String candidate : yamlJenkinsFiles.split("[,\\n]")) {
+                candidate = candidate.trim();
+                if (!candidate.isEmpty() && !candidates.contains(candidate))
+                    candidates.add(candidate);
+            }
+        }
+        return candidates.isEmpty() ? Collections.singletonList(defaultYamlJenkinsFile) : candidates;
+    }
 }
@@ -0,0 +1,101 @@
+package io.jenkins.plugins.pipeline.scm;
+
+import hudson.scm.SCM;
+import io.jenkins.plugins.pipeline.conversion.ConversionCache;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import jenkins.scm.api.SCMRevision;
+import jenkins.util.SystemProperties;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Cache of Pipeline As YAML files fetched from SCM and of their converted scripts, keyed by SCM identity, revision and path.
+ * Content of a file at a deterministic revision never changes, so builds of an already fetched revision
+ * are served without reading and converting the file again.
+ * Multibranch builds key the cache on the revision of their head, Pipeline jobs on the revision resolved by
+ * {@link jenkins.scm.api.SCMFileSystem#getRevision()}. File systems which do not report their revision are not cached.
+ */
+public class YamlFileCache {
+
+    public static final int cacheSize = SystemProperties.getInteger(YamlFileCache.class.getName() + ".cacheSize", 256);
+    private static final ConversionCache<String> fileCache = new ConversionCache<>(cacheSize);
+    private static final ConversionCache<String> scriptCache = new ConversionCache<>(cacheSize);
+
+    private YamlFileCache() {
+    }
+
+    /**
+     * Calculate cache key of a file
+     * @param scm SCM of the file
+     * @param revision Revision of the file
+     * @param path Path of the file in SCM
+     * @return Cache key, null if revision can not be used as a key
+     */
+    @CheckForNull
+    public static String key(SCM scm, @CheckForNull SCMRevision revision, String path) {
+        if (revision == null || !revision.isDeterministic())
+            return null;
+        return String.join("\u0000", scm.getKey(), revision.toString(), path);
+    }
+
+    /**
+     * Get cached content of a file
+     * @param key Cache key, see {@link #key(SCM, SCMRevision, String)}
+     * @return Content of the file, null if it is not cached
+     */
+    @CheckForNull
+    public static String get(@CheckForNull String key) {
+        return key != null ? fileCache.get(key) : null;
+    }
+
+    /**
+     * Cache content of a file
+     * @param key Cache key, see {@link #key(SCM, SCMRevision, String)}
+     * @param content Content of the file
+     */
+    public static void put(@CheckForNull String key, String content) {
+        if (key != null)
+            fileCache.put(key, content);
+    }
+
+    /**
+     * Get cached Jenkins Declarative Pipeline script converted from a file.
+     * Scripts are cached for the current {@link YamlLimits}, since the file may exceed other limits
+     * @param key Cache key, see {@link #key(SCM, SCMRevision, String)}
+     * @return Converted script, null if it is not cached
+     */
+    @CheckForNull
+    public static String getScript(@CheckForNull String key) {
+        return key != null ? scriptCache.get(scriptKey(key)) : null;
+    }
+
+    /**
+     * Cache Jenkins Declarative Pipeline script converted from a file
+     * @param key Cache key, see {@link #key(SCM, SCMRevision, String)}
+     * @param script Converted script
+     */
+    public static void putScript(@CheckForNull String key, String script) {
+        if (key != null)
+            scriptCache.put(scriptKey(key), script);
+    }
+
+    private static String scriptKey(String key) {
+        return key + "\u0000" + YamlLimits.get().getFingerprint();
+    }
+
+    /**
+     * Get cache of fetched files
+     * @return File Cache
+     */
+    public static ConversionCache<String> getFileCache() {
+        return fileCache;
+    }
+
+    /**
+     * Get cache of converted scripts
+     * @return Script Cache
+     */
+    public static ConversionCache<String> getScriptCache() {
+        return scriptCache;
+    }
+}
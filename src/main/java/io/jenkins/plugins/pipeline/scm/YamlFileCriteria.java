@@ -0,0 +1,131 @@
+package io.jenkins.plugins.pipeline.scm;
+
+import hudson.model.Item;
+import hudson.model.TaskListener;
+import jenkins.scm.api.SCMFileSystem;
+import jenkins.scm.api.SCMRevision;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceCriteria;
+import jenkins.scm.api.SCMSourceOwner;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SCMSourceCriteria} matching heads which contain one of the candidate yaml files.
+ * Candidates are probed in order with a single pass per head, and the first existing one is used.
+ * Outcomes, including heads without any candidate, are cached in the {@link ProbeCache} of the project under the
+ * revision of the head, so heads are probed only when their revision moves.
+ * The probe does not expose its revision, so the revision is resolved from the {@link SCMSource} and the candidates
+ * are probed with the {@link SCMFileSystem} of that revision, so a cached outcome always belongs to its revision.
+ * Heads of sources without file system support or deterministic revisions are probed on every indexing.
+ */
+public class YamlFileCriteria implements SCMSourceCriteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<String> candidates;
+    private final String sourceId;
+    private final AtomicInteger cachedHeads = new AtomicInteger();
+    private final AtomicInteger probedHeads = new AtomicInteger();
+    private transient SCMSource source;
+    private transient ProbeCache probeCache;
+
+    /**
+     * @param candidates Candidate paths of the Pipeline As Yaml script file in SCM, in order
+     * @param source SCM Source of the heads
+     */
+    public YamlFileCriteria(List<String> candidates, SCMSource source) {
+        this.candidates = new ArrayList<>(candidates);
+        this.sourceId = source.getId();
+        this.source = source;
+        SCMSourceOwner owner = source.getOwner();
+        this.probeCache = owner instanceof Item ? ProbeCache.of(((Item) owner).getRootDir()) : null;
+    }
+
+    @Override
+    public boolean isHead(@Nonnull Probe probe, @Nonnull TaskListener taskListener) throws IOException {
+        SCMRevision revision = this.probeCache != null ? this.resolveRevision(probe, taskListener) : null;
+        if (revision == null) {
+            this.probedHeads.incrementAndGet();
+            return SCMSourceCriteriaForYamlFile.firstMatch(this.candidates, probe, taskListener) != null;
+        }
+        String revisionKey = revision.toString();
+        ProbeCache.ProbeOutcome probeOutcome = this.probeCache.get(this.sourceId, probe.name(), this.candidates, revisionKey);
+        if (probeOutcome != null) {
+            int cached = this.cachedHeads.incrementAndGet();
+            if (probeOutcome.getMatch() != null)
+                taskListener.getLogger().format("      ‘%s’ found at unchanged revision (%d cached, %d probed)%n",
+                        probeOutcome.getMatch(), cached, this.probedHeads.get());
+            else
+                taskListener.getLogger().format("      None of %s found at unchanged revision (%d cached, %d probed)%n",
+                        this.candidates, cached, this.probedHeads.get());
+            return probeOutcome.getMatch() != null;
+        }
+        String match;
+        try (SCMFileSystem fileSystem = SCMFileSystem.of(this.source, revision.getHead(), revision)) {
+            if (fileSystem == null) {
+                match = SCMSourceCriteriaForYamlFile.firstMatch(this.candidates, probe, taskListener);
+            } else {
+                match = SCMSourceCriteriaForYamlFile.firstMatch(this.candidates, fileSystem, taskListener);
+                this.probeCache.put(this.sourceId, probe.name(), this.candidates, revisionKey, match);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Probe of " + probe.name() + " is interrupted");
+        }
+        int probed = this.probedHeads.incrementAndGet();
+        taskListener.getLogger().format("      (%d cached, %d probed)%n", this.cachedHeads.get(), probed);
+        return match != null;
+    }
+
+    /**
+     * Resolve the current revision of a probed head
+     * @param probe Probe of the head
+     * @param taskListener Listener of the indexing
+     * @return Deterministic revision of the head, null if it can not be resolved
+     */
+    @CheckForNull
+    private SCMRevision resolveRevision(Probe probe, TaskListener taskListener) throws IOException {
+        if (this.source == null)
+            return null;
+        try {
+            SCMRevision revision = this.source.fetch(probe.name(), taskListener);
+            if (revision == null || !revision.isDeterministic() || !probe.name().equals(revision.getHead().getName()))
+                return null;
+            return revision;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Revision of " + probe.name() + " can not be resolved");
+        }
+    }
+
+    public int getCachedHeads() {
+        return this.cachedHeads.get();
+    }
+
+    public int getProbedHeads() {
+        return this.probedHeads.get();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        YamlFileCriteria that = (YamlFileCriteria) o;
+        return Objects.equals(this.candidates, that.candidates) && Objects.equals(this.sourceId, that.sourceId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.candidates, this.sourceId);
+    }
+}
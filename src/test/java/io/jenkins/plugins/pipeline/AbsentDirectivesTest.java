@@ -0,0 +1,78 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlException;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+public class AbsentDirectivesTest {
+
+    private final Logger logger = Logger.getLogger(PipelineAsYamlException.class.getName());
+    private final AtomicInteger exceptionCount = new AtomicInteger();
+    private Level level;
+    private Handler handler;
+
+    @Before
+    public void setup() {
+        this.level = this.logger.getLevel();
+        this.handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getThrown() != null)
+                    exceptionCount.incrementAndGet();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        this.logger.setLevel(Level.FINE);
+        this.logger.addHandler(this.handler);
+    }
+
+    @After
+    public void tearDown() {
+        this.logger.removeHandler(this.handler);
+        this.logger.setLevel(this.level);
+    }
+
+    @Test
+    public void sparseStagesWithoutExceptions() {
+        String jenkinsFileContent = new PipelineYamlGenerator(1).stageCount(1000).maxDepth(1).sparse(true).generate();
+        Optional<PipelineModel> pipelineModel = new PipelineParser(jenkinsFileContent).parse();
+        Assert.assertTrue(pipelineModel.isPresent());
+        Assert.assertEquals(1000, pipelineModel.get().getStages().get().getStageModelList().size());
+        Assert.assertEquals(0, this.exceptionCount.get());
+    }
+
+    @Test
+    public void allDirectivesWithoutExceptions() {
+        String jenkinsFileContent = new PipelineYamlGenerator(1).stageCount(100).maxDepth(3).generate();
+        Assert.assertTrue(new PipelineParser(jenkinsFileContent).parse().isPresent());
+        Assert.assertEquals(0, this.exceptionCount.get());
+    }
+
+    @Test
+    public void absentDirectivesAreEmpty() {
+        PipelineModel pipelineModel = new PipelineParser("pipeline:\n  stages:\n    - stage: \"Stage1\"\n      steps:\n        - echo \"1\"\n").parse().get();
+        Assert.assertFalse(pipelineModel.getAgent().isPresent());
+        Assert.assertFalse(pipelineModel.getPost().isPresent());
+        Assert.assertFalse(pipelineModel.getLibrary().isPresent());
+        Assert.assertFalse(pipelineModel.getStages().get().getStageModelList().get(0).getWhenModel().isPresent());
+        Assert.assertEquals(0, this.exceptionCount.get());
+    }
+}
@@ -0,0 +1,177 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionService;
+import io.jenkins.plugins.pipeline.conversion.PipelineConverter;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StreamingPipelineParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConcurrentConversionTest {
+
+    private static final int threads = 8;
+    private static final int documents = 32;
+    private static final int rounds = 4;
+
+    @Test
+    public void concurrentConversions() throws Exception {
+        List<String> jenkinsFileContents = new ArrayList<>();
+        List<String> expectedGroovies = new ArrayList<>();
+        for (int i = 0; i < documents; i++) {
+            String jenkinsFileContent = new PipelineYamlGenerator(i).stageCount(20).maxDepth(3).generate();
+            jenkinsFileContents.add(jenkinsFileContent);
+            expectedGroovies.add(new PipelineParser(jenkinsFileContent).parse().get().toPrettyGroovy());
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int round = 0; round < rounds; round++) {
+                for (int i = 0; i < documents; i++) {
+                    String jenkinsFileContent = jenkinsFileContents.get(i);
+                    boolean streaming = (round + i) % 2 == 0;
+                    futures.add(executorService.submit(convert(jenkinsFileContent, streaming)));
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Assert.assertEquals(expectedGroovies.get(i % documents), futures.get(i).get(60, TimeUnit.SECONDS));
+            }
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentUnknownKeys() throws Exception {
+        String jenkinsFileContent = "pipeline:\n  agnet: any\n  stages:\n    - stage: Stage1\n      beforeOptions: true\n      steps:\n        - echo \"1\"\n";
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < documents; i++) {
+                futures.add(executorService.submit(() -> {
+                    PipelineParser pipelineParser = new PipelineParser(jenkinsFileContent);
+                    pipelineParser.parse();
+                    return pipelineParser.getUnknownKeys();
+                }));
+            }
+            for (Future<List<String>> future : futures) {
+                List<String> unknownKeys = future.get(60, TimeUnit.SECONDS);
+                Assert.assertEquals(2, unknownKeys.size());
+                Assert.assertTrue(unknownKeys.contains("pipeline.agnet"));
+                Assert.assertTrue(unknownKeys.contains("Stage1.beforeOptions"));
+            }
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentConversionsOfSameContentCoalesced() throws Exception {
+        String jenkinsFileContent = new PipelineYamlGenerator(System.nanoTime()).stageCount(200).maxDepth(3).generate();
+        PipelineConverter.getConversionCache().clear();
+        long conversions = PipelineConverter.getConversions();
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    barrier.await();
+                    return PipelineConverter.convert(jenkinsFileContent);
+                }));
+            }
+            String expectedGroovy = futures.get(0).get(60, TimeUnit.SECONDS);
+            for (Future<String> future : futures) {
+                Assert.assertSame(expectedGroovy, future.get(60, TimeUnit.SECONDS));
+            }
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+        Assert.assertEquals(conversions + 1, PipelineConverter.getConversions());
+    }
+
+    @Test
+    public void waitingCallersRetryWhenLeaderInterrupted() throws Exception {
+        String jenkinsFileContent = new PipelineYamlGenerator(System.nanoTime()).stageCount(20).maxDepth(3).generate();
+        String expectedGroovy = new PipelineParser(jenkinsFileContent).parse().get().toPrettyGroovy();
+        PipelineConverter.getConversionCache().clear();
+        CountDownLatch release = new CountDownLatch(1);
+        int slots = Math.max(1, ConversionService.Lane.BUILD.getPoolSize()) + Math.max(0, ConversionService.Lane.BUILD.getQueueSize());
+        try {
+            for (int i = 0; i < slots; i++) {
+                ConversionService.get().submit(ConversionService.Lane.BUILD, () -> {
+                    try {
+                        return release.await(60, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        return false;
+                    }
+                });
+            }
+            AtomicReference<Throwable> leaderFailure = new AtomicReference<>();
+            Thread leader = new Thread(() -> {
+                try {
+                    PipelineConverter.convert(jenkinsFileContent);
+                } catch (Throwable t) {
+                    leaderFailure.set(t);
+                }
+            });
+            leader.start();
+            awaitWaiting(leader);
+            AtomicReference<Object> waiterResult = new AtomicReference<>();
+            Thread waiter = new Thread(() -> {
+                try {
+                    waiterResult.set(PipelineConverter.convert(jenkinsFileContent));
+                } catch (Throwable t) {
+                    waiterResult.set(t);
+                }
+            });
+            waiter.start();
+            awaitWaiting(waiter);
+
+            // Leader is interrupted while waiting for a slot of the full build lane
+            leader.interrupt();
+            leader.join(10000);
+            Assert.assertTrue(String.valueOf(leaderFailure.get()), leaderFailure.get() instanceof PipelineAsYamlRuntimeException);
+            awaitWaiting(waiter);
+            Assert.assertNull(waiterResult.get());
+
+            release.countDown();
+            waiter.join(60000);
+            Assert.assertEquals(expectedGroovy, waiterResult.get());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            Assert.assertTrue(thread.getState().toString(), System.currentTimeMillis() < deadline && thread.isAlive());
+            Thread.sleep(10);
+        }
+    }
+
+    private static Callable<String> convert(String jenkinsFileContent, boolean streaming) {
+        return () -> {
+            Optional<PipelineModel> pipelineModel = streaming ?
+                    new StreamingPipelineParser(jenkinsFileContent).parse() : new PipelineParser(jenkinsFileContent).parse();
+            return pipelineModel.get().toPrettyGroovy();
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionBudget;
+import io.jenkins.plugins.pipeline.conversion.PipelineConverter;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlBudgetException;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StreamingPipelineParser;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConversionBudgetTest {
+
+    private final String jenkinsFileContent = new PipelineYamlGenerator(7).stageCount(50).maxDepth(3).generate();
+
+    @Test
+    public void sizeBudget() {
+        YamlLimits defaultLimits = YamlLimits.get();
+        YamlLimits.set(new YamlLimits(defaultLimits.getMaxAliases(), defaultLimits.getMaxNestingDepth(), 1024, defaultLimits.isAllowDuplicateKeys()));
+        try {
+            String oversized = "pipeline:\n  agent: any\n#" + StringUtils.repeat("#", 1024);
+            PipelineConverter.convert(oversized);
+            Assert.fail("Oversized script must not be converted");
+        } catch (PipelineAsYamlBudgetException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("exceeds the limit of 1024 code points"));
+        } finally {
+            YamlLimits.set(defaultLimits);
+        }
+    }
+
+    @Test
+    public void timeBudget() {
+        try {
+            ConversionBudget.run(1, () -> {
+                this.sleep();
+                return new PipelineParser(this.jenkinsFileContent).parse();
+            });
+            Assert.fail("Conversion must be stopped after its deadline");
+        } catch (PipelineAsYamlBudgetException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("time limit of 1 ms"));
+        }
+    }
+
+    @Test
+    public void timeBudgetOfStreamingParser() {
+        try {
+            ConversionBudget.run(1, () -> {
+                this.sleep();
+                return new StreamingPipelineParser(this.jenkinsFileContent).parse();
+            });
+            Assert.fail("Conversion must be stopped after its deadline");
+        } catch (PipelineAsYamlBudgetException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("time limit of 1 ms"));
+        }
+    }
+
+    @Test
+    public void cancellation() {
+        try {
+            ConversionBudget.run(60000, () -> {
+                Thread.currentThread().interrupt();
+                return new PipelineParser(this.jenkinsFileContent).parse();
+            });
+            Assert.fail("Conversion must be stopped when its thread is interrupted");
+        } catch (PipelineAsYamlBudgetException e) {
+            Assert.assertEquals("Conversion is cancelled", e.getMessage());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void withinBudget() {
+        Assert.assertTrue(ConversionBudget.run(60000, () -> new PipelineParser(this.jenkinsFileContent).parse()).isPresent());
+        Assert.assertTrue(new PipelineParser(this.jenkinsFileContent).parse().isPresent());
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
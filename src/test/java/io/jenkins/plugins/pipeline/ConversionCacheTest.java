@@ -0,0 +1,78 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionCache;
+import io.jenkins.plugins.pipeline.conversion.PipelineConverter;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+public class ConversionCacheTest {
+
+    @Before
+    public void setup() {
+        PipelineConverter.getConversionCache().clear();
+    }
+
+    @Test
+    public void lruEviction() {
+        ConversionCache<String> conversionCache = new ConversionCache<>(2);
+        conversionCache.put("a", "A");
+        conversionCache.put("b", "B");
+        Assert.assertEquals("A", conversionCache.get("a"));
+        conversionCache.put("c", "C");
+        Assert.assertEquals(2, conversionCache.size());
+        Assert.assertNull(conversionCache.get("b"));
+        Assert.assertEquals("A", conversionCache.get("a"));
+        Assert.assertEquals("C", conversionCache.get("c"));
+        Assert.assertEquals(1, conversionCache.getEvictions());
+        Assert.assertEquals(3, conversionCache.getHits());
+        Assert.assertEquals(1, conversionCache.getMisses());
+    }
+
+    @Test
+    public void disabledCache() {
+        ConversionCache<String> conversionCache = new ConversionCache<>(0);
+        conversionCache.put("a", "A");
+        Assert.assertNull(conversionCache.get("a"));
+        Assert.assertEquals(0, conversionCache.size());
+    }
+
+    @Test
+    public void contentHash() {
+        String hash = PipelineConverter.contentHash("pipeline:");
+        Assert.assertEquals(64, hash.length());
+        Assert.assertEquals(hash, PipelineConverter.contentHash("pipeline:"));
+        Assert.assertNotEquals(hash, PipelineConverter.contentHash("pipeline: "));
+    }
+
+    @Test
+    public void contentHashOfLimits() {
+        YamlLimits defaultLimits = YamlLimits.get();
+        String hash = PipelineConverter.contentHash("pipeline:");
+        try {
+            YamlLimits.set(new YamlLimits(defaultLimits.getMaxAliases(), 2, defaultLimits.getMaxCodePoints(), defaultLimits.isAllowDuplicateKeys()));
+            Assert.assertNotEquals(hash, PipelineConverter.contentHash("pipeline:"));
+        } finally {
+            YamlLimits.set(defaultLimits);
+        }
+        Assert.assertEquals(hash, PipelineConverter.contentHash("pipeline:"));
+    }
+
+    @Test
+    public void convertIdenticalContentOnce() throws IOException {
+        String jenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/pipeline/pipelineAllinOne.yml"));
+        ConversionCache<String> conversionCache = PipelineConverter.getConversionCache();
+        long misses = conversionCache.getMisses();
+        long hits = conversionCache.getHits();
+        String first = PipelineConverter.convert(jenkinsFileContent);
+        String second = PipelineConverter.convert(new String(jenkinsFileContent));
+        Assert.assertSame(first, second);
+        Assert.assertEquals(misses + 1, conversionCache.getMisses());
+        Assert.assertEquals(hits + 1, conversionCache.getHits());
+    }
+}
@@ -0,0 +1,117 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionService;
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRejectedException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ConversionServiceTest {
+
+    private final ConversionService conversionService = new ConversionService(1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        this.release.countDown();
+        this.conversionService.shutdown();
+    }
+
+    @Test
+    public void interactiveLaneRejectsWhenFull() throws Exception {
+        CompletableFuture<String> running = this.conversionService.submit(ConversionService.Lane.INTERACTIVE, this::blocked);
+        CompletableFuture<String> queued = this.conversionService.submit(ConversionService.Lane.INTERACTIVE, this::blocked);
+        Assert.assertEquals(2, this.conversionService.getPending(ConversionService.Lane.INTERACTIVE));
+        try {
+            this.conversionService.submit(ConversionService.Lane.INTERACTIVE, () -> "rejected");
+            Assert.fail("Full interactive lane must reject conversions");
+        } catch (PipelineAsYamlRejectedException e) {
+            Assert.assertEquals(1, this.conversionService.getRejections(ConversionService.Lane.INTERACTIVE));
+        }
+        this.release.countDown();
+        Assert.assertEquals("converted", running.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals("converted", queued.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals("accepted", this.conversionService.call(ConversionService.Lane.INTERACTIVE, () -> "accepted"));
+    }
+
+    @Test
+    public void buildLaneWaitsForFreeSlot() throws Exception {
+        this.conversionService.submit(ConversionService.Lane.BUILD, this::blocked);
+        this.conversionService.submit(ConversionService.Lane.BUILD, this::blocked);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> waiting = executorService.submit(() -> this.conversionService.call(ConversionService.Lane.BUILD, () -> "waited"));
+            try {
+                waiting.get(500, TimeUnit.MILLISECONDS);
+                Assert.fail("Full build lane must make callers wait");
+            } catch (TimeoutException e) {
+                Assert.assertEquals(0, this.conversionService.getRejections(ConversionService.Lane.BUILD));
+            }
+            this.release.countDown();
+            Assert.assertEquals("waited", waiting.get(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void buildLaneRejectsWhenNoSlotIsFreedInTime() {
+        ConversionService timedConversionService = new ConversionService(1, 1, 200);
+        try {
+            timedConversionService.submit(ConversionService.Lane.BUILD, this::blocked);
+            timedConversionService.submit(ConversionService.Lane.BUILD, this::blocked);
+            try {
+                timedConversionService.call(ConversionService.Lane.BUILD, () -> "rejected");
+                Assert.fail("Full build lane must reject conversions after waiting");
+            } catch (PipelineAsYamlRejectedException e) {
+                Assert.assertEquals(1, timedConversionService.getRejections(ConversionService.Lane.BUILD));
+            }
+        } finally {
+            this.release.countDown();
+            timedConversionService.shutdown();
+        }
+    }
+
+    @Test
+    public void interactiveLaneNotQueuedBehindBuilds() {
+        this.conversionService.submit(ConversionService.Lane.BUILD, this::blocked);
+        this.conversionService.submit(ConversionService.Lane.BUILD, this::blocked);
+        Assert.assertEquals("interactive", this.conversionService.call(ConversionService.Lane.INTERACTIVE, () -> "interactive"));
+    }
+
+    @Test
+    public void nestedConversionRunsInline() {
+        String nested = this.conversionService.call(ConversionService.Lane.INTERACTIVE,
+                () -> this.conversionService.call(ConversionService.Lane.INTERACTIVE, () -> "nested"));
+        Assert.assertEquals("nested", nested);
+    }
+
+    @Test
+    public void failuresThrownToCaller() {
+        try {
+            this.conversionService.call(ConversionService.Lane.BUILD, () -> {
+                throw new IllegalStateException("conversion failed");
+            });
+            Assert.fail("Failure of the conversion must be thrown");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("conversion failed", e.getMessage());
+        }
+    }
+
+    private String blocked() {
+        try {
+            this.release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "converted";
+    }
+}
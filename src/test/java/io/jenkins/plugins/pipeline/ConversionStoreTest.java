@@ -0,0 +1,110 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.conversion.ConversionStore;
+import io.jenkins.plugins.pipeline.conversion.PipelineConverter;
+import io.jenkins.plugins.pipeline.conversion.ValidationResult;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConversionStoreTest {
+
+    @Rule
+    public JenkinsRule jenkins = new JenkinsRule();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void scriptRoundTrip() throws Exception {
+        File baseDirectory = this.temporaryFolder.newFolder();
+        ConversionStore conversionStore = new ConversionStore(baseDirectory, "1.0", 1024);
+        Assert.assertNull(conversionStore.getScript("hash"));
+        conversionStore.putScript("hash", "pipeline {}");
+        Assert.assertEquals("pipeline {}", new ConversionStore(baseDirectory, "1.0", 1024).getScript("hash"));
+        Assert.assertEquals(1, conversionStore.getMisses());
+    }
+
+    @Test
+    public void otherVersionsRemoved() throws Exception {
+        File baseDirectory = this.temporaryFolder.newFolder();
+        new ConversionStore(baseDirectory, "1.0", 1024).putScript("hash", "pipeline {}");
+        ConversionStore conversionStore = new ConversionStore(baseDirectory, "1.1 (private)", 1024);
+        Assert.assertNull(conversionStore.getScript("hash"));
+        Assert.assertFalse(new File(baseDirectory, "1.0").exists());
+        Assert.assertEquals("1.1__private_", conversionStore.getDirectory().getName());
+    }
+
+    @Test
+    public void leastRecentlyUsedEvicted() throws Exception {
+        ConversionStore conversionStore = new ConversionStore(this.temporaryFolder.newFolder(), "1.0", 110);
+        conversionStore.putScript("a", new String(new char[40]));
+        conversionStore.putScript("b", new String(new char[40]));
+        new File(conversionStore.getDirectory(), "a.groovy").setLastModified(System.currentTimeMillis() - 60000);
+        conversionStore.putScript("c", new String(new char[40]));
+        Assert.assertNull(conversionStore.getScript("a"));
+        Assert.assertNotNull(conversionStore.getScript("b"));
+        Assert.assertNotNull(conversionStore.getScript("c"));
+        Assert.assertEquals(1, conversionStore.getEvictions());
+        Assert.assertEquals(80, conversionStore.getBytes());
+    }
+
+    @Test
+    public void concurrentWritesAccounted() throws Exception {
+        ConversionStore conversionStore = new ConversionStore(this.temporaryFolder.newFolder(), "1.0", 1000);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String hash = "hash" + (i % 50);
+                writes.add(executorService.submit(() -> conversionStore.putScript(hash, new String(new char[40]))));
+            }
+            for (Future<?> write : writes)
+                write.get();
+        } finally {
+            executorService.shutdownNow();
+        }
+        long length = 0;
+        for (File file : conversionStore.getDirectory().listFiles())
+            length += file.length();
+        Assert.assertEquals(length, conversionStore.getBytes());
+        Assert.assertTrue(conversionStore.getBytes() <= 1000);
+    }
+
+    @Test
+    public void validationResultBoundToPlugins() throws Exception {
+        ConversionStore conversionStore = new ConversionStore(this.temporaryFolder.newFolder(), "1.0", 1024);
+        conversionStore.putValidationResult("hash", "plugins", ValidationResult.invalid("Pipeline validation failed", Arrays.asList("first\nerror", "second")));
+        ValidationResult validationResult = conversionStore.getValidationResult("hash", "plugins");
+        Assert.assertNotNull(validationResult);
+        Assert.assertFalse(validationResult.isValid());
+        Assert.assertEquals("Pipeline validation failed", validationResult.getMessage());
+        Assert.assertEquals(Arrays.asList("first\nerror", "second"), validationResult.getErrors());
+        Assert.assertNull(conversionStore.getValidationResult("hash", "otherPlugins"));
+    }
+
+    @Test
+    public void conversionSurvivesMemoryCacheLoss() throws Exception {
+        String jenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/pipeline/pipelineAllinOne.yml"));
+        ConversionStore conversionStore = ConversionStore.get();
+        Assert.assertNotNull(conversionStore);
+        PipelineConverter.getConversionCache().clear();
+        String converted = PipelineConverter.convert(jenkinsFileContent);
+        PipelineConverter.getConversionCache().clear();
+        long hits = conversionStore.getHits();
+        Assert.assertEquals(converted, PipelineConverter.convert(jenkinsFileContent));
+        Assert.assertEquals(hits + 1, conversionStore.getHits());
+        Assert.assertTrue(new File(this.jenkins.jenkins.getRootDir(), ConversionStore.directoryName).isDirectory());
+    }
+}
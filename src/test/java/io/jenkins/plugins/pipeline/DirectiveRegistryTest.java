@@ -0,0 +1,59 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.DirectiveRegistry;
+import io.jenkins.plugins.pipeline.parsers.ParserContext;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StreamingPipelineParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DirectiveRegistryTest {
+
+    @Test
+    public void dispatchPresentKeysOnly() {
+        AtomicInteger calls = new AtomicInteger();
+        DirectiveRegistry directiveRegistry = new DirectiveRegistry()
+                .register("agent", (node, context) -> { calls.incrementAndGet(); return Optional.of("agent"); })
+                .register("post", (node, context) -> { calls.incrementAndGet(); return Optional.of("post"); })
+                .attribute("stage");
+        LinkedHashMap node = new LinkedHashMap();
+        node.put("stage", "Stage1");
+        node.put("agent", "any");
+        node.put("agnet", "any");
+        ParserContext context = new ParserContext();
+        DirectiveRegistry.Directives directives = directiveRegistry.parse(node, "Stage1", context);
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals(Optional.of("agent"), directives.get("agent"));
+        Assert.assertFalse(directives.get("post").isPresent());
+        Assert.assertEquals(Arrays.asList("Stage1.agnet"), context.getUnknownKeys());
+    }
+
+    @Test
+    public void unknownKeys() throws IOException {
+        String jenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/when/whenFlags.yml"));
+        PipelineParser pipelineParser = new PipelineParser(jenkinsFileContent);
+        Assert.assertTrue(pipelineParser.parse().isPresent());
+        Assert.assertEquals(Arrays.asList("WhenTest.beforeOptions", "WhenTest.beforeInput"), pipelineParser.getUnknownKeys());
+        StreamingPipelineParser streamingPipelineParser = new StreamingPipelineParser(jenkinsFileContent);
+        Assert.assertTrue(streamingPipelineParser.parse().isPresent());
+        Assert.assertEquals(pipelineParser.getUnknownKeys(), streamingPipelineParser.getUnknownKeys());
+    }
+
+    @Test
+    public void noUnknownKeysForKnownDirectives() {
+        String jenkinsFileContent = new PipelineYamlGenerator(1).stageCount(50).maxDepth(3).generate();
+        PipelineParser pipelineParser = new PipelineParser(jenkinsFileContent);
+        Optional<PipelineModel> pipelineModel = pipelineParser.parse();
+        Assert.assertTrue(pipelineModel.isPresent());
+        Assert.assertTrue(pipelineParser.getUnknownKeys().isEmpty());
+    }
+}
@@ -0,0 +1,49 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.models.GroovyEmitter;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+
+public class GroovyEmitterTest {
+
+    @Test
+    public void prettyIndentation() {
+        GroovyEmitter groovyEmitter = GroovyEmitter.pretty();
+        groovyEmitter.append("pipeline {\n\nstages {\n").append("stage('A') {\n}\n} else {\necho 'a'\n}\n}").append('\n').append("}");
+        Assert.assertEquals("pipeline {\n  stages {\n    stage('A') {\n    }\n    } else {\n      echo 'a'\n    }\n  }\n}\n", groovyEmitter.toString());
+    }
+
+    @Test
+    public void rawOutputIsUnchanged() {
+        GroovyEmitter groovyEmitter = GroovyEmitter.raw();
+        groovyEmitter.append("pipeline {\n\n").append("}");
+        Assert.assertEquals("pipeline {\n\n}", groovyEmitter.toString());
+    }
+
+    @Test
+    public void identicalToLegacyForTestResources() throws IOException {
+        Collection<File> files = FileUtils.listFiles(new File("src/test/resources"), new String[]{"yml"}, true);
+        Assert.assertFalse(files.isEmpty());
+        for (File file : files) {
+            Optional<PipelineModel> pipelineModel = new PipelineParser(FileUtils.readFileToString(file)).parse();
+            Assert.assertTrue(file.getPath(), pipelineModel.isPresent());
+            Assert.assertEquals(file.getPath(), LegacyPrettyGroovy.toPrettyGroovy(pipelineModel.get()), pipelineModel.get().toPrettyGroovy());
+        }
+    }
+
+    @Test
+    public void identicalToLegacyForLargePipeline() {
+        PipelineModel pipelineModel = new PipelineParser(new PipelineYamlGenerator(1).stageCount(1000).maxDepth(3).generate()).parse().get();
+        String legacy = LegacyPrettyGroovy.toPrettyGroovy(pipelineModel);
+        String pretty = pipelineModel.toPrettyGroovy();
+        Assert.assertEquals(legacy, pretty);
+    }
+}
@@ -0,0 +1,82 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.conversion.InternPool;
+import io.jenkins.plugins.pipeline.conversion.PipelineConverter;
+import org.apache.commons.io.FileUtils;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InternPoolTest {
+
+    @Rule
+    public JenkinsRule jenkinsRule = new JenkinsRule();
+
+    @Test
+    public void pooledInstanceReturned() {
+        InternPool<String> internPool = new InternPool<>();
+        String first = new String("pipeline {}");
+        String second = new String("pipeline {}");
+        Assert.assertSame(first, internPool.intern("hash", first));
+        Assert.assertSame(first, internPool.intern("hash", second));
+        Assert.assertSame(first, internPool.get("hash"));
+        Assert.assertNull(internPool.get("otherHash"));
+        Assert.assertEquals(1, internPool.getHits());
+        Assert.assertEquals(1, internPool.getMisses());
+    }
+
+    @Test
+    public void collectedValuesRemoved() throws InterruptedException {
+        InternPool<Object> internPool = new InternPool<>();
+        internPool.intern("hash", new Object());
+        for (int i = 0; i < 50 && internPool.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        Assert.assertEquals(0, internPool.size());
+        Assert.assertNull(internPool.get("hash"));
+    }
+
+    @Test
+    public void buildsShareConvertedScript() throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        int jobs = 10;
+        List<WorkflowJob> workflowJobs = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            WorkflowJob workflowJob = this.jenkinsRule.createProject(WorkflowJob.class, "branch" + i);
+            workflowJob.setDefinition(new PipelineAsYamlScriptFlowDefinition(yamlJenkinsFileContent, true));
+            workflowJobs.add(workflowJob);
+        }
+        PipelineConverter.getConversionCache().clear();
+        String converted = PipelineConverter.convert(yamlJenkinsFileContent);
+        long conversions = PipelineConverter.getConversions();
+        Map<String, Boolean> scripts = new IdentityHashMap<>();
+        for (WorkflowJob workflowJob : workflowJobs) {
+            // Builds outlive the conversion cache entries, e.g. after eviction by builds of other scripts
+            PipelineConverter.getConversionCache().clear();
+            workflowJob.scheduleBuild2(0);
+        }
+        this.jenkinsRule.waitUntilNoActivity();
+        for (WorkflowJob workflowJob : workflowJobs) {
+            WorkflowRun workflowRun = workflowJob.getLastBuild();
+            this.jenkinsRule.assertBuildStatusSuccess(workflowRun);
+            scripts.put(((CpsFlowExecution) workflowRun.getExecution()).getScript(), Boolean.TRUE);
+        }
+        Assert.assertEquals(1, scripts.size());
+        Assert.assertEquals(conversions, PipelineConverter.getConversions());
+        String script = scripts.keySet().iterator().next();
+        Assert.assertSame(converted, script);
+        System.out.println(String.format("%d builds hold one converted script of %d chars instead of %d copies (%s)",
+                jobs, script.length(), jobs, PipelineConverter.getScriptPool()));
+    }
+}
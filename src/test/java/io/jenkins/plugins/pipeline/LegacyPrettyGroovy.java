@@ -0,0 +1,43 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+
+/**
+ * Reference implementation of the former PipelineModel.toPrettyGroovy(), which renders the model
+ * with toGroovy() and then re-indents the script line by line.
+ * Used for checking that the single pass emitter produces byte-identical output.
+ */
+public class LegacyPrettyGroovy {
+
+    private LegacyPrettyGroovy() {
+    }
+
+    public static String toPrettyGroovy(PipelineModel pipelineModel) {
+        StringBuffer prettyGroovyString = new StringBuffer();
+        String groovyString = pipelineModel.toGroovy();
+        String[] parsedString = groovyString.split("\n");
+        int indentCounter = 0;
+        for (String line : parsedString) {
+            if (line.length() == 0)
+                continue;
+            if (line.endsWith("{")) {
+                line = indent(indentCounter) + line + "\n";
+                indentCounter++;
+            } else if (line.startsWith("}")) {
+                indentCounter--;
+                line = indent(indentCounter) + line + "\n";
+            } else {
+                line = indent(indentCounter) + line + "\n";
+            }
+            prettyGroovyString.append(line);
+        }
+        return prettyGroovyString.toString();
+    }
+
+    private static String indent(int count) {
+        StringBuilder indent = new StringBuilder();
+        for (int i = 0; i < count; i++)
+            indent.append("  ");
+        return indent.toString();
+    }
+}
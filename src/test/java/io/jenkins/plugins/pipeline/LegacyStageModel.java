@@ -0,0 +1,78 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.models.AgentModel;
+import io.jenkins.plugins.pipeline.models.EnvironmentModel;
+import io.jenkins.plugins.pipeline.models.InputModel;
+import io.jenkins.plugins.pipeline.models.OptionsModel;
+import io.jenkins.plugins.pipeline.models.ParallelModel;
+import io.jenkins.plugins.pipeline.models.PostModel;
+import io.jenkins.plugins.pipeline.models.StageModel;
+import io.jenkins.plugins.pipeline.models.StagesModel;
+import io.jenkins.plugins.pipeline.models.StepsModel;
+import io.jenkins.plugins.pipeline.models.ToolsModel;
+import io.jenkins.plugins.pipeline.models.WhenModel;
+
+import java.util.Optional;
+
+/**
+ * Copy of the former StageModel layout, which carried the Groovy syntax strings of AbstractModel in every instance
+ * and wrapped each directive in an {@link Optional}.
+ * Used for comparing the footprint of the current layout with the former one.
+ */
+@SuppressWarnings("unused")
+public class LegacyStageModel {
+
+    private String directiveOpen = " {\n";
+    private String directiveClose = "\n}\n";
+    private String parameterOpen = " '";
+    private String parameterClose = "'\n";
+    private String variableOpen = " = '";
+    private String variableClose = "'\n";
+    private String stringOpen = " \"";
+    private String stringClose = "\"\n";
+    private String stageOpen = "stage('";
+    private String stageClose = "')";
+    private String getBracketsOpen = "(";
+    private String getBracketsClose = ")";
+    private String libraryOpen = "@Library(";
+    private String libraryClose = ") _\n";
+    private String environmentVariableOpen = " = ";
+    private String environmentVariableClose = "\n";
+    private String singleQuote = "'";
+    private String doubleQuote = "\"";
+    private String variableDoubleQuoteOpen = " = '";
+    private String variableDoubleQuoteClose = "'\n";
+    private String credentialsFunctionName = "credentials";
+
+    private String name;
+    private Optional<StepsModel> stepsModel;
+    private Optional<AgentModel> agentModel;
+    private Optional<PostModel> postModel;
+    private Optional<ToolsModel> toolsModel;
+    private Optional<StagesModel> stagesModel;
+    private Optional<EnvironmentModel> environmentModel;
+    private Optional<ParallelModel> parallelModel;
+    private Optional<Boolean> failFast;
+    private Optional<InputModel> inputModel;
+    private Optional<WhenModel> whenModel;
+    private Optional<OptionsModel> optionsModel;
+
+    /**
+     * Copy a stage into the former layout. Directives of the stage are shared, not copied
+     * @param stageModel Stage
+     */
+    public LegacyStageModel(StageModel stageModel) {
+        this.name = stageModel.getName();
+        this.stepsModel = stageModel.getStepsModel();
+        this.agentModel = stageModel.getAgentModel();
+        this.postModel = stageModel.getPostModel();
+        this.toolsModel = stageModel.getToolsModel();
+        this.stagesModel = stageModel.getStagesModel();
+        this.environmentModel = stageModel.getEnvironmentModel();
+        this.parallelModel = stageModel.getParallelModel();
+        this.failFast = stageModel.getFailFast();
+        this.inputModel = stageModel.getInputModel();
+        this.whenModel = stageModel.getWhenModel();
+        this.optionsModel = stageModel.getOptionsModel();
+    }
+}
@@ -0,0 +1,99 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.models.AbstractModel;
+import io.jenkins.plugins.pipeline.models.AgentModel;
+import io.jenkins.plugins.pipeline.models.ChildPostModel;
+import io.jenkins.plugins.pipeline.models.ChildToolModel;
+import io.jenkins.plugins.pipeline.models.EnvironmentModel;
+import io.jenkins.plugins.pipeline.models.EnvironmentVariableModel;
+import io.jenkins.plugins.pipeline.models.InputModel;
+import io.jenkins.plugins.pipeline.models.KeyValueModel;
+import io.jenkins.plugins.pipeline.models.LibraryModel;
+import io.jenkins.plugins.pipeline.models.OptionsModel;
+import io.jenkins.plugins.pipeline.models.ParallelModel;
+import io.jenkins.plugins.pipeline.models.ParametersModel;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.models.PostModel;
+import io.jenkins.plugins.pipeline.models.ScriptModel;
+import io.jenkins.plugins.pipeline.models.StageModel;
+import io.jenkins.plugins.pipeline.models.StagesModel;
+import io.jenkins.plugins.pipeline.models.StepsModel;
+import io.jenkins.plugins.pipeline.models.SubScriptModel;
+import io.jenkins.plugins.pipeline.models.ToolsModel;
+import io.jenkins.plugins.pipeline.models.TriggersModel;
+import io.jenkins.plugins.pipeline.models.VariableModel;
+import io.jenkins.plugins.pipeline.models.WhenConditionModel;
+import io.jenkins.plugins.pipeline.models.WhenModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class ModelFootprintTest {
+
+    private static final int stages = 5000;
+    private static final Class<?>[] models = {AgentModel.class, ChildPostModel.class, ChildToolModel.class, EnvironmentModel.class,
+            EnvironmentVariableModel.class, InputModel.class, KeyValueModel.class, LibraryModel.class, OptionsModel.class,
+            ParallelModel.class, ParametersModel.class, PipelineModel.class, PostModel.class, ScriptModel.class, StageModel.class,
+            StagesModel.class, StepsModel.class, SubScriptModel.class, ToolsModel.class, TriggersModel.class, VariableModel.class,
+            WhenConditionModel.class, WhenModel.class};
+
+    @Test
+    public void syntaxSharedByAllModels() {
+        for (Field field : AbstractModel.class.getDeclaredFields())
+            Assert.assertTrue(field.getName(), Modifier.isStatic(field.getModifiers()));
+    }
+
+    @Test
+    public void stageModelImmutable() {
+        for (Field field : StageModel.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()))
+                continue;
+            Assert.assertTrue(field.getName(), Modifier.isFinal(field.getModifiers()));
+            Assert.assertNotEquals(field.getName(), Optional.class, field.getType());
+        }
+    }
+
+    @Test
+    public void modelsImmutable() {
+        for (Class<?> model : models) {
+            for (Field field : model.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()))
+                    Assert.assertTrue(model.getSimpleName() + "." + field.getName(), Modifier.isFinal(field.getModifiers()));
+            }
+            for (Method method : model.getDeclaredMethods()) {
+                if (!Modifier.isPrivate(method.getModifiers()))
+                    Assert.assertFalse(model.getSimpleName() + "." + method.getName(), method.getName().startsWith("set"));
+            }
+        }
+    }
+
+    @Test
+    public void shortStringsInterned() {
+        String jenkinsFileContent = new PipelineYamlGenerator(1).stageCount(2).maxDepth(1).generate();
+        StageModel first = new PipelineParser(jenkinsFileContent).parse().get().getStages().get().getStageModelList().get(0);
+        StageModel second = new PipelineParser(new String(jenkinsFileContent)).parse().get().getStages().get().getStageModelList().get(0);
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first.getName(), second.getName());
+    }
+
+    @Test
+    public void smallerThanLegacyLayout() {
+        String jenkinsFileContent = new PipelineYamlGenerator(1).stageCount(stages).maxDepth(1).sparse(true).generate();
+        List<StageModel> stageModels = new PipelineParser(jenkinsFileContent).parse().get().getStages().get().getStageModelList();
+        List<LegacyStageModel> legacyStageModels = stageModels.stream().map(LegacyStageModel::new).collect(Collectors.toList());
+        // Both layouts share the directives of the stages, so the difference is the layout of the stages themselves
+        long current = GraphLayout.parseInstance(stageModels).totalSize();
+        long legacy = GraphLayout.parseInstance(legacyStageModels).totalSize();
+        System.out.println(String.format("Model of %d stages: %d bytes per stage, former layout %d bytes per stage",
+                stages, current / stages, legacy / stages));
+        Assert.assertTrue(current + " >= " + legacy, current < legacy);
+    }
+}
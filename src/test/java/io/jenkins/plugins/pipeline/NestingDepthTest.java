@@ -0,0 +1,143 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.models.StageModel;
+import io.jenkins.plugins.pipeline.parsers.ParserContext;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StageParser;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import org.apache.commons.lang.StringUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+public class NestingDepthTest {
+
+    private final YamlLimits defaultLimits = YamlLimits.get();
+
+    @After
+    public void tearDown() {
+        YamlLimits.set(this.defaultLimits);
+    }
+
+    @Test
+    public void nestedPipelineConverted() {
+        int depth = 50;
+        YamlLimits.set(new YamlLimits(50, 10 * depth, 0, true, depth, depth));
+        PipelineModel pipelineModel = new PipelineParser(new PipelineYamlGenerator(1).generateNested(depth)).parse().get();
+        String prettyGroovy = pipelineModel.toPrettyGroovy();
+        Assert.assertEquals(LegacyPrettyGroovy.toPrettyGroovy(pipelineModel), prettyGroovy);
+        Assert.assertEquals(depth, StringUtils.countMatches(prettyGroovy, "stage('Stage "));
+        Assert.assertEquals(depth / 2, StringUtils.countMatches(prettyGroovy, "allOf {"));
+        Assert.assertEquals(depth, StringUtils.countMatches(prettyGroovy, "dir('dir"));
+        Assert.assertTrue(prettyGroovy.contains("\n" + StringUtils.repeat("  ", 3 * depth + 3) + "echo \"" + depth + "\"\n"));
+    }
+
+    @Test
+    public void nestingDepthLimited() {
+        String jenkinsFileContent = new PipelineYamlGenerator(1).generateNested(30);
+        try {
+            new PipelineParser(jenkinsFileContent).parse();
+            Assert.fail("Nesting deeper than the limit must be rejected");
+        } catch (PipelineAsYamlRuntimeException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+        YamlLimits.set(new YamlLimits(50, 1000, 0, true, 30, 30));
+        Assert.assertTrue(new PipelineParser(jenkinsFileContent).parse().isPresent());
+    }
+
+    @Test
+    public void stageDepthLimited() {
+        int depth = 8;
+        YamlLimits.set(new YamlLimits(50, 0, 0, true, depth, 0));
+        Assert.assertTrue(StageParser.instance.parse(nestedStage(depth, Collections.singletonList("echo \"leaf\"")), new ParserContext()).isPresent());
+        try {
+            StageParser.instance.parse(nestedStage(depth + 1, Collections.singletonList("echo \"leaf\"")), new ParserContext());
+            Assert.fail("Stages nested deeper than the limit must be rejected");
+        } catch (PipelineAsYamlRuntimeException e) {
+            Assert.assertEquals("Jenkinsfile YAML stages are nested deeper than the limit of " + depth, e.getMessage());
+        }
+    }
+
+    @Test
+    public void scriptDepthLimited() {
+        int depth = 8;
+        YamlLimits.set(new YamlLimits(50, 0, 0, true, 0, depth));
+        Assert.assertTrue(StageParser.instance.parse(nestedStage(1, nestedScript(depth)), new ParserContext()).isPresent());
+        try {
+            StageParser.instance.parse(nestedStage(1, nestedScript(depth + 1)), new ParserContext());
+            Assert.fail("Scripts nested deeper than the limit must be rejected");
+        } catch (PipelineAsYamlRuntimeException e) {
+            Assert.assertEquals("Jenkinsfile YAML scripts are nested deeper than the limit of " + depth, e.getMessage());
+        }
+    }
+
+    @Test
+    public void deepModelsDoNotGrowCallStack() {
+        int depth = 10000;
+        YamlLimits.set(new YamlLimits(50, 10 * depth, 0, true, depth + 1, depth));
+        LinkedHashMap stageNode = new LinkedHashMap();
+        stageNode.put("stage", "Leaf");
+        stageNode.put("when", nestedMap("not", depth, Collections.singletonList("branch 'production'")));
+        LinkedHashMap stepsNode = new LinkedHashMap();
+        stepsNode.put("script", nestedScript(depth));
+        stageNode.put("steps", stepsNode);
+        for (int i = 0; i < depth; i++) {
+            LinkedHashMap parentStageNode = new LinkedHashMap();
+            parentStageNode.put("stage", "Stage " + i);
+            parentStageNode.put("stages", Collections.singletonList(stageNode));
+            stageNode = parentStageNode;
+        }
+        Optional<StageModel> stageModel = StageParser.instance.parse(stageNode, new ParserContext());
+        Assert.assertTrue(stageModel.isPresent());
+        String groovy = stageModel.get().toGroovy();
+        Assert.assertEquals(depth, StringUtils.countMatches(groovy, "stages {"));
+        Assert.assertEquals(depth, StringUtils.countMatches(groovy, "not {"));
+        Assert.assertEquals(depth, StringUtils.countMatches(groovy, "dir('dir'"));
+    }
+
+    private static LinkedHashMap nestedStage(int depth, List scripts) {
+        LinkedHashMap stageNode = new LinkedHashMap();
+        stageNode.put("stage", "Leaf");
+        LinkedHashMap stepsNode = new LinkedHashMap();
+        stepsNode.put("script", scripts);
+        stageNode.put("steps", stepsNode);
+        for (int i = 1; i < depth; i++) {
+            LinkedHashMap parentStageNode = new LinkedHashMap();
+            parentStageNode.put("stage", "Stage " + i);
+            parentStageNode.put("stages", Collections.singletonList(stageNode));
+            stageNode = parentStageNode;
+        }
+        return stageNode;
+    }
+
+    private static LinkedHashMap nestedMap(String key, int depth, Object leaf) {
+        Object node = leaf;
+        for (int i = 0; i < depth; i++) {
+            LinkedHashMap parentNode = new LinkedHashMap();
+            parentNode.put(key, node);
+            node = parentNode;
+        }
+        return (LinkedHashMap) node;
+    }
+
+    private static List nestedScript(int depth) {
+        List scripts = Collections.singletonList("echo \"leaf\"");
+        for (int i = 0; i < depth; i++) {
+            LinkedHashMap subScriptNode = new LinkedHashMap();
+            subScriptNode.put("dir", "'dir'");
+            subScriptNode.put("script", scripts);
+            List parentScripts = new ArrayList();
+            parentScripts.add(subScriptNode);
+            scripts = parentScripts;
+        }
+        return scripts;
+    }
+}
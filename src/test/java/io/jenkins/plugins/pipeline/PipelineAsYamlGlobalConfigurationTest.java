@@ -0,0 +1,49 @@
+package io.jenkins.plugins.pipeline;
+
+import com.gargoylesoftware.htmlunit.html.HtmlForm;
+import hudson.util.FormValidation;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class PipelineAsYamlGlobalConfigurationTest {
+
+    @Rule
+    public JenkinsRule jenkins = new JenkinsRule();
+
+    @Test
+    public void limitsValidated() {
+        PipelineAsYamlGlobalConfiguration configuration = PipelineAsYamlGlobalConfiguration.get();
+        Assert.assertEquals(FormValidation.Kind.OK, configuration.doCheckMaxAliases("10").kind);
+        Assert.assertEquals(FormValidation.Kind.ERROR, configuration.doCheckMaxAliases("0").kind);
+        Assert.assertEquals(FormValidation.Kind.ERROR, configuration.doCheckMaxNestingDepth("-1").kind);
+        Assert.assertEquals(FormValidation.Kind.ERROR, configuration.doCheckMaxCodePoints("many").kind);
+    }
+
+    @Test
+    public void limitsBelowOneRejected() {
+        PipelineAsYamlGlobalConfiguration configuration = PipelineAsYamlGlobalConfiguration.get();
+        for (Runnable setter : new Runnable[]{() -> configuration.setMaxAliases(0), () -> configuration.setMaxNestingDepth(0), () -> configuration.setMaxCodePoints(0)}) {
+            try {
+                setter.run();
+                Assert.fail("Limits lower than 1 must be rejected");
+            } catch (IllegalArgumentException e) {
+                Assert.assertEquals(Messages.Project_LimitBelowOne(), e.getMessage());
+            }
+        }
+        Assert.assertEquals(YamlLimits.defaultMaxAliases, configuration.getMaxAliases());
+    }
+
+    @Test
+    public void limitsBelowOneNotSaved() throws Exception {
+        JenkinsRule.WebClient webClient = this.jenkins.createWebClient();
+        webClient.getOptions().setThrowExceptionOnFailingStatusCode(false);
+        HtmlForm form = webClient.goTo("configure").getFormByName("config");
+        form.getInputByName("_.maxNestingDepth").setValueAttribute("0");
+        this.jenkins.submit(form);
+        Assert.assertEquals(YamlLimits.defaultMaxNestingDepth, PipelineAsYamlGlobalConfiguration.get().getMaxNestingDepth());
+        Assert.assertEquals(YamlLimits.defaultMaxNestingDepth, YamlLimits.get().getMaxNestingDepth());
+    }
+}
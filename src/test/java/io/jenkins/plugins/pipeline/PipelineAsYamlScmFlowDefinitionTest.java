@@ -1,9 +1,14 @@
 package io.jenkins.plugins.pipeline;
 
 import hudson.plugins.git.GitSCM;
+import io.jenkins.plugins.pipeline.conversion.ConversionTimings;
+import io.jenkins.plugins.pipeline.cps.ConversionTimingsAction;
 import jenkins.plugins.git.GitSCMSource;
 import jenkins.plugins.git.GitSampleRepoRule;
 import org.apache.commons.io.FileUtils;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.flow.FlowExecutionListener;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jenkinsci.plugins.workflow.libs.GlobalLibraries;
@@ -13,10 +18,13 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestExtension;
 
+import javax.annotation.Nonnull;
 import java.io.File;
 import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PipelineAsYamlScmFlowDefinitionTest {
 
@@ -48,6 +56,71 @@ public class PipelineAsYamlScmFlowDefinitionTest {
         Assert.assertEquals("SUCCESS", workflowRun.getResult().toString());
     }
 
+    @Test
+    public void testLightweight() throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        this.sourceCodeRepo.init();
+        this.sourceCodeRepo.write(this.yamlJenkinsFileName, yamlJenkinsFileContent);
+        this.sourceCodeRepo.git("add", this.yamlJenkinsFileName);
+        this.sourceCodeRepo.git("commit", "--all", "--message=InitRepoWithFile");
+        WorkflowJob workflowJob = this.jenkinsRule.createProject(WorkflowJob.class, UUID.randomUUID().toString());
+        workflowJob.setDefinition(new PipelineAsYamlScmFlowDefinition(this.yamlJenkinsFileName,new GitSCM(this.sourceCodeRepo.toString()),true));
+        WorkflowRun workflowRun = this.jenkinsRule.buildAndAssertSuccess(workflowJob);
+        String log = workflowRun.getLog();
+        Assert.assertEquals(log.indexOf("Obtained " + this.yamlJenkinsFileName), log.lastIndexOf("Obtained " + this.yamlJenkinsFileName));
+        this.jenkinsRule.assertLogNotContains("falling back to full checkout", workflowRun);
+        Assert.assertTrue(((CpsFlowExecution) workflowRun.getExecution()).getScript().startsWith("pipeline {"));
+    }
+
+    @Test
+    public void testLightweightSecondBuild() throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        this.sourceCodeRepo.init();
+        this.sourceCodeRepo.write(this.yamlJenkinsFileName, yamlJenkinsFileContent);
+        this.sourceCodeRepo.git("add", this.yamlJenkinsFileName);
+        this.sourceCodeRepo.git("commit", "--all", "--message=InitRepoWithFile");
+        WorkflowJob workflowJob = this.jenkinsRule.createProject(WorkflowJob.class, UUID.randomUUID().toString());
+        workflowJob.setDefinition(new PipelineAsYamlScmFlowDefinition(this.yamlJenkinsFileName, new GitSCM(this.sourceCodeRepo.toString()), true));
+        this.jenkinsRule.buildAndAssertSuccess(workflowJob);
+        WorkflowRun secondRun = this.jenkinsRule.buildAndAssertSuccess(workflowJob);
+        String log = secondRun.getLog();
+        Assert.assertEquals(log.indexOf("Obtained " + this.yamlJenkinsFileName), log.lastIndexOf("Obtained " + this.yamlJenkinsFileName));
+        this.jenkinsRule.assertLogNotContains("Checking out", secondRun);
+        this.jenkinsRule.assertLogNotContains("falling back to full checkout", secondRun);
+        ConversionTimingsAction timingsAction = secondRun.getAction(ConversionTimingsAction.class);
+        Assert.assertNotNull(timingsAction);
+        Assert.assertEquals(ConversionTimings.Source.CACHE, timingsAction.getTimings().getSource());
+    }
+
+    @Test
+    public void testSingleExecution() throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        this.sourceCodeRepo.init();
+        this.sourceCodeRepo.write(this.yamlJenkinsFileName, yamlJenkinsFileContent);
+        this.sourceCodeRepo.git("add", this.yamlJenkinsFileName);
+        this.sourceCodeRepo.git("commit", "--all", "--message=InitRepoWithFile");
+        WorkflowJob workflowJob = this.jenkinsRule.createProject(WorkflowJob.class, UUID.randomUUID().toString());
+        workflowJob.setDefinition(new PipelineAsYamlScmFlowDefinition(this.yamlJenkinsFileName, new GitSCM(this.sourceCodeRepo.toString()), false));
+        ExecutionCounter.created.set(0);
+        WorkflowRun workflowRun = this.jenkinsRule.buildAndAssertSuccess(workflowJob);
+        Assert.assertEquals(1, ExecutionCounter.created.get());
+        String log = workflowRun.getLog();
+        this.jenkinsRule.assertLogContains("to read " + this.yamlJenkinsFileName, workflowRun);
+        Assert.assertEquals(log.indexOf("to read "), log.lastIndexOf("to read "));
+        Assert.assertTrue(((CpsFlowExecution) workflowRun.getExecution()).getScript().startsWith("pipeline {"));
+    }
+
+    @TestExtension("testSingleExecution")
+    public static class ExecutionCounter extends FlowExecutionListener {
+
+        static final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        public void onCreated(@Nonnull FlowExecution execution) {
+            created.incrementAndGet();
+        }
+    }
+
     @Test
     public void testWithLibrary() throws Exception {
 
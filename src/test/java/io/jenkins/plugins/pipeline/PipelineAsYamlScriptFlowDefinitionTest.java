@@ -1,8 +1,12 @@
 package io.jenkins.plugins.pipeline;
 
+import hudson.model.Run;
+import io.jenkins.plugins.pipeline.cps.ConversionTimingsAction;
 import jenkins.plugins.git.GitSCMSource;
 import jenkins.plugins.git.GitSampleRepoRule;
 import org.apache.commons.io.FileUtils;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
+import org.jenkinsci.plugins.workflow.cps.replay.ReplayAction;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jenkinsci.plugins.workflow.libs.GlobalLibraries;
@@ -15,6 +19,7 @@ import org.jvnet.hudson.test.JenkinsRule;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.UUID;
 
 public class PipelineAsYamlScriptFlowDefinitionTest {
@@ -43,6 +48,44 @@ public class PipelineAsYamlScriptFlowDefinitionTest {
         Assert.assertEquals("SUCCESS", workflowRun.getResult().toString());
     }
 
+    @Test
+    public void testReplay() throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        WorkflowJob workflowJob = this.jenkinsRule.createProject(WorkflowJob.class, UUID.randomUUID().toString());
+        workflowJob.setDefinition(new PipelineAsYamlScriptFlowDefinition(yamlJenkinsFileContent, true));
+        WorkflowRun workflowRun = this.jenkinsRule.buildAndAssertSuccess(workflowJob);
+        String jenkinsFileContent = ((CpsFlowExecution) workflowRun.getExecution()).getScript();
+        Assert.assertTrue(jenkinsFileContent.startsWith("pipeline {"));
+        ReplayAction replayAction = workflowRun.getAction(ReplayAction.class);
+        Assert.assertNotNull(replayAction);
+        WorkflowRun replayedRun = (WorkflowRun) this.jenkinsRule.assertBuildStatusSuccess(replayAction.run(jenkinsFileContent, Collections.emptyMap()));
+        Assert.assertEquals(jenkinsFileContent, ((CpsFlowExecution) replayedRun.getExecution()).getScript());
+    }
+
+    @Test
+    public void testConversionTimings() throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        WorkflowJob workflowJob = this.jenkinsRule.createProject(WorkflowJob.class, UUID.randomUUID().toString());
+        workflowJob.setDefinition(new PipelineAsYamlScriptFlowDefinition(yamlJenkinsFileContent, true));
+        WorkflowRun workflowRun = this.jenkinsRule.buildAndAssertSuccess(workflowJob);
+        this.jenkinsRule.assertLogContains("Pipeline As YAML timings: " + yamlJenkinsFileContent.length() + " chars", workflowRun);
+        ConversionTimingsAction conversionTimingsAction = workflowRun.getAction(ConversionTimingsAction.class);
+        Assert.assertNotNull(conversionTimingsAction);
+        Assert.assertEquals(yamlJenkinsFileContent.length(), conversionTimingsAction.getYamlSize());
+        Assert.assertNotNull(conversionTimingsAction.getSource());
+        Assert.assertTrue(conversionTimingsAction.getCompileNanos() > 0);
+        Assert.assertEquals(0, conversionTimingsAction.getFetchNanos());
+
+        ConversionTimingsAction reloadedAction = (ConversionTimingsAction) Run.XSTREAM2.fromXML(Run.XSTREAM2.toXML(conversionTimingsAction));
+        Assert.assertEquals(conversionTimingsAction.getTotalNanos(), reloadedAction.getTotalNanos());
+        Assert.assertEquals(conversionTimingsAction.getStageCount(), reloadedAction.getStageCount());
+
+        WorkflowRun cachedRun = this.jenkinsRule.buildAndAssertSuccess(workflowJob);
+        ConversionTimingsAction cachedAction = cachedRun.getAction(ConversionTimingsAction.class);
+        Assert.assertNotNull(cachedAction);
+        Assert.assertEquals("CACHE", cachedAction.getSource());
+    }
+
     @Test
     public void testWithLibrary() throws Exception {
 
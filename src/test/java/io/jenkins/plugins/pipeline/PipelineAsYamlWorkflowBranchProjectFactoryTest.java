@@ -1,8 +1,10 @@
 package io.jenkins.plugins.pipeline;
 
+import io.jenkins.plugins.pipeline.scm.ProbeCache;
 import jenkins.branch.BranchSource;
 import jenkins.plugins.git.GitSCMSource;
 import jenkins.plugins.git.GitSampleRepoRule;
+import jenkins.scm.api.SCMRevisionAction;
 import org.apache.commons.io.FileUtils;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
@@ -88,6 +90,110 @@ public class PipelineAsYamlWorkflowBranchProjectFactoryTest {
         }
     }
 
+    @Test
+    public void testLightweight() throws Exception {
+        WorkflowRun run = this.buildMaster(true);
+        this.jenkins.assertLogContains("Obtained " + this.yamlJenkinsFileName + " from", run);
+        this.jenkins.assertLogNotContains("falling back to full checkout", run);
+        Assert.assertNotNull(run.getAction(SCMRevisionAction.class));
+    }
+
+    @Test
+    public void testHeavyweight() throws Exception {
+        WorkflowRun run = this.buildMaster(false);
+        this.jenkins.assertLogNotContains("Obtained " + this.yamlJenkinsFileName + " from", run);
+    }
+
+    @Test
+    public void testProbeCache() throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        this.sourceCodeRepo.init();
+        this.sourceCodeRepo.write(this.yamlJenkinsFileName, yamlJenkinsFileContent);
+        this.sourceCodeRepo.git("add", this.yamlJenkinsFileName);
+        this.sourceCodeRepo.git("commit", "--all", "--message=InitRepoWithFile");
+        this.sourceCodeRepo.git("checkout", "-b", "withoutYaml", "master");
+        this.sourceCodeRepo.git("rm", this.yamlJenkinsFileName);
+        this.sourceCodeRepo.git("commit", "--all", "--message=RemoveFile");
+        WorkflowMultiBranchProject workflowMultiBranchProject = this.jenkins.createProject(WorkflowMultiBranchProject.class, UUID.randomUUID().toString());
+        GitSCMSource sourceCodeRepoSCMSource = new GitSCMSource(null, this.sourceCodeRepo.toString(), "", "*", "", false);
+        workflowMultiBranchProject.getSourcesList().add(new BranchSource(sourceCodeRepoSCMSource));
+        workflowMultiBranchProject.setProjectFactory(new PipelineAsYamlWorkflowBranchProjectFactory(this.yamlJenkinsFileName));
+        workflowMultiBranchProject.scheduleBuild2(0);
+        this.jenkins.waitUntilNoActivity();
+        String firstIndexingLog = FileUtils.readFileToString(workflowMultiBranchProject.getComputation().getLogFile());
+        Assert.assertTrue(firstIndexingLog, firstIndexingLog.contains("(0 cached, 2 probed)"));
+        Assert.assertEquals(1, workflowMultiBranchProject.getItems().size());
+
+        workflowMultiBranchProject.scheduleBuild2(0);
+        this.jenkins.waitUntilNoActivity();
+        String secondIndexingLog = FileUtils.readFileToString(workflowMultiBranchProject.getComputation().getLogFile());
+        Assert.assertTrue(secondIndexingLog, secondIndexingLog.contains("‘" + this.yamlJenkinsFileName + "’ found at unchanged revision"));
+        Assert.assertTrue(secondIndexingLog, secondIndexingLog.contains("None of [" + this.yamlJenkinsFileName + "] found at unchanged revision"));
+        Assert.assertTrue(secondIndexingLog, secondIndexingLog.contains("(2 cached, 0 probed)"));
+        Assert.assertEquals(1, workflowMultiBranchProject.getItems().size());
+
+        this.sourceCodeRepo.write(this.yamlJenkinsFileName, yamlJenkinsFileContent);
+        this.sourceCodeRepo.git("add", this.yamlJenkinsFileName);
+        this.sourceCodeRepo.git("commit", "--all", "--message=RestoreFile");
+        workflowMultiBranchProject.scheduleBuild2(0);
+        this.jenkins.waitUntilNoActivity();
+        String thirdIndexingLog = FileUtils.readFileToString(workflowMultiBranchProject.getComputation().getLogFile());
+        Assert.assertTrue(thirdIndexingLog, thirdIndexingLog.contains("(1 cached, 1 probed)"));
+        Assert.assertEquals(2, workflowMultiBranchProject.getItems().size());
+
+        ProbeCache.saveAll();
+        File rootDir = workflowMultiBranchProject.getRootDir();
+        Assert.assertTrue(new File(rootDir, "pipeline-as-yaml-probes.xml").exists());
+        ProbeCache probeCache = ProbeCache.of(rootDir);
+        Assert.assertEquals(2, probeCache.size());
+
+        workflowMultiBranchProject.delete();
+        Assert.assertNotSame(probeCache, ProbeCache.of(rootDir));
+        Assert.assertEquals(0, ProbeCache.of(rootDir).size());
+    }
+
+    @Test
+    public void testCandidates() throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        this.sourceCodeRepo.init();
+        this.sourceCodeRepo.write(this.yamlJenkinsFileName, yamlJenkinsFileContent);
+        this.sourceCodeRepo.git("add", this.yamlJenkinsFileName);
+        this.sourceCodeRepo.git("commit", "--all", "--message=InitRepoWithFile");
+        WorkflowMultiBranchProject workflowMultiBranchProject = this.jenkins.createProject(WorkflowMultiBranchProject.class, UUID.randomUUID().toString());
+        GitSCMSource sourceCodeRepoSCMSource = new GitSCMSource(null, this.sourceCodeRepo.toString(), "", "*", "", false);
+        workflowMultiBranchProject.getSourcesList().add(new BranchSource(sourceCodeRepoSCMSource));
+        workflowMultiBranchProject.setProjectFactory(new PipelineAsYamlWorkflowBranchProjectFactory("missing.yaml, .jenkins.yml\n" + this.yamlJenkinsFileName));
+        workflowMultiBranchProject.scheduleBuild2(0);
+        this.jenkins.waitUntilNoActivity();
+        String indexingLog = FileUtils.readFileToString(workflowMultiBranchProject.getComputation().getLogFile());
+        Assert.assertTrue(indexingLog, indexingLog.contains("‘" + this.yamlJenkinsFileName + "’ found"));
+        WorkflowJob job = workflowMultiBranchProject.getItem("master");
+        Assert.assertNotNull(job);
+        WorkflowRun run = job.getLastBuild();
+        Assert.assertEquals("SUCCESS", run.getResult().toString());
+        this.jenkins.assertLogContains("Obtained " + this.yamlJenkinsFileName + " from", run);
+    }
+
+    private WorkflowRun buildMaster(boolean lightweight) throws Exception {
+        String yamlJenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/job/pipelineAllInOne.yml"));
+        this.sourceCodeRepo.init();
+        this.sourceCodeRepo.write(this.yamlJenkinsFileName, yamlJenkinsFileContent);
+        this.sourceCodeRepo.git("add", this.yamlJenkinsFileName);
+        this.sourceCodeRepo.git("commit", "--all", "--message=InitRepoWithFile");
+        WorkflowMultiBranchProject workflowMultiBranchProject = this.jenkins.createProject(WorkflowMultiBranchProject.class, UUID.randomUUID().toString());
+        GitSCMSource sourceCodeRepoSCMSource = new GitSCMSource(null, this.sourceCodeRepo.toString(), "", "*", "", false);
+        workflowMultiBranchProject.getSourcesList().add(new BranchSource(sourceCodeRepoSCMSource));
+        PipelineAsYamlWorkflowBranchProjectFactory pipelineAsYamlWorkflowBranchProjectFactory = new PipelineAsYamlWorkflowBranchProjectFactory(this.yamlJenkinsFileName);
+        pipelineAsYamlWorkflowBranchProjectFactory.setLightweight(lightweight);
+        workflowMultiBranchProject.setProjectFactory(pipelineAsYamlWorkflowBranchProjectFactory);
+        workflowMultiBranchProject.scheduleBuild2(0);
+        this.jenkins.waitUntilNoActivity();
+        WorkflowJob job = workflowMultiBranchProject.getItem("master");
+        Assert.assertNotNull(job);
+        WorkflowRun run = job.getLastBuild();
+        Assert.assertEquals("SUCCESS", run.getResult().toString());
+        return run;
+    }
 
     @Test
     public void testWithSharedLibrary() throws Exception {
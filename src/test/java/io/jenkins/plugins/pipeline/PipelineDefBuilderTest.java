@@ -0,0 +1,82 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlUnsupportedSyntaxException;
+import io.jenkins.plugins.pipeline.models.PipelineDefBuilder;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import org.apache.commons.io.FileUtils;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
+import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class PipelineDefBuilderTest {
+
+    @Rule
+    public JenkinsRule jenkins = new JenkinsRule();
+
+    /**
+     * AST of the builder and of the Converter differ only in indentation and blank lines of their Groovy output
+     */
+    static String normalize(String groovy) {
+        return Arrays.stream(groovy.split("\n"))
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static void assertSameAsConverter(String name, PipelineModel pipelineModel) throws PipelineAsYamlUnsupportedSyntaxException {
+        ModelASTPipelineDef expected = Converter.scriptToPipelineDef(pipelineModel.toPrettyGroovy());
+        ModelASTPipelineDef actual = PipelineDefBuilder.build(pipelineModel);
+        Assert.assertNotNull(name, expected);
+        Assert.assertEquals(name, normalize(expected.toGroovy()), normalize(actual.toGroovy()));
+    }
+
+    @Test
+    public void fixturesSameAsConverter() throws IOException, PipelineAsYamlUnsupportedSyntaxException {
+        Collection<File> fixtures = FileUtils.listFiles(new File("src/test/resources"), new String[]{"yml"}, true);
+        List<String> compared = new ArrayList<>();
+        for (File fixture : fixtures) {
+            // Library directive is not a part of the AST
+            if (fixture.getParentFile().getName().equals("library") || fixture.getName().equals("pipelineTestWithLibrary.yml"))
+                continue;
+            Optional<PipelineModel> pipelineModel = new PipelineParser(FileUtils.readFileToString(fixture)).parse();
+            Assert.assertTrue(fixture.getPath(), pipelineModel.isPresent());
+            assertSameAsConverter(fixture.getPath(), pipelineModel.get());
+            compared.add(fixture.getName());
+        }
+        Assert.assertTrue(compared.contains("stagesScenarioInput.yml"));
+        Assert.assertTrue(compared.contains("whenInnerConditions.yml"));
+    }
+
+    @Test
+    public void generatedPipelineSameAsConverter() throws PipelineAsYamlUnsupportedSyntaxException {
+        String jenkinsFileContent = new PipelineYamlGenerator(3).stageCount(20).maxDepth(3).library(false).generate();
+        assertSameAsConverter("generated", new PipelineParser(jenkinsFileContent).parse().get());
+    }
+
+    @Test
+    public void closureStepFallsBackToConverter() {
+        String jenkinsFileContent = "pipeline:\n  stages:\n    - stage: \"Stage1\"\n      steps:\n        - \"retry(3) { echo '1' }\"\n";
+        PipelineModel pipelineModel = new PipelineParser(jenkinsFileContent).parse().get();
+        try {
+            PipelineDefBuilder.build(pipelineModel);
+            Assert.fail("Closures need the Groovy parser");
+        } catch (PipelineAsYamlUnsupportedSyntaxException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("retry"));
+        }
+        ModelASTPipelineDef pipelineDef = pipelineModel.toPipelineDef();
+        Assert.assertEquals(normalize(Converter.scriptToPipelineDef(pipelineModel.toPrettyGroovy()).toGroovy()), normalize(pipelineDef.toGroovy()));
+    }
+}
@@ -1,6 +1,13 @@
 package io.jenkins.plugins.pipeline;
 
+import io.jenkins.plugins.pipeline.conversion.ConversionCache;
+import io.jenkins.plugins.pipeline.conversion.ConversionStore;
+import io.jenkins.plugins.pipeline.conversion.PipelineConverter;
+import io.jenkins.plugins.pipeline.conversion.PipelineValidator;
+import io.jenkins.plugins.pipeline.conversion.ValidationResult;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -22,6 +29,27 @@ public class PipelineSnippetizerTest {
         Assert.assertNotNull(pipelineDec);
     }
 
+    @Test
+    public void interactiveConversionKeepsBuildCaches() {
+        String jenkinsFileContent = new PipelineYamlGenerator(System.nanoTime()).stageCount(5).generate();
+        String contentHash = PipelineConverter.contentHash(jenkinsFileContent);
+        ConversionStore conversionStore = ConversionStore.get();
+        Assert.assertNotNull(conversionStore);
+        PipelineAsYamlSnippetizer pipelineAsYamlSnippetizer = new PipelineAsYamlSnippetizer();
+        String pipelineDec = pipelineAsYamlSnippetizer.convertToDec(jenkinsFileContent);
+        Assert.assertTrue(pipelineDec.startsWith("pipeline {"));
+        Assert.assertNull(PipelineConverter.getConversionCache().peek(contentHash));
+        Assert.assertNull(PipelineConverter.getScriptPool().get(contentHash));
+        Assert.assertNull(conversionStore.getScript(contentHash));
+        Assert.assertEquals(pipelineDec, PipelineConverter.getInteractiveCache().peek(contentHash));
+
+        // Conversions of builds are served to interactive requests
+        String converted = PipelineConverter.convert(jenkinsFileContent);
+        Assert.assertSame(converted, PipelineConverter.getConversionCache().peek(contentHash));
+        PipelineConverter.getInteractiveCache().clear();
+        Assert.assertSame(converted, pipelineAsYamlSnippetizer.convertToDec(jenkinsFileContent));
+    }
+
     @Test
     public void validateTest() throws IOException {
         String jenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/pipeline/pipelineAllinOne.yml"));
@@ -30,6 +58,46 @@ public class PipelineSnippetizerTest {
         Assert.assertEquals("Valid", validationResponse);
     }
 
+    @Test
+    public void validationIsCached() throws IOException {
+        PipelineValidator.invalidate();
+        String jenkinsFileContent = FileUtils.readFileToString(new File("src/test/resources/pipeline/pipelineAllinOne.yml"));
+        PipelineAsYamlSnippetizer pipelineAsYamlSnippetizer = new PipelineAsYamlSnippetizer();
+        ConversionCache<ValidationResult> validationCache = PipelineValidator.getValidationCache();
+        long hits = validationCache.getHits();
+        Assert.assertEquals("Valid", pipelineAsYamlSnippetizer.parseAndValidatePay(jenkinsFileContent));
+        Assert.assertEquals(hits, validationCache.getHits());
+        Assert.assertEquals("Valid", pipelineAsYamlSnippetizer.parseAndValidatePay(jenkinsFileContent));
+        Assert.assertEquals(hits + 1, validationCache.getHits());
+        Assert.assertEquals(1, validationCache.size());
+        PipelineValidator.invalidate();
+        Assert.assertEquals(0, validationCache.size());
+    }
+
+    @Test
+    public void oversizedInputRejected() {
+        YamlLimits defaultLimits = YamlLimits.get();
+        YamlLimits.set(new YamlLimits(defaultLimits.getMaxAliases(), defaultLimits.getMaxNestingDepth(), 1024, defaultLimits.isAllowDuplicateKeys()));
+        try {
+            String jenkinsFileContent = "pipeline:\n  agent: any\n#" + StringUtils.repeat("#", 1024);
+            PipelineAsYamlSnippetizer pipelineAsYamlSnippetizer = new PipelineAsYamlSnippetizer();
+            Assert.assertTrue(pipelineAsYamlSnippetizer.convertToDec(jenkinsFileContent).contains("exceeds the limit"));
+            Assert.assertTrue(pipelineAsYamlSnippetizer.parseAndValidatePay(jenkinsFileContent).contains("exceeds the limit"));
+        } finally {
+            YamlLimits.set(defaultLimits);
+        }
+    }
+
+    @Test
+    public void invalidValidationIsCached() {
+        PipelineValidator.invalidate();
+        String jenkinsFileContent = "notPipeline:\n  agent: any\n";
+        ValidationResult validationResult = PipelineValidator.validate(jenkinsFileContent);
+        Assert.assertFalse(validationResult.isValid());
+        Assert.assertEquals("Parsed model is not present", validationResult.getMessage());
+        Assert.assertSame(validationResult, PipelineValidator.validate(jenkinsFileContent));
+    }
+
     //FIXME Add tests also for web ui
 
 }
@@ -0,0 +1,296 @@
+package io.jenkins.plugins.pipeline;
+
+import java.util.Random;
+
+/**
+ * Deterministic generator of valid Pipeline As YAML scripts for scale and regression tests.
+ * Same seed and settings always produce the same document.
+ * Pipeline level directives are always generated. Stage level directives and stage bodies are chosen randomly,
+ * except the top level stages which cycle through all of them, so any document with at least
+ * {@link #minimumStageCountForCoverage} stages and a depth above 1 uses every directive supported by the parsers.
+ */
+public class PipelineYamlGenerator {
+
+    public static final int minimumStageCountForCoverage = 8;
+
+    private static final int stageDirectiveCount = 8;
+    private static final int bodyCount = 6;
+
+    private final Random random;
+    private final StringBuilder yaml = new StringBuilder();
+    private int stageCount = 10;
+    private int maxDepth = 2;
+    private int scriptLines = 3;
+    private int parallelBranches = 2;
+    private boolean library = true;
+    private boolean sparse = false;
+
+    /**
+     * @param seed Seed of the random generator
+     */
+    public PipelineYamlGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param stageCount Number of top level stages
+     * @return Generator
+     */
+    public PipelineYamlGenerator stageCount(int stageCount) {
+        this.stageCount = stageCount;
+        return this;
+    }
+
+    /**
+     * @param maxDepth Maximum nesting depth of stages. 1: No nested or parallel stages
+     * @return Generator
+     */
+    public PipelineYamlGenerator maxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * @param scriptLines Number of lines in steps and script blocks
+     * @return Generator
+     */
+    public PipelineYamlGenerator scriptLines(int scriptLines) {
+        this.scriptLines = scriptLines;
+        return this;
+    }
+
+    /**
+     * @param parallelBranches Number of branches of parallel stages
+     * @return Generator
+     */
+    public PipelineYamlGenerator parallelBranches(int parallelBranches) {
+        this.parallelBranches = parallelBranches;
+        return this;
+    }
+
+    /**
+     * @param library True: Generate library directive, False: Omit library directive
+     * @return Generator
+     */
+    public PipelineYamlGenerator library(boolean library) {
+        this.library = library;
+        return this;
+    }
+
+    /**
+     * @param sparse True: Stages contain only their body, False: Stages contain random directives
+     * @return Generator
+     */
+    public PipelineYamlGenerator sparse(boolean sparse) {
+        this.sparse = sparse;
+        return this;
+    }
+
+    /**
+     * Generate Pipeline As YAML script
+     * @return Pipeline As YAML script
+     */
+    public String generate() {
+        this.yaml.setLength(0);
+        this.line(0, "pipeline:");
+        if (this.library) {
+            this.line(2, "library:");
+            this.line(4, "- \"shared-library@master\"");
+        }
+        this.line(2, "agent:");
+        this.line(4, "any:");
+        this.line(2, "environment:");
+        this.line(4, "GLOBAL_ENV: \"value\"");
+        this.line(4, "GLOBAL_CRED: credentials('global-credentials')");
+        this.line(2, "tools:");
+        this.line(4, "maven: \"maven3\"");
+        this.line(4, "jdk: \"jdk8\"");
+        this.line(2, "options:");
+        this.line(4, "- \"timeout(time: 1, unit: 'HOURS')\"");
+        this.line(4, "- \"skipDefaultCheckout()\"");
+        this.line(2, "parameters:");
+        this.line(4, "- \"string(name: 'STRING_PARAM', defaultValue: 'default', description: 'Description')\"");
+        this.line(4, "- \"booleanParam(name: 'BOOLEAN_PARAM', defaultValue: true, description: 'Description')\"");
+        this.line(2, "triggers:");
+        this.line(4, "- cron('H */4 * * 1-5')");
+        this.line(4, "- pollSCM('H */4 * * 1-5')");
+        this.line(2, "stages:");
+        for (int i = 0; i < this.stageCount; i++) {
+            this.stage(4, "Stage " + i, this.maxDepth, true, i);
+        }
+        this.line(2, "post:");
+        this.line(4, "always:");
+        this.line(6, "- echo \"Post always\"");
+        this.line(4, "cleanup:");
+        this.line(6, "script:");
+        this.line(8, "- echo \"Post cleanup\"");
+        return this.yaml.toString();
+    }
+
+    /**
+     * Generate Pipeline As YAML script with a single chain of nested stages.
+     * The innermost stage has nested when conditions and nested script blocks of the same depth.
+     * @param depth Nesting depth of the stages, conditions and script blocks
+     * @return Pipeline As YAML script
+     */
+    public String generateNested(int depth) {
+        this.yaml.setLength(0);
+        this.line(0, "pipeline:");
+        this.line(2, "agent:");
+        this.line(4, "any:");
+        this.line(2, "stages:");
+        int indent = 4;
+        for (int i = 0; i < depth; i++) {
+            this.line(indent, "- stage: \"Stage " + i + "\"");
+            if (i < depth - 1) {
+                this.line(indent + 2, "stages:");
+                indent += 4;
+            }
+        }
+        int inner = indent + 2;
+        this.line(inner, "when:");
+        for (int i = 0; i < depth; i++)
+            this.line(inner + 2 + 2 * i, i % 2 == 0 ? "allOf:" : "anyOf:");
+        this.line(inner + 2 + 2 * depth, "- \"branch 'production'\"");
+        this.line(inner, "steps:");
+        this.line(inner + 2, "script:");
+        int scriptIndent = inner + 4;
+        for (int i = 0; i < depth; i++) {
+            this.line(scriptIndent, "- dir: \"'dir" + i + "'\"");
+            this.line(scriptIndent + 2, "script:");
+            scriptIndent += 4;
+        }
+        this.line(scriptIndent, "- echo \"" + depth + "\"");
+        return this.yaml.toString();
+    }
+
+    /**
+     * Generate a stage. Parallel stages do not get agent, tools and input directives, those belong to the branches.
+     * @param indent Indent of the stage item
+     * @param name Name of the stage
+     * @param depth Remaining nesting depth
+     * @param allowParallel True if the stage can contain parallel stages
+     * @param index Index of top level stages, -1 for nested stages
+     */
+    private void stage(int indent, String name, int depth, boolean allowParallel, int index) {
+        this.line(indent, "- stage: \"" + name + "\"");
+        int inner = indent + 2;
+        int bodies = depth > 1 ? (allowParallel ? bodyCount : bodyCount - 1) : bodyCount - 2;
+        int body = index >= 0 ? (index + 1) % bodies : this.random.nextInt(bodies);
+        boolean parallel = body == bodyCount - 1;
+        boolean agent = this.feature(index, 0, 0.2) && !parallel;
+        if (agent) {
+            this.line(inner, "agent:");
+            this.line(inner + 2, "label: \"linux\"");
+        }
+        if (this.feature(index, 1, 0.3)) {
+            this.line(inner, "environment:");
+            this.line(inner + 2, "STAGE_ENV: \"" + name + "\"");
+        }
+        if (this.feature(index, 2, 0.1) && !parallel) {
+            this.line(inner, "tools:");
+            this.line(inner + 2, "jdk: \"jdk8\"");
+        }
+        if (this.feature(index, 3, 0.2)) {
+            this.line(inner, "options:");
+            this.line(inner + 2, "- \"retry(2)\"");
+        }
+        if (this.feature(index, 4, 0.3)) {
+            this.when(inner, agent);
+        }
+        if (this.feature(index, 5, 0.1) && !parallel) {
+            this.line(inner, "input:");
+            this.line(inner + 2, "message: \"Continue " + name + "?\"");
+            this.line(inner + 2, "ok: \"Yes\"");
+            this.line(inner + 2, "submitter: \"admin\"");
+            this.line(inner + 2, "parameters:");
+            this.line(inner + 4, "- \"string(name: 'PERSON', defaultValue: 'Mr Jenkins', description: 'Who should I say hello to?')\"");
+        }
+        if (this.feature(index, 6, 0.2)) {
+            this.line(inner, "post:");
+            this.line(inner + 2, "always:");
+            this.line(inner + 4, "- echo \"" + name + " always\"");
+            this.line(inner + 2, "failure:");
+            this.line(inner + 4, "script:");
+            this.line(inner + 6, "- echo \"" + name + " failure\"");
+        }
+        switch (body) {
+            case 0:
+                this.line(inner, "steps:");
+                for (int i = 0; i < this.scriptLines; i++)
+                    this.line(inner + 2, "- echo \"" + name + " " + i + "\"");
+                break;
+            case 1:
+                this.line(inner, "steps: |");
+                for (int i = 0; i < this.scriptLines; i++)
+                    this.line(inner + 2, "echo \"" + name + " " + i + "\"");
+                break;
+            case 2:
+                this.line(inner, "steps:");
+                this.line(inner + 2, "script:");
+                for (int i = 0; i < this.scriptLines; i++)
+                    this.line(inner + 4, "- echo \"" + name + " " + i + "\"");
+                this.line(inner + 4, "- dir: \"'dir" + this.random.nextInt(100) + "'\"");
+                this.line(inner + 6, "script:");
+                this.line(inner + 8, "- sh \"ls\"");
+                this.line(inner + 8, "- withEnv: \"['KEY=VALUE']\"");
+                this.line(inner + 10, "script:");
+                this.line(inner + 12, "- echo env.KEY");
+                break;
+            case 3:
+                this.line(inner, "steps:");
+                this.line(inner + 2, "script: |");
+                this.line(inner + 4, "if (isUnix()) {");
+                for (int i = 0; i < this.scriptLines; i++)
+                    this.line(inner + 6, "sh \"echo " + i + "\"");
+                this.line(inner + 4, "}");
+                break;
+            case 4:
+                this.line(inner, "stages:");
+                int nestedStageCount = 1 + this.random.nextInt(3);
+                for (int i = 0; i < nestedStageCount; i++)
+                    this.stage(inner + 2, name + "." + i, depth - 1, allowParallel, -1);
+                break;
+            default:
+                if (this.random.nextBoolean() || index >= 0)
+                    this.line(inner, "failFast: true");
+                this.line(inner, "parallel:");
+                for (int i = 0; i < this.parallelBranches; i++)
+                    this.stage(inner + 2, name + " Branch " + i, depth - 1, false, -1);
+                break;
+        }
+    }
+
+    private void when(int indent, boolean agent) {
+        this.line(indent, "when:");
+        if (this.random.nextBoolean()) {
+            this.line(indent + 2, "- \"branch 'production'\"");
+            this.line(indent + 2, "- \"environment name: 'DEPLOY_TO', value: 'production'\"");
+        } else {
+            this.line(indent + 2, "anyOf:");
+            this.line(indent + 4, "allOf:");
+            this.line(indent + 6, "- \"branch 'production'\"");
+            this.line(indent + 6, "- \"environment name: 'DEPLOY_TO', value: 'production'\"");
+        }
+        if (agent)
+            this.line(indent, "beforeAgent: true");
+    }
+
+    /**
+     * Decide whether a stage directive is generated. Top level stages always generate the directive
+     * matching their index, other directives are generated randomly.
+     */
+    private boolean feature(int index, int feature, double probability) {
+        if (this.sparse)
+            return false;
+        if (index >= 0 && index % stageDirectiveCount == feature)
+            return true;
+        return this.random.nextDouble() < probability;
+    }
+
+    private void line(int indent, String text) {
+        for (int i = 0; i < indent; i++)
+            this.yaml.append(' ');
+        this.yaml.append(text).append('\n');
+    }
+}
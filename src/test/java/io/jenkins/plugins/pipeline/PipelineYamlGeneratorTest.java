@@ -0,0 +1,68 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StreamingPipelineParser;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
+import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.Optional;
+
+public class PipelineYamlGeneratorTest {
+
+    @Rule
+    public JenkinsRule jenkins = new JenkinsRule();
+
+    @Test
+    public void sameSeedSameDocument() {
+        String jenkinsFileContent = new PipelineYamlGenerator(42).stageCount(50).maxDepth(3).generate();
+        Assert.assertEquals(jenkinsFileContent, new PipelineYamlGenerator(42).stageCount(50).maxDepth(3).generate());
+        Assert.assertNotEquals(jenkinsFileContent, new PipelineYamlGenerator(43).stageCount(50).maxDepth(3).generate());
+    }
+
+    @Test
+    public void coversAllDirectives() {
+        String jenkinsFileContent = new PipelineYamlGenerator(1).stageCount(PipelineYamlGenerator.minimumStageCountForCoverage).maxDepth(3).generate();
+        Optional<PipelineModel> pipelineModel = new PipelineParser(jenkinsFileContent).parse();
+        Assert.assertTrue(pipelineModel.isPresent());
+        String groovy = pipelineModel.get().toPrettyGroovy();
+        String[] directives = {"@Library", "agent {", "environment {", "tools {", "options {", "parameters {", "triggers {",
+                "when {", "anyOf {", "beforeAgent true", "input {", "post {", "parallel {", "failFast true", "script {",
+                "dir(", "withEnv(", "stages {", "steps {"};
+        for (String directive : directives) {
+            Assert.assertTrue(directive, groovy.contains(directive));
+        }
+    }
+
+    @Test
+    public void generatedPipelinesAreValid() {
+        for (long seed = 0; seed < 5; seed++) {
+            String jenkinsFileContent = new PipelineYamlGenerator(seed).stageCount(20).maxDepth(3).library(false).generate();
+            Assert.assertTrue(new PipelineParser(jenkinsFileContent).parseAndValidate().isPresent());
+        }
+    }
+
+    @Test
+    public void pipelineDefWithoutIndentation() {
+        String jenkinsFileContent = new PipelineYamlGenerator(3).stageCount(20).maxDepth(3).library(false).generate();
+        PipelineModel pipelineModel = new PipelineParser(jenkinsFileContent).parse().get();
+        ModelASTPipelineDef pipelineDef = pipelineModel.toPipelineDef();
+        Assert.assertEquals(20, pipelineDef.getStages().getStages().size());
+        Assert.assertEquals(PipelineDefBuilderTest.normalize(Converter.scriptToPipelineDef(pipelineModel.toPrettyGroovy()).toGroovy()),
+                PipelineDefBuilderTest.normalize(pipelineDef.toGroovy()));
+    }
+
+    @Test
+    public void largePipeline() {
+        String jenkinsFileContent = new PipelineYamlGenerator(7).stageCount(2000).maxDepth(3).scriptLines(10).generate();
+        Optional<PipelineModel> pipelineModel = new PipelineParser(jenkinsFileContent).parse();
+        Assert.assertTrue(pipelineModel.isPresent());
+        Assert.assertEquals(2000, pipelineModel.get().getStages().get().getStageModelList().size());
+        Optional<PipelineModel> streamedPipelineModel = new StreamingPipelineParser(jenkinsFileContent).parse();
+        Assert.assertEquals(pipelineModel.get().toPrettyGroovy(), streamedPipelineModel.get().toPrettyGroovy());
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -102,8 +103,6 @@ public class StepsParserTest {
         Assert.assertTrue(subScriptModel.isPresent());
         Assert.assertEquals("withAnt", subScriptModel.get().getDirective());
         Assert.assertEquals(1,subScriptModel.get().getScriptModel().getScripts().size());
-        System.out.println(pipelineModel.get().toPrettyGroovy());
-
     }
 
     @Test
@@ -125,7 +124,6 @@ public class StepsParserTest {
         Assert.assertTrue(subScriptModel.isPresent());
         Assert.assertEquals("dir", subScriptModel.get().getDirective());
         Assert.assertEquals(1,subScriptModel.get().getScriptModel().getScripts().size());
-        System.out.println(pipelineModel.get().toPrettyGroovy());
     }
 
     @Test
@@ -147,7 +145,6 @@ public class StepsParserTest {
         Assert.assertTrue(subScriptModel.isPresent());
         Assert.assertEquals("catchError", subScriptModel.get().getDirective());
         Assert.assertEquals(1,subScriptModel.get().getScriptModel().getScripts().size());
-        System.out.println(pipelineModel.get().toPrettyGroovy());
     }
 
     @Test
@@ -169,7 +166,17 @@ public class StepsParserTest {
         Assert.assertTrue(subScriptModel.isPresent());
         Assert.assertEquals("withEnv", subScriptModel.get().getDirective());
         Assert.assertEquals(2,subScriptModel.get().getScriptModel().getScripts().size());
-        System.out.println(pipelineModel.get().toPrettyGroovy());
+    }
+
+    @Test
+    public void multiLineBlockWrittenAsLines() {
+        String[] blocks = {"", "\n", "sh 'a'", "sh 'a'\n", "sh 'a'\n\nsh 'b'\n\n", "sh 'a'\r\n  sh 'b'"};
+        for (String block : blocks) {
+            List<String> lines = Arrays.asList(block.split("\n"));
+            Assert.assertEquals(block, new StepsModel(lines).toGroovy(), new StepsModel(block).toGroovy());
+            Assert.assertEquals(block, new ScriptModel(lines).toGroovy(), new ScriptModel(block).toGroovy());
+            Assert.assertEquals(block, lines, new StepsModel(block).getSteps());
+        }
     }
 
 }
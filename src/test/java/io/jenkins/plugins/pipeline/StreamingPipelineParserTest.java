@@ -0,0 +1,63 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.models.StageModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StreamingPipelineParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class StreamingPipelineParserTest {
+
+    @Test
+    public void identicalToPipelineParserForTestResources() throws IOException {
+        Collection<File> files = FileUtils.listFiles(new File("src/test/resources"), new String[]{"yml"}, true);
+        Assert.assertFalse(files.isEmpty());
+        for (File file : files) {
+            String jenkinsFileContent = FileUtils.readFileToString(file);
+            Optional<PipelineModel> pipelineModel = new PipelineParser(jenkinsFileContent).parse();
+            Optional<PipelineModel> streamedPipelineModel = new StreamingPipelineParser(jenkinsFileContent).parse();
+            Assert.assertTrue(file.getPath(), streamedPipelineModel.isPresent());
+            Assert.assertEquals(file.getPath(), pipelineModel.get().toPrettyGroovy(), streamedPipelineModel.get().toPrettyGroovy());
+        }
+    }
+
+    @Test
+    public void anchorsAndAliases() {
+        String jenkinsFileContent = "common: &common\n" +
+                "  steps:\n" +
+                "    - echo \"common\"\n" +
+                "pipeline:\n" +
+                "  agent:\n" +
+                "    any:\n" +
+                "  stages:\n" +
+                "    - stage: \"Stage1\"\n" +
+                "      <<: *common\n" +
+                "    - stage: \"Stage2\"\n" +
+                "      steps: &steps\n" +
+                "        - echo \"stage2\"\n" +
+                "    - stage: \"Stage3\"\n" +
+                "      steps: *steps\n";
+        PipelineModel pipelineModel = new PipelineParser(jenkinsFileContent).parse().get();
+        PipelineModel streamedPipelineModel = new StreamingPipelineParser(new StringReader(jenkinsFileContent)).parse().get();
+        Assert.assertEquals(pipelineModel.toPrettyGroovy(), streamedPipelineModel.toPrettyGroovy());
+        List<StageModel> stageModelList = streamedPipelineModel.getStages().get().getStageModelList();
+        Assert.assertEquals(3, stageModelList.size());
+        Assert.assertEquals("echo \"common\"", stageModelList.get(0).getStepsModel().get().getSteps().get(0));
+        Assert.assertEquals("echo \"stage2\"", stageModelList.get(2).getStepsModel().get().getSteps().get(0));
+    }
+
+    @Test
+    public void pipelineNodeNotFound() {
+        Assert.assertFalse(new StreamingPipelineParser("other:\n  key: value\n").parse().isPresent());
+        Assert.assertFalse(new StreamingPipelineParser("pipeline:\n").parse().isPresent());
+    }
+}
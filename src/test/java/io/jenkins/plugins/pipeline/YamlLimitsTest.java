@@ -0,0 +1,79 @@
+package io.jenkins.plugins.pipeline;
+
+import io.jenkins.plugins.pipeline.exceptions.PipelineAsYamlRuntimeException;
+import io.jenkins.plugins.pipeline.interfaces.ParserInterface;
+import io.jenkins.plugins.pipeline.models.PipelineModel;
+import io.jenkins.plugins.pipeline.parsers.PipelineParser;
+import io.jenkins.plugins.pipeline.parsers.StreamingPipelineParser;
+import io.jenkins.plugins.pipeline.parsers.YamlLimits;
+import org.apache.commons.lang.StringUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+public class YamlLimitsTest {
+
+    private final YamlLimits defaultLimits = YamlLimits.get();
+
+    @After
+    public void tearDown() {
+        YamlLimits.set(this.defaultLimits);
+    }
+
+    @Test
+    public void aliasBomb() {
+        StringBuilder jenkinsFileContent = new StringBuilder("a0: &a0 [\"lol\", \"lol\", \"lol\", \"lol\", \"lol\", \"lol\", \"lol\", \"lol\", \"lol\"]\n");
+        for (int i = 1; i < 10; i++) {
+            jenkinsFileContent.append("a").append(i).append(": &a").append(i).append(" [");
+            for (int j = 0; j < 9; j++)
+                jenkinsFileContent.append(j > 0 ? ", " : "").append("*a").append(i - 1);
+            jenkinsFileContent.append("]\n");
+        }
+        jenkinsFileContent.append("pipeline:\n  agent: any\n  stages:\n    - stage: Bomb\n      steps:\n        script: *a9\n");
+        this.assertRejected(jenkinsFileContent.toString(), PipelineParser::new);
+        this.assertRejected(jenkinsFileContent.toString(), StreamingPipelineParser::new);
+    }
+
+    @Test
+    public void deepNesting() {
+        int depth = 100000;
+        String jenkinsFileContent = "pipeline:\n  agent: " + StringUtils.repeat("[", depth) + StringUtils.repeat("]", depth) + "\n";
+        this.assertRejected(jenkinsFileContent, PipelineParser::new);
+        this.assertRejected(jenkinsFileContent, StreamingPipelineParser::new);
+    }
+
+    @Test
+    public void oversizedDocument() {
+        YamlLimits.set(new YamlLimits(50, 50, 1024, true));
+        String jenkinsFileContent = "pipeline:\n  agent: any\n  environment:\n    LARGE: " + StringUtils.repeat("x", 2048) + "\n";
+        this.assertRejected(jenkinsFileContent, PipelineParser::new);
+        this.assertRejected(jenkinsFileContent, StreamingPipelineParser::new);
+    }
+
+    @Test
+    public void duplicateKeys() {
+        String jenkinsFileContent = "pipeline:\n  agent: any\n  agent: none\n  stages:\n    - stage: Stage1\n      steps:\n        - echo \"1\"\n";
+        Assert.assertTrue(new PipelineParser(jenkinsFileContent).parse().isPresent());
+        YamlLimits.set(new YamlLimits(50, 50, 0, false));
+        this.assertRejected(jenkinsFileContent, PipelineParser::new);
+        this.assertRejected(jenkinsFileContent, StreamingPipelineParser::new);
+    }
+
+    @Test
+    public void documentWithinLimits() {
+        String jenkinsFileContent = new PipelineYamlGenerator(3).stageCount(20).maxDepth(5).generate();
+        Assert.assertTrue(new PipelineParser(jenkinsFileContent).parse().isPresent());
+        Assert.assertTrue(new StreamingPipelineParser(jenkinsFileContent).parse().isPresent());
+    }
+
+    private void assertRejected(String jenkinsFileContent, Function<String, ParserInterface<PipelineModel>> parser) {
+        try {
+            parser.apply(jenkinsFileContent).parse();
+            Assert.fail("Document must be rejected");
+        } catch (PipelineAsYamlRuntimeException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+    }
+}